@@ -0,0 +1,23 @@
+package core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 메소드를 executor 스레드에서 실행하고 호출한 스레드는 바로 돌아온다.
+ * 반환 타입은 void 또는 CompletableFuture (Future, CompletionStage) 이고, 호출자의 MDC 값이 실행 스레드로 넘어간다.
+ * MDC 외의 스레드 로컬 상태는 넘어가지 않는다. 호출자의 트랜잭션 (TransactionManager 의 커넥션) 도 넘어가지 않으므로
+ * @Transactional 이 함께 붙었으면 실행 스레드에서 새 트랜잭션을 시작한다.
+ * 클래스에 붙이면 void 나 Future 를 반환하는 public 메소드에 적용된다.
+ *
+ * @author KingCjy
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Async {
+
+//    Executor 빈 이름. 비어있으면 taskExecutor 빈, 없으면 기본 executor 를 사용한다.
+    String value() default "";
+}
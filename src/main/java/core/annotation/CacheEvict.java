@@ -0,0 +1,25 @@
+package core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 메소드를 실행한 뒤 캐시에서 key 에 해당하는 항목을 (allEntries 면 모든 항목을) 지운다.
+ * 메소드가 예외를 던져도 지운다. key 형식은 {@link Cacheable#key()} 와 같다.
+ *
+ * @author KingCjy
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Repeatable(CacheEvicts.class)
+public @interface CacheEvict {
+
+    String value();
+
+    String key() default "";
+
+    boolean allEntries() default false;
+}
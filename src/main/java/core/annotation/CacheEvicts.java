@@ -0,0 +1,17 @@
+package core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 여러 캐시를 지우는 {@link CacheEvict} 를 모아둔다.
+ *
+ * @author KingCjy
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CacheEvicts {
+    CacheEvict[] value();
+}
@@ -0,0 +1,32 @@
+package core.annotation;
+
+import core.cache.EvictionPolicy;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 메소드 결과를 캐시하고, 같은 key 로 다시 호출하면 메소드를 실행하지 않고 캐시된 값을 돌려준다. null 도 캐시한다.
+ * 캐시 크기, TTL, 교체 정책은 같은 이름의 캐시를 처음 선언한 @Cacheable 을 따른다.
+ *
+ * @author KingCjy
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Cacheable {
+
+//    캐시 이름
+    String value();
+
+//    "#0" 처럼 인자 위치, "#0.questionId" 처럼 인자의 프로퍼티. 비어있으면 모든 인자
+    String key() default "";
+
+    int maxSize() default 1000;
+
+//    0 이면 만료되지 않는다.
+    long ttlMillis() default 0;
+
+    EvictionPolicy eviction() default EvictionPolicy.LRU;
+}
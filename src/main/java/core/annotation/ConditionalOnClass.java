@@ -0,0 +1,18 @@
+package core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 클래스가 모두 클래스패스에 있을 때만 빈을 등록한다.
+ * 없는 클래스를 참조해도 어노테이션을 읽을 수 있도록 클래스 이름으로 받는다.
+ *
+ * @author KingCjy
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface ConditionalOnClass {
+    String[] value();
+}
@@ -0,0 +1,18 @@
+package core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 같은 타입의 다른 빈이 없을 때만 빈을 등록한다. (기본 구현을 대체할 수 있게 할 때)
+ * 모든 BeanDefinition 이 등록된 후, 빈을 만들기 전에 판단한다. value 가 없으면 빈 자신의 타입을 본다.
+ *
+ * @author KingCjy
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface ConditionalOnMissingBean {
+    Class<?>[] value() default {};
+}
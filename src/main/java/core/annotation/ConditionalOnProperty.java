@@ -0,0 +1,22 @@
+package core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 시스템 프로퍼티가 있을 때만 빈을 등록한다.
+ * havingValue 가 없으면 "false" 가 아닌 값이면 된다.
+ *
+ * @author KingCjy
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface ConditionalOnProperty {
+    String name();
+
+    String havingValue() default "";
+
+    boolean matchIfMissing() default false;
+}
@@ -0,0 +1,27 @@
+package core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 파라미터가 하나인 public 메소드에 붙이면 파라미터 타입의 이벤트를 받는다.
+ * 같은 이벤트의 리스너는 메소드의 @Order 순서로 호출한다.
+ *
+ * @author KingCjy
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface EventListener {
+    Mode mode() default Mode.SYNC;
+
+    enum Mode {
+//        publishEvent 를 호출한 스레드에서 바로 호출하고, 예외는 호출한 쪽으로 던진다.
+        SYNC,
+//        이벤트 스레드 풀에서 호출한다. 큐가 가득 차면 호출한 스레드에서 실행한다.
+        ASYNC,
+//        트랜잭션 안이면 커밋된 후에 호출하고, 롤백되면 호출하지 않는다. 트랜잭션 밖이면 바로 호출한다.
+        AFTER_COMMIT
+    }
+}
@@ -0,0 +1,18 @@
+package core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 클래스, @Bean 메소드에 붙이면 처음 조회될 때 생성한다.
+ * 필드, 파라미터에 붙이면 실제 빈 대신 처음 호출될 때 빈을 찾는 프록시를 주입한다.
+ *
+ * @author KingCjy
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD, ElementType.FIELD, ElementType.PARAMETER})
+public @interface Lazy {
+    boolean value() default true;
+}
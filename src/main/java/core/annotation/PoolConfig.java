@@ -0,0 +1,21 @@
+package core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * {@code @Scope("pooled")} 빈의 풀 설정
+ *
+ * @author KingCjy
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface PoolConfig {
+    int maxSize() default 8;
+
+    long maxIdleMillis() default 60_000;
+
+    long maxWaitMillis() default 5_000;
+}
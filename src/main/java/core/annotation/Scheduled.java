@@ -0,0 +1,25 @@
+package core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 파라미터가 없는 public 메소드를 주기적으로 호출한다. fixedRate, fixedDelay, cron 중 하나만 지정한다.
+ * fixedRate 는 시작 시각 기준, fixedDelay 는 이전 실행이 끝난 시각 기준 간격 (밀리초)
+ *
+ * @author KingCjy
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Scheduled {
+    long fixedRate() default -1;
+
+    long fixedDelay() default -1;
+
+//    "초 분 시 일 월 요일", 서버 시간대 기준
+    String cron() default "";
+
+    long initialDelay() default 0;
+}
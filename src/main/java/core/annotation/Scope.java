@@ -0,0 +1,20 @@
+package core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 빈의 스코프. 기본은 singleton 이고, pooled 는 {@link PoolConfig} 설정으로 인스턴스를 풀링한다.
+ *
+ * @author KingCjy
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Scope {
+    String SINGLETON = "singleton";
+    String POOLED = "pooled";
+
+    String value() default SINGLETON;
+}
@@ -0,0 +1,20 @@
+package core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 메소드 실행 시간을 메소드마다 히스토그램에 기록한다. 예외로 끝난 호출은 error 로도 센다.
+ * 클래스에 붙이면 public 메소드에 적용된다.
+ *
+ * @author KingCjy
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Timed {
+
+//    타이머 이름. 비어있으면 클래스 이름.메소드 이름
+    String value() default "";
+}
@@ -1,10 +1,12 @@
 package core.aop;
 
-import net.sf.cglib.proxy.MethodInterceptor;
-
 /**
+ * 메소드 호출을 감싸는 부가 기능. invocation.proceed() 로 다음 Advice 나 원래 메소드를 호출한다.
+ *
  * @author KingCjy
  */
-public interface Advice extends MethodInterceptor {
-    Advice DEFAULT_ADVICE = (obj, method, args, proxy) -> proxy.invokeSuper(obj, args);
+public interface Advice {
+    Advice DEFAULT_ADVICE = MethodInvocation::proceed;
+
+    Object invoke(MethodInvocation invocation) throws Throwable;
 }
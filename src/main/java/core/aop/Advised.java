@@ -0,0 +1,15 @@
+package core.aop;
+
+import java.util.List;
+
+/**
+ * {@link ProxyFactoryBean} 이 만든 프록시는 이 인터페이스를 구현한다.
+ * 이미 프록시가 된 빈에 Advisor 를 더할 때 원래 객체와 적용된 Advisor 를 꺼낼 수 있다.
+ *
+ * @author KingCjy
+ */
+public interface Advised {
+    Object getTargetObject();
+
+    List<Advisor> getAdvisors();
+}
@@ -0,0 +1,38 @@
+package core.aop;
+
+import core.util.OrderComparator;
+
+/**
+ * 어떤 메소드에 (Pointcut) 어떤 부가 기능을 (Advice) 적용할지
+ * order 가 작은 Advisor 가 바깥쪽에서 먼저 실행된다. 지정하지 않으면 Advice 클래스의 @Order 를 사용한다.
+ *
+ * @author KingCjy
+ */
+public class Advisor {
+
+    private final Pointcut pointcut;
+    private final Advice advice;
+    private final int order;
+
+    public Advisor(Pointcut pointcut, Advice advice) {
+        this(pointcut, advice, OrderComparator.getOrder(advice.getClass()));
+    }
+
+    public Advisor(Pointcut pointcut, Advice advice, int order) {
+        this.pointcut = pointcut;
+        this.advice = advice;
+        this.order = order;
+    }
+
+    public Pointcut getPointcut() {
+        return pointcut;
+    }
+
+    public Advice getAdvice() {
+        return advice;
+    }
+
+    public int getOrder() {
+        return order;
+    }
+}
@@ -3,27 +3,28 @@ package core.aop;
 import net.sf.cglib.proxy.MethodInterceptor;
 import net.sf.cglib.proxy.MethodProxy;
 
+import javax.annotation.Nullable;
 import java.lang.reflect.Method;
 
 /**
+ * 프록시를 만들 때 메소드마다 계산해 둔 Advice 체인을 실행한다. 호출할 때 pointcut 을 다시 확인하지 않는다.
+ * target 이 있으면 체인의 끝에서 target 을, 없으면 프록시의 상위 클래스 메소드를 호출한다.
+ *
  * @author KingCjy
  */
 public class BeanInterceptor implements MethodInterceptor {
 
-    private Pointcut pointcut;
-    private Advice advice;
+    private final Advice[] advices;
+    @Nullable
+    private final Object target;
 
-    public BeanInterceptor(Pointcut pointcut, Advice advice) {
-        this.pointcut = pointcut;
-        this.advice = advice;
+    public BeanInterceptor(Advice[] advices, @Nullable Object target) {
+        this.advices = advices;
+        this.target = target;
     }
 
     @Override
     public Object intercept(Object obj, Method method, Object[] args, MethodProxy proxy) throws Throwable {
-        if(!pointcut.matches(method)) {
-            return proxy.invokeSuper(obj, args);
-        }
-
-        return advice.intercept(obj, method, args, proxy);
+        return new CglibAopProxy.CglibMethodInvocation(obj, target, method, args, proxy, advices).proceed();
     }
 }
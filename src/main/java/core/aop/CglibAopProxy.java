@@ -1,10 +1,8 @@
 package core.aop;
 
-
-
-import net.sf.cglib.proxy.MethodInterceptor;
 import net.sf.cglib.proxy.MethodProxy;
 
+import javax.annotation.Nullable;
 import java.lang.reflect.Method;
 
 /**
@@ -12,17 +10,49 @@ import java.lang.reflect.Method;
  */
 public class CglibAopProxy {
 
-    public static class DynamicAdvisedInterceptor implements MethodInterceptor {
+//    Advice 를 모두 거치면 target 이 있으면 target 을 FastClass 로, 없으면 프록시의 상위 클래스 메소드를 호출한다.
+    public static class CglibMethodInvocation implements MethodInvocation {
 
-        private Object target;
+        private final Object proxy;
+        @Nullable
+        private final Object target;
+        private final Method method;
+        private final Object[] arguments;
+        private final MethodProxy methodProxy;
+        private final Advice[] advices;
+        private int index;
 
-        public DynamicAdvisedInterceptor(Object target) {
+        public CglibMethodInvocation(Object proxy, @Nullable Object target, Method method, Object[] arguments, MethodProxy methodProxy, Advice[] advices) {
+            this.proxy = proxy;
             this.target = target;
+            this.method = method;
+            this.arguments = arguments;
+            this.methodProxy = methodProxy;
+            this.advices = advices;
+        }
+
+        @Override
+        public Object getThis() {
+            return proxy;
+        }
+
+        @Override
+        public Method getMethod() {
+            return method;
+        }
+
+        @Override
+        public Object[] getArguments() {
+            return arguments;
         }
 
         @Override
-        public Object intercept(Object obj, Method method, Object[] args, MethodProxy proxy) throws Throwable {
-            return method.invoke(target, args);
+        public Object proceed() throws Throwable {
+            if(index == advices.length) {
+                return target == null ? methodProxy.invokeSuper(proxy, arguments) : methodProxy.invoke(target, arguments);
+            }
+
+            return advices[index++].invoke(this);
         }
     }
 }
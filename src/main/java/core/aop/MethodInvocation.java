@@ -0,0 +1,18 @@
+package core.aop;
+
+import java.lang.reflect.Method;
+
+/**
+ * 프록시 메소드 호출 하나. 남은 Advice 를 순서대로 거쳐 원래 메소드까지 진행한다.
+ *
+ * @author KingCjy
+ */
+public interface MethodInvocation {
+    Object getThis();
+
+    Method getMethod();
+
+    Object[] getArguments();
+
+    Object proceed() throws Throwable;
+}
@@ -9,4 +9,14 @@ public interface Pointcut {
     Pointcut DEFAULT_POINTCUT = method -> false;
 
     boolean matches(Method method);
+
+//    targetClass 인스턴스에서 실행될 때. 상위 클래스나 인터페이스에 선언된 메소드도 targetClass 기준으로 판단한다.
+    default boolean matches(Method method, Class<?> targetClass) {
+        return matches(method);
+    }
+
+//    클래스 필터. false 면 이 Pointcut 으로는 프록시를 만들지 않는다.
+    default boolean matches(Class<?> targetClass) {
+        return true;
+    }
 }
@@ -1,69 +1,227 @@
 package core.aop;
 
+import core.aop.support.FieldCopier;
 import net.sf.cglib.proxy.Callback;
+import net.sf.cglib.proxy.Dispatcher;
 import net.sf.cglib.proxy.Enhancer;
+import net.sf.cglib.proxy.Factory;
 import net.sf.cglib.proxy.MethodInterceptor;
+import net.sf.cglib.proxy.NoOp;
 import org.springframework.objenesis.ObjenesisHelper;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
 
-import java.lang.reflect.Field;
-import java.util.Arrays;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * 프록시를 만들 때 메소드마다 적용할 Advice 체인을 order 순서로 계산하고, 같은 체인끼리 callback 하나를 공유한다.
+ * callback 배열은 [오버라이드 안함, Advised, Advice 없음, 체인1, 체인2 ...] 이고 CallbackFilter 가 메소드의 위치를 정한다.
+ * Advice 가 없는 메소드는 인터셉터를 거치지 않는다.
+ *
+ * {@link Mode#SUBCLASS} (기본값) 프록시는 대상 객체의 상태를 복사한 하위 클래스 인스턴스이고 상위 클래스 메소드를 호출한다.
+ * {@link Mode#DELEGATING} 프록시는 {@code -Dcore.aop.proxy-mode=delegating} 으로 켜고, 대상 객체의 참조만 가진다.
+ * Advice 가 없는 메소드는 Dispatcher 로, 체인의 끝은 MethodProxy (FastClass) 로 대상 객체를 호출한다.
+ * 상태를 복사하지 않으므로 final 필드도 그대로 쓰인다.
+ * 대신 대상 객체 안에서 자신의 메소드를 부르면 Advice 가 적용되지 않고, final 메소드는 빈 프록시에서 실행된다.
+ *
+ * 프록시 클래스는 (대상 클래스, 메소드별 callback 위치, callback 타입) 마다 한번만 만들고,
+ * callback 은 인스턴스마다 {@link Factory#setCallbacks} 로 넣는다.
+ * 캐시는 대상 클래스에 붙어 있어서 대상 클래스의 클래스로더를 붙잡지 않고, 클래스로더가 수거될 때 함께 사라진다.
+ * 여러 컨텍스트가 같은 프록시 클래스를 쓰므로 컨텍스트가 닫혀도 비우지 않는다.
+ *
  * @author KingCjy
  */
 public class ProxyFactoryBean<T> implements FactoryBean<T> {
 
+    public static final String MODE_PROPERTY = "core.aop.proxy-mode";
+
+    private static final ClassValue<Map<ProxyClassKey, Class<?>>> proxyClassCache = new ClassValue<Map<ProxyClassKey, Class<?>>>() {
+        @Override
+        protected Map<ProxyClassKey, Class<?>> computeValue(Class<?> targetClass) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+    private static final Comparator<Advisor> ADVISOR_ORDER = Comparator.comparingInt(Advisor::getOrder);
+
     private Object target;
-    private Pointcut pointcut;
-    private Advice advice;
+    private List<Advisor> advisors;
+    private Mode mode = Mode.valueOf(System.getProperty(MODE_PROPERTY, Mode.SUBCLASS.name()).toUpperCase());
 
     private Class<?>[] callbackTypes;
     private Callback[] callbacks;
+    private Map<Method, Integer> callbackIndexes;
 
     public ProxyFactoryBean(Object target, Pointcut pointcut, Advice advice) {
+        this(target, Collections.singletonList(new Advisor(pointcut, advice)));
+    }
+
+//    같은 order 면 먼저 넘긴 Advisor 가 바깥쪽이다.
+    public ProxyFactoryBean(Object target, List<Advisor> advisors) {
         this.target = target;
-        this.pointcut = pointcut;
-        this.advice = advice;
+        this.advisors = new ArrayList<>(advisors);
+        this.advisors.sort(ADVISOR_ORDER);
     }
 
     @Override
     public T getObject() throws Exception {
         initCallbacks();
 
-        Enhancer enhancer = new Enhancer();
-        enhancer.setSuperclass(target.getClass());
-        enhancer.setCallbackTypes(callbackTypes);
-        enhancer.setCallbackFilter(new ProxyFilter(pointcut));
-
-        Class<?> proxyClass = enhancer.createClass();
-        Enhancer.registerCallbacks(proxyClass, callbacks);
+        Class<?> proxyClass = getProxyClass();
 
         Object instance = ObjenesisHelper.newInstance(proxyClass);
-        injectProxyFields(instance);
+        ((Factory) instance).setCallbacks(callbacks);
+        if(mode == Mode.SUBCLASS) {
+            FieldCopier.forClass(target.getClass()).copy(target, instance);
+        }
         return (T) instance;
     }
 
-    private void injectProxyFields(Object instance) throws IllegalAccessException {
-        for (Field field : target.getClass().getDeclaredFields()) {
-            field.setAccessible(true);
-            field.set(instance, field.get(target));
-        }
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    private Class<?> getProxyClass() {
+        ProxyClassKey key = new ProxyClassKey(target.getClass(), callbackIndexes, callbackTypes);
+        return proxyClassCache.get(key.targetClass).computeIfAbsent(key, this::createProxyClass);
+    }
+
+    private Class<?> createProxyClass(ProxyClassKey key) {
+        Enhancer enhancer = new Enhancer();
+        enhancer.setSuperclass(key.targetClass);
+        enhancer.setInterfaces(new Class[]{Advised.class});
+        enhancer.setCallbackTypes(key.callbackTypes.toArray(new Class[0]));
+        enhancer.setCallbackFilter(new ProxyFilter(key.callbackIndexes));
+        enhancer.setUseCache(false);
+
+        return enhancer.createClass();
     }
 
     private void initCallbacks() {
-        this.callbacks = getCallbacks();
-        this.callbackTypes = getCallbackTypes();
+        Map<List<Advice>, Integer> chainIndexes = new LinkedHashMap<>();
+        Map<Method, Integer> callbackIndexes = new HashMap<>();
+
+        for (Method method : getProxiedMethods(target.getClass())) {
+            List<Advice> chain = getChain(method, target.getClass());
+            if(chain.isEmpty()) {
+                continue;
+            }
+
+            Integer index = chainIndexes.computeIfAbsent(chain, ignored -> ProxyFilter.UNADVISED + 1 + chainIndexes.size());
+            callbackIndexes.put(method, index);
+        }
+
+        List<Callback> callbacks = new ArrayList<>();
+        List<Class<?>> callbackTypes = new ArrayList<>();
+        callbacks.add(NoOp.INSTANCE);
+        callbackTypes.add(NoOp.class);
+
+        ProxyConfig proxyConfig = new ProxyConfig(target, advisors);
+        callbacks.add((Dispatcher) () -> proxyConfig);
+        callbackTypes.add(Dispatcher.class);
+
+        if(mode == Mode.DELEGATING) {
+//            필드를 읽으면 이 ProxyFactoryBean 전체가 프록시에 붙잡힌다.
+            Object target = this.target;
+            callbacks.add((Dispatcher) () -> target);
+            callbackTypes.add(Dispatcher.class);
+        } else {
+            callbacks.add(NoOp.INSTANCE);
+            callbackTypes.add(NoOp.class);
+        }
+
+        for (List<Advice> chain : chainIndexes.keySet()) {
+            callbacks.add(new BeanInterceptor(chain.toArray(new Advice[0]), mode == Mode.DELEGATING ? target : null));
+            callbackTypes.add(MethodInterceptor.class);
+        }
+
+        this.callbackIndexes = callbackIndexes;
+        this.callbacks = callbacks.toArray(new Callback[0]);
+        this.callbackTypes = callbackTypes.toArray(new Class[0]);
     }
 
-    private Class<?>[] getCallbackTypes() {
-        return Arrays.stream(this.callbacks)
-                .map(Callback::getClass)
-                .toArray(Class[]::new);
+    private List<Advice> getChain(Method method, Class<?> targetClass) {
+        List<Advice> chain = new ArrayList<>();
+        for (Advisor advisor : advisors) {
+            if(advisor.getPointcut().matches(method, targetClass)) {
+                chain.add(advisor.getAdvice());
+            }
+        }
+        return chain;
+    }
+
+//    CGLIB 이 오버라이드할 수 있는 메소드. 시그니처가 같으면 CGLIB 처럼 가장 아래 클래스의 메소드를 사용한다.
+    private Collection<Method> getProxiedMethods(Class<?> targetClass) {
+        List<Method> candidates = new ArrayList<>(Arrays.asList(ReflectionUtils.getAllDeclaredMethods(targetClass)));
+        for (Class<?> interfaceType : ClassUtils.getAllInterfacesForClassAsSet(targetClass)) {
+            candidates.addAll(Arrays.asList(interfaceType.getMethods()));
+        }
+
+        Map<String, Method> methods = new LinkedHashMap<>();
+        for (Method method : candidates) {
+            int modifiers = method.getModifiers();
+            if(!Modifier.isStatic(modifiers) && !Modifier.isFinal(modifiers) && !Modifier.isPrivate(modifiers) && !method.isBridge()
+                    && !ProxyFilter.isFinalizeMethod(method)) {
+                methods.putIfAbsent(method.getName() + Arrays.toString(method.getParameterTypes()), method);
+            }
+        }
+        return methods.values();
+    }
+
+    public enum Mode {
+        DELEGATING, SUBCLASS
+    }
+
+    static int getCachedProxyClassCount(Class<?> targetClass) {
+        return proxyClassCache.get(targetClass).size();
+    }
+
+    private static class ProxyConfig implements Advised {
+        private final Object target;
+        private final List<Advisor> advisors;
+
+        private ProxyConfig(Object target, List<Advisor> advisors) {
+            this.target = target;
+            this.advisors = Collections.unmodifiableList(advisors);
+        }
+
+        @Override
+        public Object getTargetObject() {
+            return target;
+        }
+
+        @Override
+        public List<Advisor> getAdvisors() {
+            return advisors;
+        }
     }
 
-    private MethodInterceptor[] getCallbacks() {
-        return new MethodInterceptor[] {
-                new BeanInterceptor(pointcut, advice),
-                new CglibAopProxy.DynamicAdvisedInterceptor(target) };
+    private static class ProxyClassKey {
+        private final Class<?> targetClass;
+        private final Map<Method, Integer> callbackIndexes;
+        private final List<Class<?>> callbackTypes;
+
+        private ProxyClassKey(Class<?> targetClass, Map<Method, Integer> callbackIndexes, Class<?>[] callbackTypes) {
+            this.targetClass = targetClass;
+            this.callbackIndexes = callbackIndexes;
+            this.callbackTypes = Arrays.asList(callbackTypes);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ProxyClassKey that = (ProxyClassKey) o;
+            return targetClass.equals(that.targetClass) &&
+                    callbackIndexes.equals(that.callbackIndexes) &&
+                    callbackTypes.equals(that.callbackTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(targetClass, callbackIndexes, callbackTypes);
+        }
     }
 }
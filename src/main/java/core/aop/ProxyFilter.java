@@ -3,20 +3,41 @@ package core.aop;
 import net.sf.cglib.proxy.CallbackFilter;
 
 import java.lang.reflect.Method;
+import java.util.Map;
 
 /**
+ * 프록시를 만들 때 계산해 둔 메소드별 callback 위치를 돌려준다.
+ * Advised 메소드는 프록시 설정으로, Advice 가 없는 메소드는 대상 객체 (또는 상위 클래스) 로 바로 보낸다.
+ * finalize 는 오버라이드하지 않는다. (오버라이드하면 모든 프록시 인스턴스가 Finalizer 에 등록된다)
+ *
  * @author KingCjy
  */
 public class ProxyFilter implements CallbackFilter {
 
-    private Pointcut pointcut;
+    public static final int NO_OVERRIDE = 0;
+    public static final int ADVISED = 1;
+    public static final int UNADVISED = 2;
 
-    public ProxyFilter(Pointcut pointcut) {
-        this.pointcut = pointcut;
+    private final Map<Method, Integer> callbackIndexes;
+
+    public ProxyFilter(Map<Method, Integer> callbackIndexes) {
+        this.callbackIndexes = callbackIndexes;
     }
 
     @Override
     public int accept(Method method) {
-        return pointcut.matches(method) ? 0 : 1;
+        if(isFinalizeMethod(method)) {
+            return NO_OVERRIDE;
+        }
+
+        if(method.getDeclaringClass() == Advised.class) {
+            return ADVISED;
+        }
+
+        return callbackIndexes.getOrDefault(method, UNADVISED);
+    }
+
+    public static boolean isFinalizeMethod(Method method) {
+        return method.getName().equals("finalize") && method.getParameterCount() == 0;
     }
 }
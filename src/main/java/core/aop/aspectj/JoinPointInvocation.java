@@ -0,0 +1,41 @@
+package core.aop.aspectj;
+
+import core.aop.MethodInvocation;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+
+import java.lang.reflect.Method;
+
+/**
+ * 엮인 메소드 호출을 {@link MethodInvocation} 으로 감싸서 프록시용 Advice 를 그대로 쓴다.
+ *
+ * @author KingCjy
+ */
+class JoinPointInvocation implements MethodInvocation {
+
+    private final ProceedingJoinPoint joinPoint;
+
+    JoinPointInvocation(ProceedingJoinPoint joinPoint) {
+        this.joinPoint = joinPoint;
+    }
+
+    @Override
+    public Object getThis() {
+        return joinPoint.getThis();
+    }
+
+    @Override
+    public Method getMethod() {
+        return ((MethodSignature) joinPoint.getSignature()).getMethod();
+    }
+
+    @Override
+    public Object[] getArguments() {
+        return joinPoint.getArgs();
+    }
+
+    @Override
+    public Object proceed() throws Throwable {
+        return joinPoint.proceed();
+    }
+}
@@ -0,0 +1,82 @@
+package core.aop.aspectj;
+
+import core.aop.support.TransactionalAdvice;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * 프록시 대신 @Transactional 메소드 자체에 {@link TransactionalAdvice} 를 엮는 aspect.
+ * META-INF/aop.xml 에 등록되어 있고, -javaagent:aspectjweaver.jar 나
+ * {@code -Dcore.aop.weaving=true} 로 띄운 WebServerLauncher 에서 클래스를 로드할 때 적용된다.
+ * 엮인 메소드는 같은 객체 안에서 호출해도 트랜잭션이 적용된다.
+ *
+ * @author KingCjy
+ */
+@Aspect
+public class TransactionalAspect {
+
+    public static final String WEAVING_PROPERTY = "core.aop.weaving";
+
+//    @Transactional 메소드와, 클래스에 @Transactional 이 붙었으면 그 클래스의 public 메소드
+    public static final String TRANSACTIONAL_POINTCUT =
+            "execution(@core.annotation.Transactional * *(..)) || (@within(core.annotation.Transactional) && execution(public !static * *(..)))";
+
+    private static volatile TransactionalAdvice advice;
+    private static DataSource configuredDataSource;
+
+    public static boolean isWeavingEnabled() {
+        return Boolean.getBoolean(WEAVING_PROPERTY);
+    }
+
+//    aspect 인스턴스는 weaver 가 만들기 때문에 DataSource 는 static 으로 넘겨받는다.
+//    클래스로더마다 하나의 컨텍스트만 엮을 수 있어서, 다른 DataSource 로 다시 설정하면 예외를 던진다.
+    public static synchronized void configure(DataSource dataSource) {
+        if(configuredDataSource != null && configuredDataSource != dataSource) {
+            throw new IllegalStateException("TransactionalAspect is already configured with another DataSource");
+        }
+
+        configuredDataSource = dataSource;
+        advice = new TransactionalAdvice(dataSource);
+    }
+
+//    설정한 컨텍스트가 닫힐 때 호출한다.
+    public static synchronized void reset(DataSource dataSource) {
+        if(configuredDataSource == dataSource) {
+            configuredDataSource = null;
+            advice = null;
+        }
+    }
+
+//    weaver 는 엮은 클래스에 ajc$ 로 시작하는 필드와 *_aroundBody 메소드를 추가한다.
+    public static boolean isWoven(Class<?> type) {
+        for (Field field : type.getDeclaredFields()) {
+            if(field.getName().startsWith("ajc$")) {
+                return true;
+            }
+        }
+
+        for (Method method : type.getDeclaredMethods()) {
+            if(method.getName().contains("_aroundBody")) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Around(TRANSACTIONAL_POINTCUT)
+    public Object transactional(ProceedingJoinPoint joinPoint) throws Throwable {
+        TransactionalAdvice advice = TransactionalAspect.advice;
+
+        if(advice == null) {
+            throw new IllegalStateException("@Transactional method " + joinPoint.getSignature() + " is woven but TransactionalAspect is not configured");
+        }
+
+        return advice.invoke(new JoinPointInvocation(joinPoint));
+    }
+}
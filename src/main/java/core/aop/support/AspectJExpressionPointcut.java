@@ -0,0 +1,101 @@
+package core.aop.support;
+
+import core.aop.Pointcut;
+import org.aspectj.weaver.reflect.ReflectionWorld;
+import org.aspectj.weaver.tools.PointcutExpression;
+import org.aspectj.weaver.tools.PointcutParser;
+import org.aspectj.weaver.tools.PointcutPrimitive;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.MethodClassKey;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * AspectJ 포인트컷 표현식 (execution, within, @annotation, @within)
+ * 표현식은 생성할 때 한번만 파싱하고, 클래스 필터와 메소드 매칭 결과는 (클래스, 메소드) 마다 캐시한다.
+ * 메소드 매칭은 프록시를 만들 때만 실행되고 호출할 때는 실행되지 않는다.
+ *
+ * @author KingCjy
+ */
+public class AspectJExpressionPointcut implements Pointcut {
+
+    private static final Logger logger = LoggerFactory.getLogger(AspectJExpressionPointcut.class);
+
+    private static final Set<PointcutPrimitive> SUPPORTED_PRIMITIVES = new HashSet<>(
+            Arrays.asList(PointcutPrimitive.EXECUTION, PointcutPrimitive.WITHIN, PointcutPrimitive.AT_ANNOTATION, PointcutPrimitive.AT_WITHIN));
+
+    private final String expression;
+    private final PointcutExpression pointcutExpression;
+
+    private final Map<Class<?>, Boolean> classMatches = new ConcurrentHashMap<>();
+    private final Map<MethodClassKey, Boolean> methodMatches = new ConcurrentHashMap<>();
+
+    public AspectJExpressionPointcut(String expression) {
+        this(expression, ClassUtils.getDefaultClassLoader());
+    }
+
+    public AspectJExpressionPointcut(String expression, ClassLoader classLoader) {
+        PointcutParser parser = PointcutParser
+                .getPointcutParserSupportingSpecifiedPrimitivesAndUsingSpecifiedClassLoaderForResolution(SUPPORTED_PRIMITIVES, classLoader);
+
+        this.expression = expression;
+        this.pointcutExpression = parser.parsePointcutExpression(expression);
+    }
+
+    @Override
+    public boolean matches(Method method) {
+        return matches(method, method.getDeclaringClass());
+    }
+
+    @Override
+    public boolean matches(Method method, Class<?> targetClass) {
+        return methodMatches.computeIfAbsent(new MethodClassKey(method, targetClass), key -> matchesExecution(method, targetClass));
+    }
+
+//    메소드가 하나라도 매칭되는 클래스만 통과한다.
+    @Override
+    public boolean matches(Class<?> targetClass) {
+        return classMatches.computeIfAbsent(targetClass, this::matchesAnyMethod);
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    private boolean matchesAnyMethod(Class<?> targetClass) {
+        if(!pointcutExpression.couldMatchJoinPointsInType(targetClass)) {
+            return false;
+        }
+
+        for (Method method : ReflectionUtils.getAllDeclaredMethods(targetClass)) {
+            if(matches(method, targetClass)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean matchesExecution(Method method, Class<?> targetClass) {
+        Method targetMethod = ClassUtils.getMostSpecificMethod(method, targetClass);
+
+        try {
+            return pointcutExpression.matchesMethodExecution(targetMethod).alwaysMatches();
+        } catch (ReflectionWorld.ReflectionWorldException e) {
+            logger.debug("pointcut {} could not be evaluated on {}", expression, targetMethod, e);
+            return false;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AspectJExpressionPointcut: " + expression;
+    }
+}
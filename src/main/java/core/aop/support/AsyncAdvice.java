@@ -0,0 +1,119 @@
+package core.aop.support;
+
+import core.annotation.Async;
+import core.aop.Advice;
+import core.aop.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.core.MethodClassKey;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * 메소드 호출을 @Async 에 지정한 executor 로 넘기고 CompletableFuture 를 돌려준다.
+ * 메소드가 Future 를 반환하면 그 결과로 완료하고, void 메소드의 예외는 로그로 남긴다.
+ * executor 가 작업을 거절하면 (AbortPolicy) 호출한 스레드에 RejectedExecutionException 을 던진다.
+ *
+ * @author KingCjy
+ */
+public class AsyncAdvice implements Advice {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncAdvice.class);
+
+    private final Function<String, Executor> executorResolver;
+//    상속받은 메소드는 하위 클래스마다 클래스에 붙은 @Async 가 다를 수 있다.
+    private final Map<MethodClassKey, Executor> executors = new ConcurrentHashMap<>();
+
+    public AsyncAdvice(Function<String, Executor> executorResolver) {
+        this.executorResolver = executorResolver;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) {
+        Method method = invocation.getMethod();
+        MethodClassKey cacheKey = new MethodClassKey(method, ClassUtils.getUserClass(invocation.getThis()));
+        Executor executor = executors.computeIfAbsent(cacheKey, key -> executorResolver.apply(getExecutorName(invocation)));
+
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        executor.execute(new AsyncTask(invocation, result, MDC.getCopyOfContextMap()));
+
+        return method.getReturnType() == void.class ? null : result;
+    }
+
+    private String getExecutorName(MethodInvocation invocation) {
+        Async async = AnnotatedElementUtils.findMergedAnnotation(invocation.getMethod(), Async.class);
+        if(async == null) {
+            async = AnnotatedElementUtils.findMergedAnnotation(ClassUtils.getUserClass(invocation.getThis()), Async.class);
+        }
+        return async == null ? "" : async.value();
+    }
+
+    private static class AsyncTask implements Runnable {
+        private final MethodInvocation invocation;
+        private final CompletableFuture<Object> result;
+        private final Map<String, String> contextMap;
+
+        private AsyncTask(MethodInvocation invocation, CompletableFuture<Object> result, Map<String, String> contextMap) {
+            this.invocation = invocation;
+            this.result = result;
+            this.contextMap = contextMap;
+        }
+
+//        CallerRunsPolicy 면 호출한 스레드에서 실행되므로 끝나면 원래 MDC 로 되돌린다.
+        @Override
+        public void run() {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            setContextMap(contextMap);
+
+            try {
+                complete(invocation.proceed());
+            } catch (Throwable e) {
+                if(invocation.getMethod().getReturnType() == void.class) {
+                    logger.error("@Async method {} failed", invocation.getMethod(), e);
+                }
+                result.completeExceptionally(e instanceof ExecutionException ? e.getCause() : e);
+            } finally {
+                setContextMap(previous);
+            }
+        }
+
+        private void complete(Object value) throws Exception {
+            if(value instanceof CompletionStage) {
+                ((CompletionStage<?>) value).whenComplete((completed, e) -> {
+                    if(e != null) {
+                        result.completeExceptionally(e);
+                    } else {
+                        result.complete(completed);
+                    }
+                });
+                return;
+            }
+
+            if(value instanceof Future) {
+                result.complete(((Future<?>) value).get());
+                return;
+            }
+
+            result.complete(value);
+        }
+
+        private static void setContextMap(Map<String, String> contextMap) {
+            if(contextMap == null) {
+                MDC.clear();
+            } else {
+                MDC.setContextMap(contextMap);
+            }
+        }
+    }
+}
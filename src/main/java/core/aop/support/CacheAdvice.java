@@ -0,0 +1,118 @@
+package core.aop.support;
+
+import core.annotation.CacheEvict;
+import core.annotation.Cacheable;
+import core.aop.Advice;
+import core.aop.MethodInvocation;
+import core.cache.Cache;
+import core.cache.CacheManager;
+import core.cache.KeyGenerator;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @Cacheable 메소드는 캐시에 값이 있으면 메소드를 실행하지 않고, @CacheEvict 메소드는 실행한 뒤 캐시를 지운다.
+ * 메소드마다 캐시와 key 생성 방법은 한번만 읽는다.
+ *
+ * @author KingCjy
+ */
+public class CacheAdvice implements Advice {
+
+    private final CacheManager cacheManager;
+    private final Map<Method, CacheOperations> operations = new ConcurrentHashMap<>();
+
+    public CacheAdvice(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+//    빈을 후처리할 때 미리 읽어서 잘못된 key 는 빈을 만들 때 실패하게 한다.
+    public void register(Method method) {
+        operations.computeIfAbsent(method, this::createOperations);
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        CacheOperations operations = this.operations.computeIfAbsent(invocation.getMethod(), this::createOperations);
+        Object[] arguments = invocation.getArguments();
+
+        try {
+            if(operations.cache == null) {
+                return invocation.proceed();
+            }
+
+            Object key = operations.keyGenerator.generate(arguments);
+            Object cached = operations.cache.get(key);
+            if(cached != null) {
+                return cached == Cache.NULL_VALUE ? null : cached;
+            }
+
+            Object result = invocation.proceed();
+            operations.cache.put(key, result);
+            return result;
+        } finally {
+            for (EvictOperation evict : operations.evicts) {
+                evict.evict(cacheManager, arguments);
+            }
+        }
+    }
+
+    private CacheOperations createOperations(Method method) {
+        Cache cache = null;
+        KeyGenerator keyGenerator = null;
+
+        Cacheable cacheable = AnnotatedElementUtils.findMergedAnnotation(method, Cacheable.class);
+        if(cacheable != null) {
+            cache = cacheManager.getCache(cacheable.value(), cacheable.maxSize(), cacheable.ttlMillis(), cacheable.eviction());
+            keyGenerator = KeyGenerator.forExpression(cacheable.key(), method.getParameterCount());
+        }
+
+        List<EvictOperation> evicts = new ArrayList<>();
+        for (CacheEvict cacheEvict : AnnotatedElementUtils.findMergedRepeatableAnnotations(method, CacheEvict.class)) {
+            KeyGenerator evictKeyGenerator = cacheEvict.allEntries() ? null : KeyGenerator.forExpression(cacheEvict.key(), method.getParameterCount());
+            evicts.add(new EvictOperation(cacheEvict.value(), evictKeyGenerator));
+        }
+
+        return new CacheOperations(cache, keyGenerator, evicts.toArray(new EvictOperation[0]));
+    }
+
+    private static class CacheOperations {
+        private final Cache cache;
+        private final KeyGenerator keyGenerator;
+        private final EvictOperation[] evicts;
+
+        private CacheOperations(Cache cache, KeyGenerator keyGenerator, EvictOperation[] evicts) {
+            this.cache = cache;
+            this.keyGenerator = keyGenerator;
+            this.evicts = evicts;
+        }
+    }
+
+//    다른 빈의 @Cacheable 이 만든 캐시일 수 있으므로 지울 때 이름으로 찾는다.
+    private static class EvictOperation {
+        private final String cacheName;
+        private final KeyGenerator keyGenerator;
+
+        private EvictOperation(String cacheName, KeyGenerator keyGenerator) {
+            this.cacheName = cacheName;
+            this.keyGenerator = keyGenerator;
+        }
+
+        private void evict(CacheManager cacheManager, Object[] arguments) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if(cache == null) {
+                return;
+            }
+
+            if(keyGenerator == null) {
+                cache.clear();
+            } else {
+                cache.evict(keyGenerator.generate(arguments));
+            }
+        }
+    }
+}
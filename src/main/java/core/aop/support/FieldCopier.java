@@ -0,0 +1,90 @@
+package core.aop.support;
+
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 클래스와 모든 상위 클래스의 인스턴스 필드를 다른 인스턴스 (프록시) 로 복사한다.
+ * 필드마다 getter, setter MethodHandle 을 만들고 하나의 MethodHandle 로 합쳐 두기 때문에,
+ * 복사할 때는 리플렉션 접근 검사 없이 JVM 이 만든 코드 한번만 호출한다.
+ *
+ * @author KingCjy
+ */
+public class FieldCopier {
+
+//    ClassValue 는 값을 클래스 쪽에 붙여 두므로, 클래스로더가 내려가면 캐시도 같이 정리된다.
+    private static final ClassValue<FieldCopier> cache = new ClassValue<FieldCopier>() {
+        @Override
+        protected FieldCopier computeValue(Class<?> type) {
+            return new FieldCopier(type);
+        }
+    };
+
+    private static final MethodType COPY_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodHandle NO_OP = MethodHandles.dropArguments(MethodHandles.constant(Object.class, null).asType(MethodType.methodType(void.class)), 0, Object.class, Object.class);
+
+    private final Class<?> type;
+    private final int fieldCount;
+    private final MethodHandle copier;
+
+    private FieldCopier(Class<?> type) {
+        this.type = type;
+
+        List<Field> fields = new ArrayList<>();
+        ReflectionUtils.doWithFields(type, fields::add, field -> !Modifier.isStatic(field.getModifiers()));
+
+        MethodHandle copier = NO_OP;
+        for (Field field : fields) {
+            copier = MethodHandles.foldArguments(copier, createFieldCopier(field));
+        }
+
+        this.fieldCount = fields.size();
+        this.copier = copier;
+    }
+
+    public static FieldCopier forClass(Class<?> type) {
+        return cache.get(type);
+    }
+
+//    (from, to) -> to.field = from.field
+    private static MethodHandle createFieldCopier(Field field) {
+        try {
+            field.setAccessible(true);
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+            MethodHandle getter = lookup.unreflectGetter(field);
+            MethodHandle setter = lookup.unreflectSetter(field);
+            MethodHandle copy = MethodHandles.filterArguments(setter, 1, getter);
+
+            return MethodHandles.permuteArguments(copy.asType(MethodType.methodType(void.class, Object.class, Object.class)), COPY_TYPE, 1, 0);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot access field " + field, e);
+        }
+    }
+
+    public void copy(Object from, Object to) {
+        if(!type.isInstance(from) || !type.isInstance(to)) {
+            throw new IllegalArgumentException("both objects must be instances of " + type.getName());
+        }
+
+        try {
+            copier.invokeExact(from, to);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UndeclaredThrowableException(e);
+        }
+    }
+
+    public int getFieldCount() {
+        return fieldCount;
+    }
+}
@@ -18,7 +18,6 @@ public class MethodMatchPointcut implements Pointcut {
 
     @Override
     public boolean matches(Method targetMethod) {
-        return this.methods.stream()
-                .anyMatch(targetMethod::equals);
+        return this.methods.contains(targetMethod);
     }
 }
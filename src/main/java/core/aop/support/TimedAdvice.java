@@ -0,0 +1,57 @@
+package core.aop.support;
+
+import core.annotation.Timed;
+import core.aop.Advice;
+import core.aop.MethodInvocation;
+import core.metrics.LatencyHistogram;
+import core.metrics.MetricRegistry;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 메소드 실행 시간을 메소드의 히스토그램에 기록한다.
+ * 히스토그램은 빈을 후처리할 때 찾아두고, 호출할 때는 찾아둔 히스토그램에 기록만 한다.
+ *
+ * @author KingCjy
+ */
+public class TimedAdvice implements Advice {
+
+    private final MetricRegistry metricRegistry;
+    private final Map<Method, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    public TimedAdvice(MetricRegistry metricRegistry) {
+        this.metricRegistry = metricRegistry;
+    }
+
+    public void register(Method method) {
+        histograms.computeIfAbsent(method, this::createHistogram);
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        LatencyHistogram histogram = histograms.computeIfAbsent(invocation.getMethod(), this::createHistogram);
+        boolean error = true;
+        long start = System.nanoTime();
+
+        try {
+            Object result = invocation.proceed();
+            error = false;
+            return result;
+        } finally {
+            histogram.record(System.nanoTime() - start, error);
+        }
+    }
+
+    private LatencyHistogram createHistogram(Method method) {
+        Timed timed = AnnotatedElementUtils.findMergedAnnotation(method, Timed.class);
+        if(timed == null) {
+            timed = AnnotatedElementUtils.findMergedAnnotation(method.getDeclaringClass(), Timed.class);
+        }
+
+        String name = timed != null && !timed.value().isEmpty() ? timed.value() : method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        return metricRegistry.timer(name);
+    }
+}
@@ -1,17 +1,17 @@
 package core.aop.support;
 
 import core.aop.Advice;
+import core.aop.MethodInvocation;
 import core.jdbc.DataAccessException;
 import core.jdbc.DataSourceUtils;
 import core.jdbc.TransactionManager;
-import net.sf.cglib.proxy.MethodProxy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.sql.DataSource;
-import java.lang.reflect.Method;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.List;
 
 /**
  * @author KingCjy
@@ -27,32 +27,44 @@ public class TransactionalAdvice implements Advice {
     }
 
     @Override
-    public Object intercept(Object obj, Method method, Object[] args, MethodProxy proxy) throws Throwable {
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+//        이미 트랜잭션 안에서 호출되면 (엮인 메소드의 self 호출 등) 바깥 트랜잭션에 참여한다.
+        if(TransactionManager.isTransactionActive()) {
+            return invocation.proceed();
+        }
+
         Object result = null;
+        boolean committed = false;
 
         TransactionManager.startTransaction();
-        logger.info("Transaction START");
+        logger.debug("Transaction START");
         Connection connection = DataSourceUtils.getConnection(dataSource);
 
         try {
             connection.setAutoCommit(false);
 
-            result = proxy.invokeSuper(obj, args);
+            result = invocation.proceed();
 
             connection.commit();
-            logger.info("Transaction COMMIT");
+            committed = true;
+            logger.debug("Transaction COMMIT");
         } catch (SQLException | DataAccessException e) {
             try {
                 logger.error(e.getMessage(), e);
                 connection.rollback();
-                logger.info("Transaction ROLLBACK");
+                logger.debug("Transaction ROLLBACK");
             } catch (SQLException ex) {
                 logger.error("SQLException", ex);
             }
         } finally {
+            List<Runnable> afterCommits = TransactionManager.takeAfterCommits();
             DataSourceUtils.releaseConnection(connection);
             TransactionManager.finishTransaction();
-            logger.info("Transaction FINISHED");
+            logger.debug("Transaction FINISHED");
+
+            if(committed) {
+                afterCommits.forEach(Runnable::run);
+            }
         }
 
         return result;
@@ -0,0 +1,204 @@
+package core.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 크기와 TTL 이 정해진 로컬 캐시
+ * 조회는 lock 없이 ConcurrentHashMap 에서 읽고, 항목에 마지막 조회 시각과 조회 횟수만 남긴다.
+ * 넣을 때는 key 의 hash 로 나눈 segment 의 lock 을 잡고, segment 가 maxSize / segment 수를 넘으면
+ * {@link EvictionPolicy} 에 따라 segment 안에서 한 항목을 골라 버린다.
+ * 조회 시각과 횟수는 동기화하지 않으므로 교체 대상은 근사값으로 고른다.
+ *
+ * @author KingCjy
+ */
+public class Cache {
+
+//    null 결과를 캐시할 때 대신 저장하는 값
+    public static final Object NULL_VALUE = new Object();
+
+    private static final int MAX_SEGMENTS = 16;
+    private static final int MIN_SEGMENT_SIZE = 16;
+    private static final int MAX_FREQUENCY = 255;
+
+    private final String name;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final EvictionPolicy evictionPolicy;
+    private final Segment[] segments;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public Cache(String name, int maxSize, long ttlMillis, EvictionPolicy evictionPolicy) {
+        if(maxSize < 1) {
+            throw new IllegalArgumentException("cache maxSize of '" + name + "' must be positive");
+        }
+
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.evictionPolicy = evictionPolicy;
+
+//        작은 캐시는 segment 를 나누지 않아서 교체 정책이 캐시 전체에 적용되게 한다.
+        int segmentCount = Integer.highestOneBit(Math.max(1, Math.min(MAX_SEGMENTS, maxSize / MIN_SEGMENT_SIZE)));
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(maxSize / segmentCount);
+        }
+    }
+
+//    없으면 null, null 을 캐시했으면 NULL_VALUE
+    public Object get(Object key) {
+        Segment segment = segmentFor(key);
+        Entry entry = segment.entries.get(key);
+        if(entry == null) {
+            misses.increment();
+            return null;
+        }
+
+//        LRU 나 TTL 이 아니면 시각을 읽지 않는다.
+        if(ttlNanos != 0 || evictionPolicy == EvictionPolicy.LRU) {
+            long now = System.nanoTime();
+            if(entry.isExpired(now)) {
+                segment.entries.remove(key, entry);
+                expirations.increment();
+                misses.increment();
+                return null;
+            }
+            entry.lastAccess = now;
+        }
+
+        if(entry.frequency < MAX_FREQUENCY) {
+            entry.frequency++;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    public void put(Object key, Object value) {
+        long now = System.nanoTime();
+        Entry entry = new Entry(value == null ? NULL_VALUE : value, ttlNanos == 0 ? 0 : now + ttlNanos, now);
+
+        Segment segment = segmentFor(key);
+        segment.lock();
+        try {
+            segment.entries.put(key, entry);
+            if(segment.entries.size() > segment.maxSize) {
+                evictOne(segment, key, now);
+            }
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    public void evict(Object key) {
+        segmentFor(key).entries.remove(key);
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.entries.clear();
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.entries.size();
+        }
+        return size;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public CacheStats getStats() {
+        return new CacheStats(name, evictionPolicy, maxSize, size(), hits.sum(), misses.sum(), evictions.sum(), expirations.sum());
+    }
+
+    private Segment segmentFor(Object key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return segments[hash & (segments.length - 1)];
+    }
+
+//    만료된 항목이 있으면 그것을, 없으면 LRU 는 마지막 조회가 가장 오래된 항목을, LFU 는 조회 횟수가 가장 적은 항목을 버린다.
+//    LFU 는 횟수가 최대값에 닿으면 모두 절반으로 줄여서 예전에 많이 조회된 항목이 계속 남지 않게 한다. 방금 넣은 항목은 버리지 않는다.
+    private void evictOne(Segment segment, Object insertedKey, long now) {
+        Object victim = null;
+        Entry victimEntry = null;
+        boolean saturated = false;
+
+        for (Map.Entry<Object, Entry> candidate : segment.entries.entrySet()) {
+            Entry entry = candidate.getValue();
+            if(candidate.getKey().equals(insertedKey)) {
+                continue;
+            }
+            if(entry.isExpired(now)) {
+                victim = candidate.getKey();
+                victimEntry = entry;
+                break;
+            }
+            if(victimEntry == null || isColder(entry, victimEntry)) {
+                victim = candidate.getKey();
+                victimEntry = entry;
+            }
+            saturated |= entry.frequency >= MAX_FREQUENCY;
+        }
+
+        if(saturated && evictionPolicy == EvictionPolicy.LFU) {
+            segment.entries.values().forEach(entry -> entry.frequency >>>= 1);
+        }
+
+        if(victim == null) {
+            return;
+        }
+
+        if(victimEntry.isExpired(now)) {
+            expirations.increment();
+        } else {
+            evictions.increment();
+        }
+        segment.entries.remove(victim, victimEntry);
+    }
+
+    private boolean isColder(Entry entry, Entry than) {
+        if(evictionPolicy == EvictionPolicy.LFU && entry.frequency != than.frequency) {
+            return entry.frequency < than.frequency;
+        }
+        return entry.lastAccess - than.lastAccess < 0;
+    }
+
+    private static class Entry {
+        private final Object value;
+        private final long expiresAt;
+        private long lastAccess;
+        private int frequency;
+
+        private Entry(Object value, long expiresAt, long lastAccess) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.lastAccess = lastAccess;
+        }
+
+        private boolean isExpired(long now) {
+            return expiresAt != 0 && now - expiresAt >= 0;
+        }
+    }
+
+    private static class Segment extends ReentrantLock {
+        private final int maxSize;
+        private final ConcurrentHashMap<Object, Entry> entries = new ConcurrentHashMap<>();
+
+        private Segment(int maxSize) {
+            this.maxSize = maxSize;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package core.cache;
+
+import java.util.Arrays;
+
+/**
+ * 인자가 없거나 여러 개인 메소드의 캐시 key
+ *
+ * @author KingCjy
+ */
+public final class CacheKey {
+
+    public static final CacheKey EMPTY = new CacheKey(new Object[0]);
+
+    private final Object[] elements;
+    private final int hashCode;
+
+    public CacheKey(Object... elements) {
+        this.elements = elements.clone();
+        this.hashCode = Arrays.deepHashCode(this.elements);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CacheKey cacheKey = (CacheKey) o;
+        return hashCode == cacheKey.hashCode && Arrays.deepEquals(elements, cacheKey.elements);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheKey" + Arrays.deepToString(elements);
+    }
+}
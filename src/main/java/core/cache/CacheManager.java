@@ -0,0 +1,40 @@
+package core.cache;
+
+import core.annotation.Component;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 이름으로 캐시를 관리한다. 같은 이름은 처음 만들 때의 설정을 따른다.
+ *
+ * @author KingCjy
+ */
+@Component
+public class CacheManager {
+
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public Cache getCache(String name, int maxSize, long ttlMillis, EvictionPolicy evictionPolicy) {
+        return caches.computeIfAbsent(name, key -> new Cache(name, maxSize, ttlMillis, evictionPolicy));
+    }
+
+    @Nullable
+    public Cache getCache(String name) {
+        return caches.get(name);
+    }
+
+    public Set<String> getCacheNames() {
+        return caches.keySet();
+    }
+
+    public List<CacheStats> getStats() {
+        List<CacheStats> stats = new ArrayList<>();
+        caches.values().forEach(cache -> stats.add(cache.getStats()));
+        return stats;
+    }
+}
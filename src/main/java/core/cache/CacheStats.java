@@ -0,0 +1,82 @@
+package core.cache;
+
+/**
+ * {@link Cache} 의 특정 시점 지표
+ * evictions 는 크기 때문에 버린 횟수, expirations 는 TTL 이 지나서 버린 횟수
+ *
+ * @author KingCjy
+ */
+public class CacheStats {
+
+    private final String name;
+    private final EvictionPolicy evictionPolicy;
+    private final int maxSize;
+    private final int size;
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long expirations;
+
+    public CacheStats(String name, EvictionPolicy evictionPolicy, int maxSize, int size, long hits, long misses, long evictions, long expirations) {
+        this.name = name;
+        this.evictionPolicy = evictionPolicy;
+        this.maxSize = maxSize;
+        this.size = size;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.expirations = expirations;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public EvictionPolicy getEvictionPolicy() {
+        return evictionPolicy;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getExpirations() {
+        return expirations;
+    }
+
+    public double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{" +
+                "name='" + name + '\'' +
+                ", evictionPolicy=" + evictionPolicy +
+                ", maxSize=" + maxSize +
+                ", size=" + size +
+                ", hits=" + hits +
+                ", misses=" + misses +
+                ", evictions=" + evictions +
+                ", expirations=" + expirations +
+                ", hitRate=" + String.format("%.3f", getHitRate()) +
+                '}';
+    }
+}
@@ -0,0 +1,13 @@
+package core.cache;
+
+/**
+ * 캐시가 가득 찼을 때 버릴 항목을 고르는 방식
+ *
+ * @author KingCjy
+ */
+public enum EvictionPolicy {
+//    가장 오래 전에 조회한 항목
+    LRU,
+//    조회 횟수가 가장 적은 항목. 횟수가 같으면 먼저 들어온 항목이고, 횟수는 주기적으로 절반으로 줄인다.
+    LFU
+}
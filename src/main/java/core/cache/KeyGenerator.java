@@ -0,0 +1,53 @@
+package core.cache;
+
+import org.springframework.beans.PropertyAccessorFactory;
+
+/**
+ * 메소드 인자로 캐시 key 를 만든다.
+ *
+ * @author KingCjy
+ */
+@FunctionalInterface
+public interface KeyGenerator {
+
+    Object generate(Object[] arguments);
+
+//    "" 은 모든 인자 (하나면 그 인자), "#0" 은 첫번째 인자, "#0.questionId" 는 첫번째 인자의 프로퍼티
+    static KeyGenerator forExpression(String expression, int parameterCount) {
+        if(expression.isEmpty()) {
+            return KeyGenerator::allArguments;
+        }
+
+        if(!expression.matches("#\\d+(\\.[A-Za-z_$][\\w$]*)*")) {
+            throw new IllegalArgumentException("Invalid cache key expression: " + expression);
+        }
+
+        int dot = expression.indexOf('.');
+        int index = Integer.parseInt(dot < 0 ? expression.substring(1) : expression.substring(1, dot));
+        if(index >= parameterCount) {
+            throw new IllegalArgumentException("Cache key " + expression + " refers to missing argument, method has " + parameterCount);
+        }
+
+        if(dot < 0) {
+            return arguments -> keyOf(arguments[index]);
+        }
+
+        String propertyPath = expression.substring(dot + 1);
+        return arguments -> arguments[index] == null ? keyOf(null)
+                : keyOf(PropertyAccessorFactory.forBeanPropertyAccess(arguments[index]).getPropertyValue(propertyPath));
+    }
+
+    static Object allArguments(Object[] arguments) {
+        if(arguments.length == 0) {
+            return CacheKey.EMPTY;
+        }
+        if(arguments.length == 1) {
+            return keyOf(arguments[0]);
+        }
+        return new CacheKey(arguments);
+    }
+
+    static Object keyOf(Object value) {
+        return value == null ? new CacheKey((Object) null) : value;
+    }
+}
@@ -0,0 +1,117 @@
+package core.di.beans.factory;
+
+import core.di.beans.factory.definition.BeanDefinition;
+import core.util.OrderComparator;
+import org.springframework.core.annotation.MergedAnnotation;
+import org.springframework.core.annotation.MergedAnnotations;
+import org.springframework.util.ClassUtils;
+
+import java.lang.annotation.Annotation;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 어노테이션 (메타 어노테이션 포함) 별로 만들어진 빈을 모아두는 인덱스
+ * 빈이 만들어질 때 @Order, 등록 순서로 정렬된 위치에 넣고, 조회 결과 배열은 다음 변경까지 캐시해서 그대로 돌려준다.
+ * 아직 만들지 않은 (lazy) 빈은 BeanDefinition 타입 기준으로 따로 기억해둔다.
+ *
+ * @author KingCjy
+ */
+public class AnnotatedBeanIndex {
+
+    private static final Object[] EMPTY = new Object[0];
+
+    private final Map<Class<?>, Set<Class<? extends Annotation>>> annotationTypes = new ConcurrentHashMap<>();
+    private final Map<String, Integer> sequences = new ConcurrentHashMap<>();
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    private final Map<Class<? extends Annotation>, Set<String>> pendingNames = new ConcurrentHashMap<>();
+    private final Map<Class<? extends Annotation>, List<Entry>> entries = new HashMap<>();
+    private final Map<Class<? extends Annotation>, Object[]> cache = new ConcurrentHashMap<>();
+
+    public void addDefinition(BeanDefinition beanDefinition) {
+        sequences.computeIfAbsent(beanDefinition.getName(), name -> sequence.getAndIncrement());
+
+        for (Class<? extends Annotation> annotationType : getAnnotationTypes(beanDefinition.getType())) {
+            pendingNames.computeIfAbsent(annotationType, type -> ConcurrentHashMap.newKeySet()).add(beanDefinition.getName());
+        }
+    }
+
+//    프록시는 어노테이션을 상속하지 않기 때문에 원래 클래스의 어노테이션을 본다.
+    public synchronized void addBean(BeanDefinition beanDefinition, Object bean) {
+        Class<?> userClass = ClassUtils.getUserClass(bean);
+        Set<Class<? extends Annotation>> types = new LinkedHashSet<>(getAnnotationTypes(beanDefinition.getType()));
+        types.addAll(getAnnotationTypes(userClass));
+
+        Entry entry = new Entry(beanDefinition.getName(), bean, OrderComparator.getOrder(userClass),
+                sequences.getOrDefault(beanDefinition.getName(), Integer.MAX_VALUE));
+
+        for (Class<? extends Annotation> annotationType : types) {
+            List<Entry> annotated = entries.computeIfAbsent(annotationType, type -> new ArrayList<>());
+            int index = Collections.binarySearch(annotated, entry);
+            annotated.add(index < 0 ? -index - 1 : index, entry);
+
+            cache.remove(annotationType);
+            pendingNames.getOrDefault(annotationType, Collections.emptySet()).remove(beanDefinition.getName());
+        }
+    }
+
+    public synchronized void remove(String beanName) {
+        entries.forEach((annotationType, annotated) -> {
+            if(annotated.removeIf(entry -> entry.beanName.equals(beanName))) {
+                cache.remove(annotationType);
+            }
+        });
+        pendingNames.values().forEach(names -> names.remove(beanName));
+    }
+
+    /**
+     * 정렬된 빈 배열, 같은 어노테이션이면 변경이 없는 동안 같은 배열을 돌려준다.
+     * 배열은 공유되므로 밖으로 내보낼 때는 {@link DefaultBeanFactory} 가 복사한다.
+     */
+    Object[] getBeans(Class<? extends Annotation> annotationType) {
+        Object[] beans = cache.get(annotationType);
+        if(beans != null) {
+            return beans;
+        }
+
+        synchronized (this) {
+            return cache.computeIfAbsent(annotationType, type -> {
+                List<Entry> annotated = entries.get(type);
+                return annotated == null || annotated.isEmpty() ? EMPTY : annotated.stream().map(entry -> entry.bean).toArray();
+            });
+        }
+    }
+
+    public Set<String> getPendingBeanNames(Class<? extends Annotation> annotationType) {
+        return pendingNames.getOrDefault(annotationType, Collections.emptySet());
+    }
+
+    private Set<Class<? extends Annotation>> getAnnotationTypes(Class<?> type) {
+        return annotationTypes.computeIfAbsent(type, key -> MergedAnnotations.from(key, MergedAnnotations.SearchStrategy.INHERITED_ANNOTATIONS).stream()
+                .map(MergedAnnotation::getType)
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+    }
+
+    private static class Entry implements Comparable<Entry> {
+        private final String beanName;
+        private final Object bean;
+        private final int order;
+        private final int sequence;
+
+        private Entry(String beanName, Object bean, int order, int sequence) {
+            this.beanName = beanName;
+            this.bean = bean;
+            this.order = order;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int compared = Integer.compare(order, other.order);
+            return compared != 0 ? compared : Integer.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package core.di.beans.factory;
+
+import org.springframework.core.annotation.MergedAnnotation;
+import org.springframework.core.annotation.MergedAnnotations;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.*;
+
+/**
+ * 빈 클래스의 어노테이션 정보 (메타 어노테이션 포함)
+ * 클래스당 한번만 getMethods 와 어노테이션을 읽고, BeanPostProcessor 들이 같은 결과를 공유한다.
+ *
+ * @author KingCjy
+ */
+public class BeanClassMetadata {
+
+//    ClassValue 는 값을 클래스 쪽에 붙여 두므로, 클래스로더가 내려가면 캐시도 같이 정리된다.
+    private static final ClassValue<BeanClassMetadata> cache = new ClassValue<BeanClassMetadata>() {
+        @Override
+        protected BeanClassMetadata computeValue(Class<?> type) {
+            return new BeanClassMetadata(type);
+        }
+    };
+
+    private final Class<?> type;
+    private final Set<Class<? extends Annotation>> annotationTypes;
+    private final Map<Class<? extends Annotation>, Set<Method>> annotatedMethods;
+
+    private BeanClassMetadata(Class<?> type) {
+        this.type = type;
+        this.annotationTypes = getAnnotationTypes(MergedAnnotations.from(type, MergedAnnotations.SearchStrategy.INHERITED_ANNOTATIONS));
+
+        Map<Class<? extends Annotation>, Set<Method>> annotatedMethods = new HashMap<>();
+        for (Method method : type.getMethods()) {
+            for (Class<? extends Annotation> annotationType : getAnnotationTypes(MergedAnnotations.from(method))) {
+                annotatedMethods.computeIfAbsent(annotationType, key -> new LinkedHashSet<>()).add(method);
+            }
+        }
+        annotatedMethods.replaceAll((annotationType, methods) -> Collections.unmodifiableSet(methods));
+        this.annotatedMethods = Collections.unmodifiableMap(annotatedMethods);
+    }
+
+    public static BeanClassMetadata forClass(Class<?> type) {
+        return cache.get(type);
+    }
+
+    private static Set<Class<? extends Annotation>> getAnnotationTypes(MergedAnnotations annotations) {
+        Set<Class<? extends Annotation>> annotationTypes = new LinkedHashSet<>();
+        annotations.stream().map(MergedAnnotation::getType).forEach(annotationTypes::add);
+
+        return Collections.unmodifiableSet(annotationTypes);
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    public boolean isAssignableTo(Class<?> superType) {
+        return superType.isAssignableFrom(type);
+    }
+
+    public boolean hasAnnotation(Class<? extends Annotation> annotationType) {
+        return annotationTypes.contains(annotationType);
+    }
+
+    public boolean hasAnnotatedMethods(Class<? extends Annotation> annotationType) {
+        return annotatedMethods.containsKey(annotationType);
+    }
+
+//    public 메소드 중 어노테이션이 붙은 것
+    public Set<Method> getAnnotatedMethods(Class<? extends Annotation> annotationType) {
+        return annotatedMethods.getOrDefault(annotationType, Collections.emptySet());
+    }
+
+    public Set<Class<? extends Annotation>> getAnnotationTypes() {
+        return annotationTypes;
+    }
+}
@@ -0,0 +1,158 @@
+package core.di.beans.factory;
+
+import core.di.beans.factory.definition.BeanDefinition;
+import core.di.beans.factory.definition.ClassBeanDefinition;
+import core.di.beans.factory.definition.FactoryBeanDefinition;
+import core.di.beans.factory.definition.MethodBeanDefinition;
+import core.di.beans.factory.initializer.Dependency;
+import org.springframework.beans.factory.BeanCurrentlyInCreationException;
+
+import java.lang.reflect.*;
+import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * BeanDefinition 사이의 의존 관계 그래프
+ * 생성자/필드의 @Inject, @PostConstruct 파라미터, @Bean 메소드의 파라미터와 메소드를 가진 클래스를 간선으로 만든다.
+ * 이름/타입으로 하나로 정해지지 않는 의존은 간선에서 빠지고, 실제 생성 시점에 getBean 이 처리한다.
+ * lazy 주입 지점과 그래프에 없는 (lazy) 빈으로의 의존도 간선을 만들지 않는다.
+ *
+ * @author KingCjy
+ */
+public class BeanDependencyGraph {
+
+    private final List<BeanDefinition> beanDefinitions;
+    private final Predicate<AnnotatedElement> lazyInjection;
+    private final Map<BeanDefinition, Set<BeanDefinition>> dependencies = new HashMap<>();
+
+    public BeanDependencyGraph(List<BeanDefinition> beanDefinitions, BiFunction<String, Class<?>, BeanDefinition> resolver, Predicate<AnnotatedElement> lazyInjection) {
+        this.beanDefinitions = beanDefinitions;
+        this.lazyInjection = lazyInjection;
+
+        Set<BeanDefinition> nodes = new HashSet<>(beanDefinitions);
+
+        for (BeanDefinition beanDefinition : beanDefinitions) {
+            Set<BeanDefinition> resolved = new LinkedHashSet<>();
+            collectDependencies(beanDefinition, resolver, resolved);
+            resolved.remove(beanDefinition);
+            resolved.retainAll(nodes);
+            dependencies.put(beanDefinition, resolved);
+        }
+    }
+
+    private void collectDependencies(BeanDefinition beanDefinition, BiFunction<String, Class<?>, BeanDefinition> resolver, Set<BeanDefinition> resolved) {
+        if(beanDefinition instanceof FactoryBeanDefinition) {
+            collectDependencies(((FactoryBeanDefinition) beanDefinition).getBeanDefinition(), resolver, resolved);
+        } else if(beanDefinition instanceof ClassBeanDefinition) {
+            collectClassDependencies(beanDefinition.getType(), resolver, resolved);
+        } else if(beanDefinition instanceof MethodBeanDefinition) {
+            MethodBeanDefinition methodBeanDefinition = (MethodBeanDefinition) beanDefinition;
+            addDependency(resolver.apply(methodBeanDefinition.getParentType().getName(), methodBeanDefinition.getParentType()), resolved);
+            collectParameterDependencies(methodBeanDefinition.getMethod(), resolver, resolved);
+        }
+    }
+
+    private void collectClassDependencies(Class<?> type, BiFunction<String, Class<?>, BeanDefinition> resolver, Set<BeanDefinition> resolved) {
+        Constructor<?> constructor = BeanFactoryUtils.findInjectController(type);
+        collectParameterDependencies(constructor, resolver, resolved);
+
+        for (Field field : BeanFactoryUtils.findInjectFields(type)) {
+            if(lazyInjection.test(field)) {
+                continue;
+            }
+            addDependency(Dependency.of(field), resolver, resolved);
+        }
+
+        for (Method method : BeanFactoryUtils.findPostConstructMethods(type)) {
+            collectParameterDependencies(method, resolver, resolved);
+        }
+    }
+
+//    이름과 타입만으로 간선을 만들기 때문에 파라미터 이름 (클래스 파일) 은 읽지 않는다.
+    private void collectParameterDependencies(Executable executable, BiFunction<String, Class<?>, BeanDefinition> resolver, Set<BeanDefinition> resolved) {
+        for (Parameter parameter : executable.getParameters()) {
+            if(!lazyInjection.test(parameter)) {
+                addDependency(Dependency.of(parameter), resolver, resolved);
+            }
+        }
+    }
+
+    private void addDependency(Dependency dependency, BiFunction<String, Class<?>, BeanDefinition> resolver, Set<BeanDefinition> resolved) {
+        addDependency(resolver.apply(dependency.getBeanName(), dependency.getType()), resolved);
+    }
+
+    private void addDependency(BeanDefinition dependency, Set<BeanDefinition> resolved) {
+        if(dependency != null) {
+            resolved.add(dependency);
+        }
+    }
+
+    public List<BeanDefinition> getBeanDefinitions() {
+        return beanDefinitions;
+    }
+
+    public Set<BeanDefinition> getDependencies(BeanDefinition beanDefinition) {
+        return dependencies.getOrDefault(beanDefinition, Collections.emptySet());
+    }
+
+    /**
+     * 의존하는 빈이 항상 먼저 오도록 정렬한다. 같은 단계에서는 등록 순서를 유지한다.
+     *
+     * @throws BeanCurrentlyInCreationException 순환 참조가 있는 경우
+     */
+    public List<BeanDefinition> sort() {
+        Map<BeanDefinition, Integer> remaining = new LinkedHashMap<>();
+        Map<BeanDefinition, List<BeanDefinition>> dependents = new HashMap<>();
+
+        for (BeanDefinition beanDefinition : beanDefinitions) {
+            remaining.put(beanDefinition, getDependencies(beanDefinition).size());
+            getDependencies(beanDefinition).forEach(dependency -> dependents.computeIfAbsent(dependency, key -> new ArrayList<>()).add(beanDefinition));
+        }
+
+        List<BeanDefinition> sorted = new ArrayList<>();
+        Deque<BeanDefinition> ready = remaining.entrySet().stream()
+                .filter(entry -> entry.getValue() == 0)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toCollection(ArrayDeque::new));
+
+        while(!ready.isEmpty()) {
+            BeanDefinition beanDefinition = ready.poll();
+            remaining.remove(beanDefinition);
+            sorted.add(beanDefinition);
+
+            for (BeanDefinition dependent : dependents.getOrDefault(beanDefinition, Collections.emptyList())) {
+                if(remaining.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+
+        if(!remaining.isEmpty()) {
+            throw createCircularException(remaining.keySet());
+        }
+
+        return sorted;
+    }
+
+//    남은 빈 중 가장 먼저 등록된 빈부터 따라가서 항상 같은 순환 경로를 보고한다.
+    private BeanCurrentlyInCreationException createCircularException(Set<BeanDefinition> remaining) {
+        List<BeanDefinition> path = new ArrayList<>();
+        BeanDefinition current = remaining.iterator().next();
+
+        while(!path.contains(current)) {
+            path.add(current);
+            current = getDependencies(current).stream()
+                    .filter(remaining::contains)
+                    .min(Comparator.comparingInt(beanDefinitions::indexOf))
+                    .orElseThrow(IllegalStateException::new);
+        }
+
+        String cycle = path.subList(path.indexOf(current), path.size()).stream()
+                .map(BeanDefinition::getName)
+                .collect(Collectors.joining(" -> ", "", " -> " + current.getName()));
+
+        return new BeanCurrentlyInCreationException(current.getName(), "Circular dependency between beans: " + cycle);
+    }
+}
@@ -1,7 +1,9 @@
 package core.di.beans.factory;
 
+import core.di.beans.factory.startup.StartupTimeline;
 import javax.annotation.Nullable;
 import java.lang.annotation.Annotation;
+import java.util.List;
 
 /**
  * @author KingCjy
@@ -16,6 +18,22 @@ public interface BeanFactory {
     @Nullable
     <T> T getBean(String name, Class<T> requireType);
 
+//    이 BeanFactory 나 부모에 이 이름의 BeanDefinition 이 있는지
+    boolean containsBean(String name);
+
     @Nullable
     Object[] getAnnotatedBeans(Class<? extends Annotation> annotation);
+
+//    타입에 할당 가능한 빈을 등록 순서로 돌려준다. 다른 타입의 lazy 빈은 만들지 않는다.
+    <T> List<T> getBeansOfType(Class<T> type);
+
+//    true 이면 @Lazy(false) 가 아닌 모든 빈과 주입 지점을 lazy 로 취급한다.
+    default boolean isLazyInit() {
+        return false;
+    }
+
+//    부팅 단계 기록, 꺼져 있으면 StartupTimeline.NONE
+    default StartupTimeline getStartupTimeline() {
+        return StartupTimeline.NONE;
+    }
 }
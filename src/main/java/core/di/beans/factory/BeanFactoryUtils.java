@@ -1,6 +1,7 @@
 package core.di.beans.factory;
 
 import core.annotation.Inject;
+import core.annotation.Lazy;
 import core.annotation.PostConstruct;
 import core.annotation.Qualifier;
 import core.mvc.tobe.MethodParameter;
@@ -25,12 +26,28 @@ public class BeanFactoryUtils {
 
         for (int i = 0; i < methodParameters.length; i++) {
             String beanName = getBeanName(methodParameters[i]);
-            parameters[i] = beanFactory.getBean(beanName, methodParameters[i].getType());
+            parameters[i] = resolveDependency(beanFactory, beanName, methodParameters[i].getType(), methodParameters[i].getAnnotation(Lazy.class));
         }
 
         return parameters;
     }
 
+    public static Object resolveDependency(BeanFactory beanFactory, String beanName, Class<?> type, Lazy lazy) {
+        if(isLazy(beanFactory, lazy)) {
+            return LazyBeanProxyFactory.getProxy(beanFactory, beanName, type);
+        }
+
+        return beanFactory.getBean(beanName, type);
+    }
+
+    public static boolean isLazyInjection(BeanFactory beanFactory, AnnotatedElement injectionPoint) {
+        return isLazy(beanFactory, injectionPoint.getAnnotation(Lazy.class));
+    }
+
+    private static boolean isLazy(BeanFactory beanFactory, Lazy lazy) {
+        return lazy == null ? beanFactory.isLazyInit() : lazy.value();
+    }
+
     private static String getBeanName(MethodParameter methodParameter) {
         String name = methodParameter.getType().getName();
         Qualifier qualifier = methodParameter.getAnnotation(Qualifier.class);
@@ -63,7 +80,7 @@ public class BeanFactoryUtils {
     public static void injectField(BeanFactory beanFactory, Object instance, Field field) {
         try {
             String beanName = ReflectionUtils.getFieldBeanName(field);
-            Object value = beanFactory.getBean(beanName, field.getType());
+            Object value = resolveDependency(beanFactory, beanName, field.getType(), field.getAnnotation(Lazy.class));
             field.setAccessible(true);
             field.set(instance, value);
         } catch (IllegalAccessException e) {
@@ -1,38 +1,92 @@
 package core.di.beans.factory;
 
+import core.annotation.Lazy;
+import core.annotation.PoolConfig;
+import core.annotation.Scheduled;
+import core.annotation.Scope;
+import core.di.beans.factory.condition.ConditionEvaluator;
 import core.di.beans.factory.definition.BeanDefinition;
 import core.di.beans.factory.definition.BeanDefinitionRegistry;
+import core.di.beans.factory.definition.BeanDefinitionTypeIndex;
+import core.di.beans.factory.definition.FactoryBeanDefinition;
+import core.di.beans.factory.definition.MethodBeanDefinition;
 import core.di.beans.factory.initializer.*;
+import core.di.beans.factory.pool.BeanPool;
+import core.di.beans.factory.pool.PoolMetrics;
+import core.di.beans.factory.pool.PooledBeanProxyFactory;
 import core.di.beans.factory.processor.*;
+import core.di.beans.factory.startup.StartupStep;
+import core.di.beans.factory.startup.StartupTimeline;
 import core.util.OrderComparator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeanInstantiationException;
-import org.springframework.beans.factory.BeanInitializationException;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.BeanCurrentlyInCreationException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.util.ClassUtils;
 
+import javax.annotation.Nullable;
 import java.lang.annotation.Annotation;
-import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
-import java.util.Map;
-import java.util.Set;
+import java.lang.reflect.AnnotatedElement;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class DefaultBeanFactory implements BeanFactory, BeanDefinitionRegistry {
 
     private static final Logger logger = LoggerFactory.getLogger(DefaultBeanFactory.class);
 
-    private Map<String, BeanDefinition> beanDefinitions = new LinkedHashMap<>();
-    private Map<String, Object> beans = new LinkedHashMap<>();
+    public static final String PARALLELISM_PROPERTY = "core.di.parallelism";
+    public static final String LAZY_INIT_PROPERTY = "core.di.lazy-init";
+
+    private Map<String, BeanDefinition> beanDefinitions = new ConcurrentHashMap<>();
+    private List<String> beanDefinitionNames = new CopyOnWriteArrayList<>();
+    private BeanDefinitionTypeIndex beanDefinitionTypeIndex = new BeanDefinitionTypeIndex();
+    private AnnotatedBeanIndex annotatedBeanIndex = new AnnotatedBeanIndex();
+
+//    읽기는 beans 만 보고 lock 없이 끝난다. 생성 중인 빈만 creations 의 future 를 기다린다.
+    private Map<String, Object> beans = new ConcurrentHashMap<>();
+    private Map<String, BeanCreation> creations = new ConcurrentHashMap<>();
+    private Map<Thread, BeanCreation> waitingCreations = new ConcurrentHashMap<>();
+    private Map<String, BeanPool> beanPools = new ConcurrentHashMap<>();
+//    빈 생성은 read lock, refresh 는 write lock 을 잡는다. refresh 중에는 이전 BeanDefinition 으로 빈을 만들 수 없다.
+    private ReentrantReadWriteLock refreshLock = new ReentrantReadWriteLock();
+//    만든 순서의 역순으로 정리하도록 앞에 넣는다.
+    private Deque<String> disposableBeanNames = new ConcurrentLinkedDeque<>();
     private BeanInitializer beanInitializer;
 
     private BeanDefinitionPostProcessor beanDefinitionPostProcessor;
-    private BeanPostProcessor beanPostProcessor = new BeanPostProcessorComposite();
+    private volatile BeanPostProcessor beanPostProcessor = new BeanPostProcessorComposite();
+
+    private boolean lazyInit = Boolean.getBoolean(LAZY_INIT_PROPERTY);
+    private BeanDependencyGraph dependencyGraph;
+    private StartupTimeline startupTimeline = StartupTimeline.NONE;
+    private ConditionEvaluator conditionEvaluator = new ConditionEvaluator();
+
+//    이 팩토리에 없는 빈은 부모에서 찾는다. (DataSource, DAO 처럼 여러 컨텍스트가 공유하는 빈)
+    @Nullable
+    private final BeanFactory parentBeanFactory;
+    private Map<Class<? extends Annotation>, AncestorAnnotatedBeans> ancestorAnnotatedBeans = new ConcurrentHashMap<>();
 
     public DefaultBeanFactory() {
+        this(null);
+    }
+
+    public DefaultBeanFactory(@Nullable BeanFactory parentBeanFactory) {
+        this.parentBeanFactory = parentBeanFactory;
         initializeBeanDefinitionInitializer();
         initializeBeanDefinitionPostProcessor();
     }
 
+    @Nullable
+    public BeanFactory getParentBeanFactory() {
+        return parentBeanFactory;
+    }
+
     private void initializeBeanDefinitionInitializer() {
         ClassBeanDefinitionInitializer classBeanDefinitionInitializer = new ClassBeanDefinitionInitializer();
         MethodBeanDefinitionInitializer methodBeanDefinitionInitializer = new MethodBeanDefinitionInitializer();
@@ -51,27 +105,480 @@ public class DefaultBeanFactory implements BeanFactory, BeanDefinitionRegistry {
     }
 
     public void initialize() {
+        try (StartupStep ignored = startupTimeline.start("missing-bean-conditions")) {
+            evaluateMissingBeanConditions();
+        }
         initializeBeanPostProcessor();
-        this.beanDefinitions.values().forEach(this::instantiateBeanDefinition);
+
+        BeanDependencyGraph dependencyGraph;
+        try (StartupStep ignored = startupTimeline.start("dependency-graph")) {
+            dependencyGraph = createDependencyGraph();
+        }
+
+        instantiateDependencyGraph(dependencyGraph);
+    }
+
+//    @ConditionalOnMissingBean 은 모든 BeanDefinition 이 등록된 후, 등록 순서대로 판단한다.
+//    아직 판단하지 않은 다른 조건부 BeanDefinition 은 없는 것으로 본다.
+    private void evaluateMissingBeanConditions() {
+        List<BeanDefinition> candidates = getBeanDefinitionsInOrder().stream()
+                .filter(conditionEvaluator::hasMissingBeanCondition)
+                .collect(Collectors.toList());
+        Set<BeanDefinition> pending = new HashSet<>(candidates);
+
+        for (BeanDefinition candidate : candidates) {
+            pending.remove(candidate);
+
+            if(!conditionEvaluator.matchesMissingBean(candidate, type -> containsBean(type, candidate, pending), startupTimeline)) {
+                removeDefinition(candidate.getName());
+            }
+        }
+    }
+
+    private boolean containsBean(Class<?> type, BeanDefinition self, Set<BeanDefinition> pending) {
+        boolean local = beanDefinitionTypeIndex.getAssignableDefinitions(type).stream()
+                .anyMatch(beanDefinition -> beanDefinition != self && !pending.contains(beanDefinition));
+
+        if(local || parentBeanFactory == null) {
+            return local;
+        }
+
+        try {
+            return parentBeanFactory.getBean(type) != null;
+        } catch (BeansException e) {
+            return true;
+        }
+    }
+
+    private BeanDependencyGraph createDependencyGraph() {
+        List<BeanDefinition> definitions = getBeanDefinitionsInOrder().stream()
+                .filter(beanDefinition -> !isLazy(beanDefinition))
+                .collect(Collectors.toList());
+
+        return new BeanDependencyGraph(definitions, this::resolveBeanDefinition,
+                injectionPoint -> BeanFactoryUtils.isLazyInjection(this, injectionPoint));
+    }
+
+    private void instantiateDependencyGraph(BeanDependencyGraph dependencyGraph) {
+        this.dependencyGraph = dependencyGraph;
+
+        try (StartupStep ignored = startupTimeline.start("instantiate-beans")) {
+            instantiateInOrder(dependencyGraph);
+        }
+    }
+
+    private void instantiateInOrder(BeanDependencyGraph dependencyGraph) {
+        List<BeanDefinition> sorted = dependencyGraph.sort();
+
+        int parallelism = Integer.getInteger(PARALLELISM_PROPERTY, Runtime.getRuntime().availableProcessors());
+
+        if(parallelism <= 1) {
+            sorted.forEach(this::instantiateBeanDefinition);
+            return;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            instantiateInParallel(sorted, dependencyGraph, dependencyGraph.getBeanDefinitions(), pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * 바뀐 BeanDefinition 과 그 빈에 (직접, 간접적으로) 의존하는 빈만 다시 만든다.
+     * 나머지 싱글톤과 pooled 빈의 풀은 그대로 두고, 다시 만든 빈 이름을 돌려준다.
+     */
+    public synchronized Set<String> refresh(Set<String> removedBeanNames, Collection<BeanDefinition> changedDefinitions) {
+        refreshLock.writeLock().lock();
+        try {
+            return doRefresh(removedBeanNames, changedDefinitions);
+        } finally {
+            refreshLock.writeLock().unlock();
+        }
+    }
+
+    private Set<String> doRefresh(Set<String> removedBeanNames, Collection<BeanDefinition> changedDefinitions) {
+        Set<String> changedBeanNames = new LinkedHashSet<>(removedBeanNames);
+        changedDefinitions.forEach(beanDefinition -> changedBeanNames.add(beanDefinition.getName()));
+
+//        이전 연결 (삭제된 빈에 의존하던 빈) 과 새 연결 모두에서 의존하는 빈을 찾는다.
+        Set<String> affectedBeanNames = findDependents(changedBeanNames);
+        Set<String> createdBeanNames = affectedBeanNames.stream()
+                .filter(beans::containsKey)
+                .collect(Collectors.toSet());
+
+//        BeanDefinition 을 먼저 바꾸고 나서 빈을 정리한다.
+        removedBeanNames.forEach(this::removeDefinition);
+        changedDefinitions.forEach(this::registerDefinition);
+        affectedBeanNames.forEach(this::destroyBean);
+        affectedBeanNames.addAll(findDependents(changedBeanNames));
+
+        List<BeanDefinition> definitions = affectedBeanNames.stream()
+                .map(this::getBeanDefinition)
+                .filter(Objects::nonNull)
+                .filter(beanDefinition -> createdBeanNames.contains(beanDefinition.getName()) || !isLazy(beanDefinition))
+                .collect(Collectors.toList());
+
+        if(definitions.stream().anyMatch(beanDefinition -> BeanPostProcessor.class.isAssignableFrom(beanDefinition.getType()))) {
+            initializeBeanPostProcessor();
+        }
+
+        new BeanDependencyGraph(definitions, this::resolveBeanDefinition, injectionPoint -> BeanFactoryUtils.isLazyInjection(this, injectionPoint))
+                .sort()
+                .forEach(this::instantiateBeanDefinition);
+        this.dependencyGraph = createDependencyGraph();
+
+        logger.info("refreshed {} beans: {}", affectedBeanNames.size(), affectedBeanNames);
+        return affectedBeanNames;
+    }
+
+    private Set<String> findDependents(Set<String> beanNames) {
+        BeanDependencyGraph graph = new BeanDependencyGraph(getBeanDefinitionsInOrder(), this::resolveBeanDefinition,
+                injectionPoint -> BeanFactoryUtils.isLazyInjection(this, injectionPoint));
+
+        Map<String, Set<String>> dependents = new HashMap<>();
+        for (BeanDefinition beanDefinition : graph.getBeanDefinitions()) {
+            for (BeanDefinition dependency : graph.getDependencies(beanDefinition)) {
+                dependents.computeIfAbsent(dependency.getName(), name -> new LinkedHashSet<>()).add(beanDefinition.getName());
+            }
+        }
+
+        Set<String> found = new LinkedHashSet<>();
+        Deque<String> queue = new ArrayDeque<>(beanNames);
+        while(!queue.isEmpty()) {
+            String beanName = queue.poll();
+            if(found.add(beanName)) {
+                queue.addAll(dependents.getOrDefault(beanName, Collections.emptySet()));
+            }
+        }
+
+        return found;
+    }
+
+    private void destroyBean(String beanName) {
+        Object bean = beans.remove(beanName);
+        if(bean != null && disposableBeanNames.remove(beanName)) {
+            disposeBean(beanName, bean);
+        }
+        beanPools.remove(beanName);
+        annotatedBeanIndex.remove(beanName);
+
+        BeanDefinition beanDefinition = beanDefinitions.get(beanName);
+        if(beanDefinition != null) {
+            annotatedBeanIndex.addDefinition(beanDefinition);
+        }
+    }
+
+    /**
+     * 만든 빈을 만든 순서의 역순으로 정리한다. DisposableBean 은 destroy 를 호출하고, ExecutorService 는 shutdown 한다.
+     * 부모 팩토리의 빈은 정리하지 않는다.
+     */
+    public synchronized void destroySingletons() {
+        String beanName;
+        while((beanName = disposableBeanNames.pollFirst()) != null) {
+            Object bean = beans.get(beanName);
+            if(bean != null) {
+                disposeBean(beanName, bean);
+            }
+        }
+    }
+
+    private boolean isDisposable(Object bean) {
+        return bean instanceof DisposableBean || bean instanceof ExecutorService;
+    }
+
+//    하나가 실패해도 나머지 빈은 계속 정리한다.
+    private void disposeBean(String beanName, Object bean) {
+        try {
+            if(bean instanceof DisposableBean) {
+                ((DisposableBean) bean).destroy();
+            } else {
+                ((ExecutorService) bean).shutdown();
+            }
+            logger.debug("destroyed {}", beanName);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("interrupted while destroying {}", beanName, e);
+        } catch (Exception e) {
+            logger.warn("cannot destroy {}", beanName, e);
+        }
+    }
+
+    public synchronized void removeDefinition(String beanName) {
+        BeanDefinition removed = beanDefinitions.remove(beanName);
+        if(removed == null) {
+            return;
+        }
+
+        beanDefinitionNames.remove(beanName);
+        beanDefinitionTypeIndex.remove(removed);
+        destroyBean(beanName);
+
+        logger.info("removed {}", removed);
+    }
+
+    @Nullable
+    public BeanDependencyGraph getDependencyGraph() {
+        return dependencyGraph;
+    }
+
+//    @Scheduled 메소드가 있는 빈은 아무도 조회하지 않으면 실행되지 않으므로 lazy 기본값을 따르지 않는다.
+    private boolean isLazy(BeanDefinition beanDefinition) {
+        Lazy lazy = getDefinitionAnnotation(beanDefinition, Lazy.class);
+        if(lazy != null) {
+            return lazy.value();
+        }
+
+        return lazyInit && !BeanClassMetadata.forClass(beanDefinition.getType()).hasAnnotatedMethods(Scheduled.class);
+    }
+
+    private boolean isPooled(BeanDefinition beanDefinition) {
+        Scope scope = getDefinitionAnnotation(beanDefinition, Scope.class);
+        return scope != null && Scope.POOLED.equals(scope.value());
+    }
+
+//    클래스 빈은 클래스, @Bean 은 메소드에 붙은 어노테이션을 본다.
+    @Nullable
+    private <A extends Annotation> A getDefinitionAnnotation(BeanDefinition beanDefinition, Class<A> annotationType) {
+        if(beanDefinition instanceof FactoryBeanDefinition) {
+            return getDefinitionAnnotation(((FactoryBeanDefinition) beanDefinition).getBeanDefinition(), annotationType);
+        }
+
+        AnnotatedElement element = beanDefinition instanceof MethodBeanDefinition
+                ? ((MethodBeanDefinition) beanDefinition).getMethod()
+                : beanDefinition.getType();
+
+        return element.getAnnotation(annotationType);
+    }
+
+    @Override
+    public boolean isLazyInit() {
+        return lazyInit;
+    }
+
+    public void setLazyInit(boolean lazyInit) {
+        this.lazyInit = lazyInit;
+    }
+
+    @Override
+    public StartupTimeline getStartupTimeline() {
+        return startupTimeline;
+    }
+
+    public void setStartupTimeline(StartupTimeline startupTimeline) {
+        this.startupTimeline = startupTimeline;
+    }
+
+    public ConditionEvaluator getConditionEvaluator() {
+        return conditionEvaluator;
+    }
+
+//    의존하는 빈이 모두 만들어지면 바로 pool 에 제출한다. 의존하는 빈이 실패하면 생성하지 않는다.
+    private void instantiateInParallel(List<BeanDefinition> sorted, BeanDependencyGraph dependencyGraph, List<BeanDefinition> definitions, Executor executor) {
+        Map<BeanDefinition, CompletableFuture<Object>> futures = new HashMap<>();
+        Map<BeanDefinition, Throwable> failures = new ConcurrentHashMap<>();
+
+        for (BeanDefinition beanDefinition : sorted) {
+            CompletableFuture<?>[] dependencies = dependencyGraph.getDependencies(beanDefinition).stream()
+                    .map(futures::get)
+                    .toArray(CompletableFuture[]::new);
+
+            futures.put(beanDefinition, CompletableFuture.allOf(dependencies).thenApplyAsync(ignored -> {
+                try {
+                    return instantiateBeanDefinition(beanDefinition);
+                } catch (RuntimeException | Error e) {
+                    failures.put(beanDefinition, e);
+                    throw e;
+                }
+            }, executor));
+        }
+
+        CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0]))
+                .handle((result, e) -> null)
+                .join();
+
+        if(!failures.isEmpty()) {
+            throwFirstFailure(failures, definitions);
+        }
+    }
+
+//    스레드 실행 순서와 관계없이 가장 먼저 등록된 빈의 실패를 던지고, 나머지는 suppressed 로 붙인다.
+    private void throwFirstFailure(Map<BeanDefinition, Throwable> failures, List<BeanDefinition> definitions) {
+        List<Throwable> ordered = definitions.stream()
+                .map(failures::get)
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+
+        Throwable first = ordered.get(0);
+        ordered.subList(1, ordered.size()).forEach(first::addSuppressed);
+
+        if(first instanceof Error) {
+            throw (Error) first;
+        }
+        throw (RuntimeException) first;
+    }
+
+//    getBean(name, type) 과 같은 순서(이름, 타입, 상위 타입)로 찾고 하나로 정해지지 않으면 null
+    @Nullable
+    private BeanDefinition resolveBeanDefinition(String name, Class<?> type) {
+        BeanDefinition beanDefinition = getBeanDefinition(name);
+        if(beanDefinition != null) {
+            return beanDefinition;
+        }
+
+        Set<BeanDefinition> typeBeanDefinitions = beanDefinitionTypeIndex.getExactTypeDefinitions(type);
+        if(!typeBeanDefinitions.isEmpty()) {
+            return typeBeanDefinitions.size() == 1 ? typeBeanDefinitions.iterator().next() : null;
+        }
+
+        Set<BeanDefinition> implBeanDefinitions = beanDefinitionTypeIndex.getAssignableDefinitions(type);
+        return implBeanDefinitions.size() == 1 ? implBeanDefinitions.iterator().next() : null;
     }
 
-//    BeanFactory를 사용하기 때문에 BeanDefinition이 모두 등록된 후 호출해야함.
+//    BeanPostProcessor 도 빈이기 때문에 BeanDefinition이 모두 등록된 후 호출해야함.
+//    processor 와 processor 가 의존하는 빈은 먼저 만들어지므로 post process 되지 않는다.
     private void initializeBeanPostProcessor() {
-        this.beanPostProcessor = new BeanPostProcessorComposite(
-                new TransactionBeanPostProcessor(this)
-        );
+        try (StartupStep ignored = startupTimeline.start("bean-post-processors")) {
+            BeanPostProcessor[] beanPostProcessors = beanDefinitionTypeIndex.getAssignableDefinitions(BeanPostProcessor.class).stream()
+                    .map(this::instantiateBeanDefinition)
+                    .sorted(OrderComparator.INSTANCE)
+                    .toArray(BeanPostProcessor[]::new);
+
+            this.beanPostProcessor = new BeanPostProcessorComposite(startupTimeline, beanPostProcessors);
+        }
     }
 
     private Object instantiateBeanDefinition(BeanDefinition beanDefinition) {
-        if(beans.get(beanDefinition.getName()) != null) {
-            return beans.get(beanDefinition.getName());
+        Object bean = beans.get(beanDefinition.getName());
+        if(bean != null) {
+            return bean;
+        }
+
+        refreshLock.readLock().lock();
+        try {
+            return doInstantiateBeanDefinition(beanDefinition);
+        } finally {
+            refreshLock.readLock().unlock();
+        }
+    }
+
+//    refresh 를 기다리는 동안 BeanDefinition 이 바뀌거나 지워졌을 수 있으므로 지금 등록된 BeanDefinition 으로 만든다.
+    private Object doInstantiateBeanDefinition(BeanDefinition beanDefinition) {
+        BeanDefinition registered = beanDefinitions.get(beanDefinition.getName());
+        if(registered == null) {
+            throw new BeanCreationException(beanDefinition.getName(), "bean definition was removed");
+        }
+        beanDefinition = registered;
+
+        BeanCreation creation = new BeanCreation(beanDefinition.getName());
+        BeanCreation inProgress = creations.putIfAbsent(beanDefinition.getName(), creation);
+
+        if(inProgress != null) {
+            return awaitCreation(inProgress);
+        }
+
+        try {
+            Object instance = createBean(beanDefinition);
+            creation.future.complete(instance);
+            return instance;
+        } catch (RuntimeException | Error e) {
+            creation.future.completeExceptionally(e);
+            throw e;
+        } finally {
+            creations.remove(beanDefinition.getName(), creation);
+        }
+    }
+
+    private Object createBean(BeanDefinition beanDefinition) {
+//        putIfAbsent 사이에 다른 스레드가 생성을 끝냈을 수 있다.
+        Object bean = beans.get(beanDefinition.getName());
+        if(bean != null) {
+            return bean;
+        }
+
+        try (StartupStep ignored = startupTimeline.start("bean", beanDefinition.getName())) {
+            boolean pooled = isPooled(beanDefinition);
+            Object instance = pooled ? createPooledBean(beanDefinition) : doCreateBean(beanDefinition);
+            beans.put(beanDefinition.getName(), instance);
+            if(!pooled && isDisposable(instance)) {
+                disposableBeanNames.addFirst(beanDefinition.getName());
+            }
+            annotatedBeanIndex.addBean(beanDefinition, instance);
+
+            return instance;
+        }
+    }
+
+    private Object doCreateBean(BeanDefinition beanDefinition) {
+        Object instance;
+        try (StartupStep ignored = startupTimeline.start("instantiate", beanDefinition.getName())) {
+            instance = beanInitializer.instantiate(beanDefinition, this);
         }
 
-        Object instance = beanInitializer.instantiate(beanDefinition, this);
-        instance = applyBeanPostProcessors(beanDefinition, instance);
-        beans.put(beanDefinition.getName(), instance);
+        if(instance instanceof BeanFactoryAware) {
+            ((BeanFactoryAware) instance).setBeanFactory(this);
+        }
 
-        return instance;
+        return applyBeanPostProcessors(beanDefinition, instance);
+    }
+
+//    pooled 빈은 싱글톤 자리에 프록시를 두고, 실제 인스턴스는 호출마다 풀에서 빌린다.
+    private Object createPooledBean(BeanDefinition beanDefinition) {
+        PoolConfig poolConfig = getDefinitionAnnotation(beanDefinition, PoolConfig.class);
+        if(poolConfig == null) {
+            poolConfig = DefaultPoolConfig.class.getAnnotation(PoolConfig.class);
+        }
+
+        BeanPool beanPool = new BeanPool(beanDefinition.getName(), () -> doCreateBean(beanDefinition),
+                poolConfig.maxSize(), poolConfig.maxIdleMillis(), poolConfig.maxWaitMillis());
+        beanPools.put(beanDefinition.getName(), beanPool);
+
+        return PooledBeanProxyFactory.getProxy(beanDefinition.getType(), beanPool);
+    }
+
+    @Nullable
+    public PoolMetrics getPoolMetrics(String beanName) {
+        BeanPool beanPool = beanPools.get(beanName);
+        return beanPool == null ? null : beanPool.getMetrics();
+    }
+
+    private Object awaitCreation(BeanCreation creation) {
+        if(creation.owner == Thread.currentThread() || isWaitingForCurrentThread(creation)) {
+            throw new BeanCurrentlyInCreationException(creation.beanName);
+        }
+
+        waitingCreations.put(Thread.currentThread(), creation);
+
+        try {
+            if(isWaitingForCurrentThread(creation)) {
+                throw new BeanCurrentlyInCreationException(creation.beanName);
+            }
+
+            return creation.future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException
+                    ? (RuntimeException) e.getCause()
+                    : new BeanCreationException(creation.beanName, "bean creation failed in another thread", e.getCause());
+        } finally {
+            waitingCreations.remove(Thread.currentThread());
+        }
+    }
+
+//    다른 스레드가 생성 중인 빈끼리 서로를 기다리면 순환 참조이므로 데드락 대신 예외를 던진다.
+    private boolean isWaitingForCurrentThread(BeanCreation creation) {
+        Set<Thread> visited = new HashSet<>();
+        BeanCreation current = creation;
+
+        while(current != null && visited.add(current.owner)) {
+            if(current.owner == Thread.currentThread()) {
+                return true;
+            }
+            current = waitingCreations.get(current.owner);
+        }
+
+        return false;
     }
 
     @Override
@@ -86,6 +593,21 @@ public class DefaultBeanFactory implements BeanFactory, BeanDefinitionRegistry {
 
     @Override
     public <T> T getBean(String name, Class<T> requiredType) {
+        T bean = doGetBean(name, requiredType);
+
+        if(bean != null || parentBeanFactory == null) {
+            return bean;
+        }
+
+        return parentBeanFactory.getBean(name, requiredType);
+    }
+
+    @Override
+    public boolean containsBean(String name) {
+        return beanDefinitions.containsKey(name) || (parentBeanFactory != null && parentBeanFactory.containsBean(name));
+    }
+
+    private <T> T doGetBean(String name, Class<T> requiredType) {
         T bean = (T) doGetBeanByName(name);
         if(bean != null) {
             return bean;
@@ -100,6 +622,10 @@ public class DefaultBeanFactory implements BeanFactory, BeanDefinitionRegistry {
     }
 
     private Object doGetBeanByName(String name) {
+        if(name == null) {
+            return null;
+        }
+
         Object bean = beans.get(name);
 
         if(bean != null) {
@@ -126,17 +652,11 @@ public class DefaultBeanFactory implements BeanFactory, BeanDefinitionRegistry {
             return null;
         }
 
-        return beans.values().stream()
-                .filter(instance -> requiredType.equals(instance.getClass()))
-                .map(bean -> (T) bean)
-                .findFirst()
-                .orElse((T) instantiateBeanDefinition(typeBeanDefinitions.iterator().next()));
+        return (T) instantiateBeanDefinition(typeBeanDefinitions.iterator().next());
     }
 
     private <T> T doGetBeanByInterface(Class<?> requiredType) {
-        Set<BeanDefinition> implBeanDefinitions = beanDefinitions.values().stream()
-                .filter(beanDefinition -> requiredType.isAssignableFrom(beanDefinition.getType()))
-                .collect(Collectors.toSet());
+        Set<BeanDefinition> implBeanDefinitions = beanDefinitionTypeIndex.getAssignableDefinitions(requiredType);
 
         if(implBeanDefinitions.size() >= 2) {
             throw new BeanInstantiationException(requiredType, requiredType.getName() + " need @Qualifier annotation to inject");
@@ -146,11 +666,7 @@ public class DefaultBeanFactory implements BeanFactory, BeanDefinitionRegistry {
             return null;
         }
 
-        return beans.values().stream()
-                .filter(instance -> requiredType.isAssignableFrom(instance.getClass()))
-                .map(bean -> (T) bean)
-                .findFirst()
-                .orElse((T) instantiateBeanDefinition(implBeanDefinitions.iterator().next()));
+        return (T) instantiateBeanDefinition(implBeanDefinitions.iterator().next());
     }
 
     private Object applyBeanPostProcessors(BeanDefinition beanDefinition, Object bean) {
@@ -161,42 +677,176 @@ public class DefaultBeanFactory implements BeanFactory, BeanDefinitionRegistry {
         }
     }
 
+//    아직 만들지 않은 (lazy) 빈도 어노테이션이 붙어 있으면 지금 만든다. 인덱스의 배열은 공유되므로 복사해서 돌려준다.
     @Override
     public Object[] getAnnotatedBeans(Class<? extends Annotation> annotation) {
-        return beans.values().stream()
-                .filter(obj -> obj.getClass().isAnnotationPresent(annotation))
-                .sorted(OrderComparator.INSTANCE)
-                .collect(Collectors.toCollection(LinkedHashSet::new))
-                .toArray(new Object[] {});
+        return findAnnotatedBeans(annotation).clone();
+    }
+
+    private Object[] findAnnotatedBeans(Class<? extends Annotation> annotation) {
+        Set<String> pendingBeanNames = annotatedBeanIndex.getPendingBeanNames(annotation);
+
+        if(!pendingBeanNames.isEmpty()) {
+            new ArrayList<>(pendingBeanNames).stream()
+                    .map(beanDefinitions::get)
+                    .filter(Objects::nonNull)
+                    .forEach(this::instantiateBeanDefinition);
+        }
+
+        Object[] annotatedBeans = annotatedBeanIndex.getBeans(annotation);
+
+        if(parentBeanFactory == null) {
+            return annotatedBeans;
+        }
+
+        return getAnnotatedBeansIncludingAncestors(annotation, annotatedBeans);
+    }
+
+//    부모의 빈은 자식에 같은 클래스의 빈이 없을 때만 넣는다. 두 배열의 빈이 바뀌지 않았으면 합친 결과를 다시 쓴다.
+    private Object[] getAnnotatedBeansIncludingAncestors(Class<? extends Annotation> annotation, Object[] annotatedBeans) {
+        Object[] parentBeans = parentBeanFactory.getAnnotatedBeans(annotation);
+        if(parentBeans == null || parentBeans.length == 0) {
+            return annotatedBeans;
+        }
+
+        AncestorAnnotatedBeans cached = ancestorAnnotatedBeans.get(annotation);
+        if(cached != null && cached.beans == annotatedBeans && containsSameBeans(cached.parentBeans, parentBeans)) {
+            return cached.merged;
+        }
+
+        Set<Class<?>> types = Arrays.stream(annotatedBeans)
+                .map(ClassUtils::getUserClass)
+                .collect(Collectors.toSet());
+
+        Object[] merged = Stream.concat(Arrays.stream(annotatedBeans), Arrays.stream(parentBeans).filter(bean -> !types.contains(ClassUtils.getUserClass(bean))))
+                .sorted(Comparator.comparingInt(bean -> OrderComparator.getOrder(ClassUtils.getUserClass(bean))))
+                .toArray();
+
+        ancestorAnnotatedBeans.put(annotation, new AncestorAnnotatedBeans(annotatedBeans, parentBeans, merged));
+        return merged;
+    }
+
+    private boolean containsSameBeans(Object[] beans, Object[] otherBeans) {
+        if(beans.length != otherBeans.length) {
+            return false;
+        }
+
+        for (int i = 0; i < beans.length; i++) {
+            if(beans[i] != otherBeans[i]) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
-    public void registerDefinition(BeanDefinition beanDefinition) {
-        BeanDefinition duplicated = this.beanDefinitions.get(beanDefinition.getName());
-        if(duplicated != null && !beanDefinition.getName().equals(duplicated.getName())) {
-            throw new BeanInitializationException("bean name '" + beanDefinition.getName() + "' is duplicated");
+    public <T> List<T> getBeansOfType(Class<T> type) {
+        List<T> beans = new ArrayList<>();
+        for (BeanDefinition beanDefinition : new ArrayList<>(beanDefinitionTypeIndex.getAssignableDefinitions(type))) {
+            T bean = doGetBean(beanDefinition.getName(), type);
+            if(bean != null) {
+                beans.add(bean);
+            }
         }
 
-        BeanDefinition definition = beanDefinition;
+        if(parentBeanFactory == null) {
+            return beans;
+        }
+
+        Set<Class<?>> types = beans.stream()
+                .map(ClassUtils::getUserClass)
+                .collect(Collectors.toSet());
+        parentBeanFactory.getBeansOfType(type).stream()
+                .filter(bean -> !types.contains(ClassUtils.getUserClass(bean)))
+                .forEach(beans::add);
+        return beans;
+    }
 
-        if(beanDefinitionPostProcessor.support(beanDefinition)) {
-            definition = beanDefinitionPostProcessor.process(beanDefinition);
+    @Override
+    public synchronized void registerDefinition(BeanDefinition beanDefinition) {
+        try (StartupStep ignored = startupTimeline.start("register", beanDefinition.getName())) {
+            if(!conditionEvaluator.matches(beanDefinition, startupTimeline)) {
+                return;
+            }
+
+            registerProcessedDefinition(postProcessDefinition(beanDefinition));
         }
+    }
 
-        this.beanDefinitions.put(definition.getName(), definition);
+    private BeanDefinition postProcessDefinition(BeanDefinition beanDefinition) {
+        if(!beanDefinitionPostProcessor.support(beanDefinition)) {
+            return beanDefinition;
+        }
 
-        logger.info("registered {}", beanDefinition);
+        try (StartupStep ignored = startupTimeline.start("definition-post-process", beanDefinition.getName())) {
+            return beanDefinitionPostProcessor.process(beanDefinition);
+        }
+    }
+
+//    BeanDefinitionPostProcessor 를 이미 거친 BeanDefinition 을 그대로 등록한다.
+//    같은 이름의 BeanDefinition 이 있으면 바꾸고, 이전 BeanDefinition 으로 만든 빈도 인덱스와 함께 정리한다.
+    private synchronized void registerProcessedDefinition(BeanDefinition definition) {
+        BeanDefinition replaced = this.beanDefinitions.put(definition.getName(), definition);
+        if(replaced == null) {
+            beanDefinitionNames.add(definition.getName());
+            beanDefinitionTypeIndex.add(definition);
+            annotatedBeanIndex.addDefinition(definition);
+
+            logger.info("registered {}", definition);
+            return;
+        }
+
+        beanDefinitionTypeIndex.remove(replaced);
+        beanDefinitionTypeIndex.add(definition);
+        destroyBean(definition.getName());
+
+        logger.info("replaced {} with {}", replaced, definition);
     }
 
     @Override
     public Set<BeanDefinition> getBeanDefinitions(Class<?> type) {
-        return this.beanDefinitions.values().stream()
-                .filter(beanDefinition -> type.equals(beanDefinition.getType()))
-                .collect(Collectors.toCollection(LinkedHashSet::new));
+        return Collections.unmodifiableSet(beanDefinitionTypeIndex.getExactTypeDefinitions(type));
+    }
+
+    @Override
+    public Set<BeanDefinition> getBeanDefinitions() {
+        return new LinkedHashSet<>(getBeanDefinitionsInOrder());
+    }
+
+    private List<BeanDefinition> getBeanDefinitionsInOrder() {
+        return this.beanDefinitionNames.stream()
+                .map(beanDefinitions::get)
+                .collect(Collectors.toList());
     }
 
     @Override
     public BeanDefinition getBeanDefinition(String name) {
-        return this.beanDefinitions.get(name);
+        return name == null ? null : this.beanDefinitions.get(name);
+    }
+
+    @PoolConfig
+    private static class DefaultPoolConfig {
+    }
+
+    private static class AncestorAnnotatedBeans {
+        private final Object[] beans;
+        private final Object[] parentBeans;
+        private final Object[] merged;
+
+        private AncestorAnnotatedBeans(Object[] beans, Object[] parentBeans, Object[] merged) {
+            this.beans = beans;
+            this.parentBeans = parentBeans;
+            this.merged = merged;
+        }
+    }
+
+    private static class BeanCreation {
+        private final String beanName;
+        private final Thread owner = Thread.currentThread();
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+
+        private BeanCreation(String beanName) {
+            this.beanName = beanName;
+        }
     }
 }
@@ -0,0 +1,93 @@
+package core.di.beans.factory;
+
+import net.sf.cglib.proxy.Callback;
+import net.sf.cglib.proxy.Enhancer;
+import net.sf.cglib.proxy.Factory;
+import net.sf.cglib.proxy.MethodInterceptor;
+import net.sf.cglib.proxy.MethodProxy;
+import org.springframework.objenesis.ObjenesisHelper;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+
+/**
+ * 처음 호출될 때 BeanFactory 에서 빈을 찾아 위임하는 프록시를 만든다.
+ * 인터페이스는 JDK 프록시, 클래스는 CGLIB 프록시를 사용하고 프록시를 만들 수 없는 타입은 바로 빈을 찾는다.
+ *
+ * @author KingCjy
+ */
+public class LazyBeanProxyFactory {
+
+    private LazyBeanProxyFactory() { }
+
+    public static Object getProxy(BeanFactory beanFactory, String beanName, Class<?> type) {
+        LazyTargetSource targetSource = new LazyTargetSource(beanFactory, beanName, type);
+
+        if(type.isInterface()) {
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class[] {type}, targetSource);
+        }
+
+        if(!isProxyable(type)) {
+            return targetSource.getTarget();
+        }
+
+        Enhancer enhancer = new Enhancer();
+        enhancer.setSuperclass(type);
+        enhancer.setCallbackType(MethodInterceptor.class);
+
+        Factory proxy = (Factory) ObjenesisHelper.newInstance(enhancer.createClass());
+        proxy.setCallbacks(new Callback[] {targetSource});
+        return proxy;
+    }
+
+    private static boolean isProxyable(Class<?> type) {
+        return !type.isPrimitive() && !type.isArray() && !Modifier.isFinal(type.getModifiers()) && type != Object.class;
+    }
+
+    private static class LazyTargetSource implements InvocationHandler, MethodInterceptor {
+
+        private final BeanFactory beanFactory;
+        private final String beanName;
+        private final Class<?> type;
+
+        private volatile Object target;
+
+        private LazyTargetSource(BeanFactory beanFactory, String beanName, Class<?> type) {
+            this.beanFactory = beanFactory;
+            this.beanName = beanName;
+            this.type = type;
+        }
+
+//        빈 생성 자체는 BeanFactory 가 한번만 하기 때문에 여기서는 찾은 빈을 기억만 한다.
+        private Object getTarget() {
+            Object target = this.target;
+
+            if(target == null) {
+                target = beanFactory.getBean(beanName, type);
+                if(target == null) {
+                    throw new IllegalStateException("lazy bean '" + beanName + "' of type " + type.getName() + " not found");
+                }
+                this.target = target;
+            }
+
+            return target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(getTarget(), args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+
+        @Override
+        public Object intercept(Object proxy, Method method, Object[] args, MethodProxy methodProxy) throws Throwable {
+            return methodProxy.invoke(getTarget(), args);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package core.di.beans.factory.condition;
+
+import core.annotation.ConditionalOnClass;
+import core.annotation.ConditionalOnMissingBean;
+import core.annotation.ConditionalOnProperty;
+import core.di.beans.factory.definition.BeanDefinition;
+import core.di.beans.factory.definition.FactoryBeanDefinition;
+import core.di.beans.factory.definition.MethodBeanDefinition;
+import core.di.beans.factory.startup.StartupStep;
+import core.di.beans.factory.startup.StartupTimeline;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.AnnotatedElement;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * BeanDefinition 에 붙은 @ConditionalOnProperty, @ConditionalOnClass, @ConditionalOnMissingBean 을 판단한다.
+ * 빈을 만들기 전에 판단하기 때문에 조건에 맞지 않는 빈은 클래스 로딩 외에 비용이 없다.
+ * @Bean 은 메소드와 설정 클래스의 조건을 모두 만족해야 한다.
+ *
+ * @author KingCjy
+ */
+public class ConditionEvaluator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConditionEvaluator.class);
+
+    private final ClassLoader classLoader;
+
+    public ConditionEvaluator() {
+        this(ClassUtils.getDefaultClassLoader());
+    }
+
+    public ConditionEvaluator(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+//    등록할 때 판단할 수 있는 조건 (프로퍼티, 클래스)
+    public boolean matches(BeanDefinition beanDefinition, StartupTimeline startupTimeline) {
+        for (AnnotatedElement element : getAnnotatedElements(beanDefinition)) {
+            ConditionalOnProperty onProperty = element.getAnnotation(ConditionalOnProperty.class);
+            if(onProperty != null && !record(beanDefinition, onProperty, matches(onProperty), startupTimeline)) {
+                return false;
+            }
+
+            ConditionalOnClass onClass = element.getAnnotation(ConditionalOnClass.class);
+            if(onClass != null && !record(beanDefinition, onClass, matches(onClass), startupTimeline)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public boolean hasMissingBeanCondition(BeanDefinition beanDefinition) {
+        return getAnnotatedElements(beanDefinition).stream()
+                .anyMatch(element -> element.isAnnotationPresent(ConditionalOnMissingBean.class));
+    }
+
+    /**
+     * @param beanExists 자기 자신을 제외하고 해당 타입의 빈이 있는지
+     */
+    public boolean matchesMissingBean(BeanDefinition beanDefinition, Predicate<Class<?>> beanExists, StartupTimeline startupTimeline) {
+        for (AnnotatedElement element : getAnnotatedElements(beanDefinition)) {
+            ConditionalOnMissingBean onMissingBean = element.getAnnotation(ConditionalOnMissingBean.class);
+            if(onMissingBean == null) {
+                continue;
+            }
+
+            Class<?>[] types = onMissingBean.value().length == 0 ? new Class<?>[] { beanDefinition.getType() } : onMissingBean.value();
+            boolean matched = Arrays.stream(types).noneMatch(beanExists);
+
+            if(!record(beanDefinition, onMissingBean, matched, startupTimeline)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private boolean matches(ConditionalOnProperty onProperty) {
+        String value = System.getProperty(onProperty.name());
+
+        if(value == null) {
+            return onProperty.matchIfMissing();
+        }
+
+        if(onProperty.havingValue().isEmpty()) {
+            return !"false".equalsIgnoreCase(value);
+        }
+
+        return onProperty.havingValue().equalsIgnoreCase(value);
+    }
+
+    private boolean matches(ConditionalOnClass onClass) {
+        return Arrays.stream(onClass.value())
+                .allMatch(className -> ClassUtils.isPresent(className, classLoader));
+    }
+
+    private boolean record(BeanDefinition beanDefinition, Object condition, boolean matched, StartupTimeline startupTimeline) {
+        try (StartupStep step = startupTimeline.start("condition", beanDefinition.getName())) {
+            step.attribute("condition", condition).attribute("matched", matched);
+        }
+
+        if(!matched) {
+            logger.info("skip {}, condition {} did not match", beanDefinition.getName(), condition);
+        }
+
+        return matched;
+    }
+
+    private List<AnnotatedElement> getAnnotatedElements(BeanDefinition beanDefinition) {
+        if(beanDefinition instanceof FactoryBeanDefinition) {
+            return getAnnotatedElements(((FactoryBeanDefinition) beanDefinition).getBeanDefinition());
+        }
+
+        if(beanDefinition instanceof MethodBeanDefinition) {
+            MethodBeanDefinition methodBeanDefinition = (MethodBeanDefinition) beanDefinition;
+            return Arrays.asList(methodBeanDefinition.getParentType(), methodBeanDefinition.getMethod());
+        }
+
+        return Collections.singletonList(beanDefinition.getType());
+    }
+}
@@ -13,4 +13,6 @@ public interface BeanDefinitionRegistry {
     BeanDefinition getBeanDefinition(String name);
 
     Set<BeanDefinition> getBeanDefinitions(Class<?> type);
+
+    Set<BeanDefinition> getBeanDefinitions();
 }
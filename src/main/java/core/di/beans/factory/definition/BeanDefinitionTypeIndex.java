@@ -0,0 +1,132 @@
+package core.di.beans.factory.definition;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * BeanDefinition 을 타입별로 찾기 위한 인덱스
+ * 등록할 때 타입과 모든 상위 클래스, 인터페이스를 key 로 미리 넣어두고 조회는 map lookup 으로 끝낸다.
+ * 값은 등록 순서로 정렬된 concurrent set 이라 등록은 복사 없이 O(log n) 이고, 조회는 lock 없이 요청 스레드에서 해도 된다.
+ *
+ * @author KingCjy
+ */
+public class BeanDefinitionTypeIndex {
+
+    private final Map<Class<?>, DefinitionSet> exactTypes = new ConcurrentHashMap<>();
+    private final Map<Class<?>, DefinitionSet> assignableTypes = new ConcurrentHashMap<>();
+
+    private final Map<BeanDefinition, Long> sequences = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Comparator<BeanDefinition> registrationOrder = Comparator.comparingLong(beanDefinition -> sequences.getOrDefault(beanDefinition, -1L));
+
+    public void add(BeanDefinition beanDefinition) {
+        Class<?> type = beanDefinition.getType();
+        sequences.computeIfAbsent(beanDefinition, key -> sequence.getAndIncrement());
+
+        addTo(exactTypes, type, beanDefinition);
+
+        for (Class<?> assignableType : getAssignableTypes(type)) {
+            addTo(assignableTypes, assignableType, beanDefinition);
+        }
+    }
+
+    public void remove(BeanDefinition beanDefinition) {
+        if(!sequences.containsKey(beanDefinition)) {
+            return;
+        }
+
+        Class<?> type = beanDefinition.getType();
+
+        removeFrom(exactTypes, type, beanDefinition);
+
+        for (Class<?> assignableType : getAssignableTypes(type)) {
+            removeFrom(assignableTypes, assignableType, beanDefinition);
+        }
+
+        sequences.remove(beanDefinition);
+    }
+
+    private void addTo(Map<Class<?>, DefinitionSet> index, Class<?> key, BeanDefinition beanDefinition) {
+        index.computeIfAbsent(key, type -> new DefinitionSet(registrationOrder)).addDefinition(beanDefinition);
+    }
+
+    private void removeFrom(Map<Class<?>, DefinitionSet> index, Class<?> key, BeanDefinition beanDefinition) {
+        DefinitionSet beanDefinitions = index.get(key);
+        if(beanDefinitions != null) {
+            beanDefinitions.removeDefinition(beanDefinition);
+        }
+    }
+
+    public Set<BeanDefinition> getExactTypeDefinitions(Class<?> type) {
+        DefinitionSet beanDefinitions = exactTypes.get(type);
+        return beanDefinitions == null ? Collections.emptySet() : Collections.unmodifiableSet(beanDefinitions);
+    }
+
+    public Set<BeanDefinition> getAssignableDefinitions(Class<?> type) {
+        DefinitionSet beanDefinitions = assignableTypes.get(type);
+        return beanDefinitions == null ? Collections.emptySet() : Collections.unmodifiableSet(beanDefinitions);
+    }
+
+    private Set<Class<?>> getAssignableTypes(Class<?> type) {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        collectAssignableTypes(type, types);
+
+        if (!type.isPrimitive()) {
+            types.add(Object.class);
+        }
+
+        return types;
+    }
+
+    private void collectAssignableTypes(Class<?> type, Set<Class<?>> types) {
+        if (type == null || !types.add(type)) {
+            return;
+        }
+
+        collectAssignableTypes(type.getSuperclass(), types);
+
+        for (Class<?> interfaceType : type.getInterfaces()) {
+            collectAssignableTypes(interfaceType, types);
+        }
+    }
+
+//    ConcurrentSkipListSet 의 size 는 O(n) 이라 getBean 에서 매번 세지 않도록 크기를 따로 센다.
+    private static class DefinitionSet extends AbstractSet<BeanDefinition> {
+        private final ConcurrentSkipListSet<BeanDefinition> beanDefinitions;
+        private final AtomicInteger size = new AtomicInteger();
+
+        private DefinitionSet(Comparator<BeanDefinition> comparator) {
+            this.beanDefinitions = new ConcurrentSkipListSet<>(comparator);
+        }
+
+        private void addDefinition(BeanDefinition beanDefinition) {
+            if(beanDefinitions.add(beanDefinition)) {
+                size.incrementAndGet();
+            }
+        }
+
+        private void removeDefinition(BeanDefinition beanDefinition) {
+            if(beanDefinitions.remove(beanDefinition)) {
+                size.decrementAndGet();
+            }
+        }
+
+        @Override
+        public Iterator<BeanDefinition> iterator() {
+            return beanDefinitions.iterator();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof BeanDefinition && beanDefinitions.contains(o);
+        }
+
+        @Override
+        public int size() {
+            return size.get();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package core.di.beans.factory.index;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * {@code ComponentIndexProcessor} 가 컴파일 시점에 생성한 META-INF/core.components 의 내용
+ *
+ * @author KingCjy
+ */
+public class ComponentIndex {
+
+    private static final String BEAN_METHOD_SEPARATOR = "#";
+    private static final String COMPONENT_SCAN_SUFFIX = "@ComponentScan";
+
+    private final Map<String, Set<String>> stereotypes = new TreeMap<>();
+    private final Map<String, Set<String>> beanMethods = new HashMap<>();
+    private final Map<String, String[]> componentScans = new HashMap<>();
+
+    public ComponentIndex(List<Properties> indexes) {
+        indexes.forEach(this::addIndex);
+    }
+
+    private void addIndex(Properties index) {
+        for (String key : index.stringPropertyNames()) {
+            String value = index.getProperty(key);
+
+            if (key.endsWith(COMPONENT_SCAN_SUFFIX)) {
+                componentScans.put(key.substring(0, key.length() - COMPONENT_SCAN_SUFFIX.length()), value.split(","));
+            } else if (key.contains(BEAN_METHOD_SEPARATOR)) {
+                String typeName = key.substring(0, key.indexOf(BEAN_METHOD_SEPARATOR));
+                beanMethods.computeIfAbsent(typeName, name -> new HashSet<>()).add(key.substring(typeName.length() + 1));
+            } else {
+                stereotypes.computeIfAbsent(key, name -> new TreeSet<>()).addAll(Arrays.asList(value.split(",")));
+            }
+        }
+    }
+
+    public Set<String> getCandidateTypes(Object[] basePackages, Class<? extends Annotation> stereotype) {
+        return stereotypes.entrySet().stream()
+                .filter(entry -> entry.getValue().contains(stereotype.getName()))
+                .map(Map.Entry::getKey)
+                .filter(typeName -> isInPackages(typeName, basePackages))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+//    Reflections 와 동일하게 패키지명을 prefix 로 비교한다. ("core.di.factory.example" 은 example2 도 포함)
+    private boolean isInPackages(String typeName, Object[] basePackages) {
+        for (Object basePackage : basePackages) {
+            if (typeName.startsWith(basePackage.toString())) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public boolean isBeanMethod(Class<?> targetClass, Method method) {
+        return beanMethods.getOrDefault(targetClass.getName(), Collections.emptySet()).contains(getSignature(method));
+    }
+
+    private String getSignature(Method method) {
+        return Arrays.stream(method.getParameterTypes())
+                .map(Class::getCanonicalName)
+                .collect(Collectors.joining(",", method.getName() + "(", ")"));
+    }
+
+    public String[] getComponentScanPackages(Class<?> targetClass) {
+        return componentScans.getOrDefault(targetClass.getName(), new String[] {});
+    }
+}
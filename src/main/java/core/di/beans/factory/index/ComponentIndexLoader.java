@@ -0,0 +1,70 @@
+package core.di.beans.factory.index;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.BeanInitializationException;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 클래스패스의 모든 META-INF/core.components 를 읽어 {@link ComponentIndex} 로 합친다.
+ * 인덱스가 없거나 core.index.ignore=true 이면 null 을 반환하고, 스캐너는 Reflections 로 동작한다.
+ *
+ * @author KingCjy
+ */
+public class ComponentIndexLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(ComponentIndexLoader.class);
+
+    public static final String INDEX_LOCATION = "META-INF/core.components";
+    public static final String IGNORE_INDEX_PROPERTY = "core.index.ignore";
+
+    private static final ConcurrentMap<ClassLoader, Optional<ComponentIndex>> cache = new ConcurrentHashMap<>();
+
+    private ComponentIndexLoader() { }
+
+    @Nullable
+    public static ComponentIndex loadIndex(ClassLoader classLoader) {
+        if (Boolean.getBoolean(IGNORE_INDEX_PROPERTY)) {
+            return null;
+        }
+
+        return cache.computeIfAbsent(classLoader, ComponentIndexLoader::doLoadIndex).orElse(null);
+    }
+
+    private static Optional<ComponentIndex> doLoadIndex(ClassLoader classLoader) {
+        try {
+            Enumeration<URL> urls = classLoader.getResources(INDEX_LOCATION);
+            List<Properties> indexes = new ArrayList<>();
+
+            while (urls.hasMoreElements()) {
+                indexes.add(loadProperties(urls.nextElement()));
+            }
+
+            if (indexes.isEmpty()) {
+                return Optional.empty();
+            }
+
+            logger.info("Component index loaded from {} location(s)", indexes.size());
+            return Optional.of(new ComponentIndex(indexes));
+        } catch (IOException e) {
+            throw new BeanInitializationException("Unable to load component index from " + INDEX_LOCATION, e);
+        }
+    }
+
+    private static Properties loadProperties(URL url) throws IOException {
+        Properties properties = new Properties();
+
+        try (InputStream inputStream = url.openStream()) {
+            properties.load(inputStream);
+        }
+
+        return properties;
+    }
+}
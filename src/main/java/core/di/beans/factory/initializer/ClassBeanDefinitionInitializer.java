@@ -1,17 +1,13 @@
 package core.di.beans.factory.initializer;
 
 import core.di.beans.factory.BeanFactory;
-import core.di.beans.factory.BeanFactoryUtils;
 import core.di.beans.factory.definition.BeanDefinition;
 import core.di.beans.factory.definition.ClassBeanDefinition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.BeanUtils;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
-import java.util.Set;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author KingCjy
@@ -20,6 +16,8 @@ public class ClassBeanDefinitionInitializer extends AbstractBeanDefinitionInitia
 
     private static final Logger logger = LoggerFactory.getLogger(ClassBeanDefinitionInitializer.class);
 
+    private final Map<Class<?>, InjectionPlan> injectionPlans = new ConcurrentHashMap<>();
+
     @Override
     public boolean support(BeanDefinition beanDefinition) {
         return beanDefinition instanceof ClassBeanDefinition;
@@ -27,17 +25,8 @@ public class ClassBeanDefinitionInitializer extends AbstractBeanDefinitionInitia
 
     @Override
     public Object instantiateBean(BeanDefinition beanDefinition, BeanFactory beanFactory) {
-        Constructor<?> constructor = BeanFactoryUtils.findInjectController(beanDefinition.getType());
-
-        Object[] parameters = BeanFactoryUtils.getParameters(beanFactory, constructor);
-
-        Object instance = BeanUtils.instantiateClass(constructor, parameters);
-
-        Set<Field> injectFields = BeanFactoryUtils.findInjectFields(beanDefinition.getType());
-        injectFields.forEach(field -> BeanFactoryUtils.injectField(beanFactory, instance, field));
-
-        Set<Method> postConstructors = BeanFactoryUtils.findPostConstructMethods(beanDefinition.getType());
-        postConstructors.forEach(method -> BeanFactoryUtils.invokePostConstructor(beanFactory, instance, method));
+        InjectionPlan injectionPlan = injectionPlans.computeIfAbsent(beanDefinition.getType(), InjectionPlan::create);
+        Object instance = injectionPlan.instantiate(beanFactory);
 
         logger.info("bean class: {} name: {} instantiate", beanDefinition.getType(), beanDefinition.getName());
 
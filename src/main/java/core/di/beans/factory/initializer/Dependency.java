@@ -0,0 +1,74 @@
+package core.di.beans.factory.initializer;
+
+import core.annotation.Lazy;
+import core.annotation.Qualifier;
+import core.di.beans.factory.BeanFactory;
+import core.di.beans.factory.BeanFactoryUtils;
+import core.util.ReflectionUtils;
+
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Parameter;
+
+/**
+ * 주입 지점 하나. 빈 이름(@Qualifier 또는 타입 이름), 타입, @Lazy 를 미리 읽어둔다.
+ * {@link core.di.beans.factory.BeanDependencyGraph} 도 같은 이름으로 간선을 만든다.
+ *
+ * @author KingCjy
+ */
+public class Dependency {
+
+    private final String beanName;
+    private final Class<?> type;
+    private final Lazy lazy;
+
+    private Dependency(String beanName, Class<?> type, Lazy lazy) {
+        this.beanName = beanName;
+        this.type = type;
+        this.lazy = lazy;
+    }
+
+    public static Dependency of(Field field) {
+        return new Dependency(ReflectionUtils.getFieldBeanName(field), field.getType(), field.getAnnotation(Lazy.class));
+    }
+
+    public static Dependency of(Parameter parameter) {
+        Qualifier qualifier = parameter.getAnnotation(Qualifier.class);
+        String beanName = qualifier == null ? parameter.getType().getName() : qualifier.value();
+
+        return new Dependency(beanName, parameter.getType(), parameter.getAnnotation(Lazy.class));
+    }
+
+    static Dependency[] of(Executable executable) {
+        Parameter[] parameters = executable.getParameters();
+        Dependency[] dependencies = new Dependency[parameters.length];
+
+        for (int i = 0; i < parameters.length; i++) {
+            dependencies[i] = of(parameters[i]);
+        }
+
+        return dependencies;
+    }
+
+    static Object[] resolve(BeanFactory beanFactory, Dependency[] dependencies) {
+        Object[] values = new Object[dependencies.length];
+
+        for (int i = 0; i < dependencies.length; i++) {
+            values[i] = dependencies[i].resolve(beanFactory);
+        }
+
+        return values;
+    }
+
+    public String getBeanName() {
+        return beanName;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    Object resolve(BeanFactory beanFactory) {
+        return BeanFactoryUtils.resolveDependency(beanFactory, beanName, type, lazy);
+    }
+}
@@ -0,0 +1,93 @@
+package core.di.beans.factory.initializer;
+
+import core.di.beans.factory.BeanFactory;
+import core.di.beans.factory.BeanFactoryUtils;
+import org.springframework.beans.BeanInstantiationException;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+
+/**
+ * 클래스 빈 하나를 만드는 방법 (생성자, @Inject 필드, @PostConstruct)
+ * 클래스당 한번 리플렉션으로 분석해 MethodHandle 과 주입할 빈 이름을 미리 만들어 두기 때문에
+ * 이후 인스턴스 생성은 빈 조회와 MethodHandle 호출만 한다.
+ *
+ * @author KingCjy
+ */
+class InjectionPlan {
+
+    private final Constructor<?> constructor;
+    private final MethodHandle constructorHandle;
+    private final Dependency[] constructorDependencies;
+
+    private final MethodHandle[] fieldSetters;
+    private final Dependency[] fieldDependencies;
+
+    private final MethodInjection[] postConstructs;
+
+    private InjectionPlan(Class<?> type) throws IllegalAccessException {
+        this.constructor = BeanFactoryUtils.findInjectController(type);
+        ReflectionUtils.makeAccessible(constructor);
+        this.constructorHandle = MethodHandles.lookup().unreflectConstructor(constructor)
+                .asType(MethodType.genericMethodType(constructor.getParameterCount()))
+                .asSpreader(Object[].class, constructor.getParameterCount());
+        this.constructorDependencies = Dependency.of(constructor);
+
+        Field[] fields = BeanFactoryUtils.findInjectFields(type).toArray(new Field[0]);
+        this.fieldSetters = new MethodHandle[fields.length];
+        this.fieldDependencies = new Dependency[fields.length];
+
+        for (int i = 0; i < fields.length; i++) {
+            fields[i].setAccessible(true);
+            fieldSetters[i] = MethodHandles.lookup().unreflectSetter(fields[i])
+                    .asType(MethodType.methodType(void.class, Object.class, Object.class));
+            fieldDependencies[i] = Dependency.of(fields[i]);
+        }
+
+        this.postConstructs = BeanFactoryUtils.findPostConstructMethods(type).stream()
+                .map(MethodInjection::of)
+                .toArray(MethodInjection[]::new);
+    }
+
+    static InjectionPlan create(Class<?> type) {
+        try {
+            return new InjectionPlan(type);
+        } catch (IllegalAccessException e) {
+            throw new BeanInstantiationException(type, "illegal access while building injection plan", e);
+        }
+    }
+
+    Object instantiate(BeanFactory beanFactory) {
+        Object instance = construct(Dependency.resolve(beanFactory, constructorDependencies));
+
+        for (int i = 0; i < fieldSetters.length; i++) {
+            injectField(i, instance, fieldDependencies[i].resolve(beanFactory));
+        }
+
+        for (MethodInjection postConstruct : postConstructs) {
+            postConstruct.invoke(beanFactory, instance);
+        }
+
+        return instance;
+    }
+
+    private Object construct(Object[] parameters) {
+        try {
+            return (Object) constructorHandle.invokeExact(parameters);
+        } catch (Throwable e) {
+            throw new BeanInstantiationException(constructor, "Constructor threw exception", e);
+        }
+    }
+
+    private void injectField(int index, Object instance, Object value) {
+        try {
+            fieldSetters[index].invokeExact(instance, value);
+        } catch (Throwable e) {
+            throw new BeanInstantiationException(instance.getClass(), "field injection failed", e);
+        }
+    }
+}
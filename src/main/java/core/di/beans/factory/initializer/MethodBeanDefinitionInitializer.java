@@ -1,15 +1,14 @@
 package core.di.beans.factory.initializer;
 
 import core.di.beans.factory.BeanFactory;
-import core.di.beans.factory.BeanFactoryUtils;
 import core.di.beans.factory.definition.BeanDefinition;
 import core.di.beans.factory.definition.MethodBeanDefinition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.BeanInstantiationException;
 
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author KingCjy
@@ -18,6 +17,8 @@ public class MethodBeanDefinitionInitializer extends AbstractBeanDefinitionIniti
 
     private static final Logger logger = LoggerFactory.getLogger(MethodBeanDefinitionInitializer.class);
 
+    private final Map<Method, MethodInjection> methodInjections = new ConcurrentHashMap<>();
+
     @Override
     public boolean support(BeanDefinition beanDefinition) {
         return beanDefinition instanceof MethodBeanDefinition;
@@ -28,23 +29,11 @@ public class MethodBeanDefinitionInitializer extends AbstractBeanDefinitionIniti
         MethodBeanDefinition beanDefinition = (MethodBeanDefinition) definition;
 
         Object classInstance = beanFactory.getBean(beanDefinition.getParentType());
-        Method method = beanDefinition.getMethod();
-
-        Object[] parameters = BeanFactoryUtils.getParameters(beanFactory, method);
+        MethodInjection methodInjection = methodInjections.computeIfAbsent(beanDefinition.getMethod(), MethodInjection::of);
 
-        Object instance = invokeMethod(classInstance, method, parameters);
+        Object instance = methodInjection.invoke(beanFactory, classInstance);
         logger.info("bean class: {} name: {} instantiate", beanDefinition.getType(), beanDefinition.getName());
 
         return instance;
     }
-
-    private Object invokeMethod(Object instance, Method method, Object[] parameters) {
-        try {
-            return method.invoke(instance, parameters);
-        } catch (IllegalAccessException e) {
-            throw new BeanInstantiationException(method, "Cannot access method '" + method.getName() + "' is it public?", e);
-        } catch (InvocationTargetException e) {
-            throw new BeanInstantiationException(method, "Method threw exception", e.getTargetException());
-        }
-    }
-}
\ No newline at end of file
+}
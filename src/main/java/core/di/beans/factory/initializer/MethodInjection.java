@@ -0,0 +1,57 @@
+package core.di.beans.factory.initializer;
+
+import core.annotation.PostConstruct;
+import core.di.beans.factory.BeanFactory;
+import core.di.beans.factory.startup.StartupStep;
+import org.springframework.beans.BeanInstantiationException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+/**
+ * 파라미터를 주입받아 호출하는 메소드 (@PostConstruct, @Bean)
+ * (Object target, Object[] args)Object 형태의 MethodHandle 로 한번만 만들어두고 invokeExact 로 호출한다.
+ *
+ * @author KingCjy
+ */
+class MethodInjection {
+
+    private final Method method;
+    private final MethodHandle handle;
+    private final Dependency[] dependencies;
+    private final String stepName;
+
+    private MethodInjection(Method method, MethodHandle handle, Dependency[] dependencies) {
+        this.method = method;
+        this.handle = handle;
+        this.dependencies = dependencies;
+        this.stepName = (method.isAnnotationPresent(PostConstruct.class) ? "post-construct:" : "bean-method:") + method.getName();
+    }
+
+    static MethodInjection of(Method method) {
+        try {
+            method.setAccessible(true);
+            int parameterCount = method.getParameterCount();
+
+            MethodHandle handle = MethodHandles.lookup().unreflect(method)
+                    .asType(MethodType.genericMethodType(parameterCount + 1))
+                    .asSpreader(Object[].class, parameterCount);
+
+            return new MethodInjection(method, handle, Dependency.of(method));
+        } catch (IllegalAccessException e) {
+            throw new BeanInstantiationException(method, "Cannot access method '" + method.getName() + "' is it public?", e);
+        }
+    }
+
+    Object invoke(BeanFactory beanFactory, Object target) {
+        Object[] parameters = Dependency.resolve(beanFactory, dependencies);
+
+        try (StartupStep ignored = beanFactory.getStartupTimeline().start(stepName, method.getDeclaringClass().getName())) {
+            return (Object) handle.invokeExact(target, parameters);
+        } catch (Throwable e) {
+            throw new BeanInstantiationException(method, "Method threw exception", e);
+        }
+    }
+}
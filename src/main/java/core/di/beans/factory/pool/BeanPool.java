@@ -0,0 +1,167 @@
+package core.di.beans.factory.pool;
+
+import org.springframework.beans.factory.BeanCreationException;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * {@code @Scope("pooled")} 빈 하나의 인스턴스 풀
+ * 대기 중인 인스턴스는 lock-free deque 에 LIFO 로 두고, 만든 개수는 CAS 로 maxSize 를 넘지 않게 한다.
+ * 모두 사용 중이면 maxWait 동안 park 하면서 반납을 기다린다.
+ *
+ * @author KingCjy
+ */
+public class BeanPool {
+
+    private static final long MIN_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(1);
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final String beanName;
+    private final Supplier<Object> factory;
+    private final int maxSize;
+    private final long maxIdleNanos;
+    private final long maxWaitNanos;
+
+    private final ConcurrentLinkedDeque<PooledInstance> idleInstances = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong lastEviction = new AtomicLong(System.nanoTime());
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder waits = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public BeanPool(String beanName, Supplier<Object> factory, int maxSize, long maxIdleMillis, long maxWaitMillis) {
+        if(maxSize < 1) {
+            throw new IllegalArgumentException("pool maxSize of '" + beanName + "' must be positive");
+        }
+
+        this.beanName = beanName;
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.maxIdleNanos = TimeUnit.MILLISECONDS.toNanos(maxIdleMillis);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+    }
+
+    public Object borrow() {
+        evictIdleIfDue();
+
+        PooledInstance pooled = idleInstances.pollFirst();
+        if(pooled != null) {
+            hits.increment();
+            return pooled.instance;
+        }
+
+        if(tryReserve()) {
+            misses.increment();
+            return create();
+        }
+
+        return awaitInstance();
+    }
+
+    public void release(Object instance) {
+        idleInstances.offerFirst(new PooledInstance(instance, System.nanoTime()));
+    }
+
+    private boolean tryReserve() {
+        for(;;) {
+            int current = size.get();
+            if(current >= maxSize) {
+                return false;
+            }
+            if(size.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private Object create() {
+        try {
+            return factory.get();
+        } catch (RuntimeException | Error e) {
+            size.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private Object awaitInstance() {
+        waits.increment();
+
+        long deadline = System.nanoTime() + maxWaitNanos;
+        long parkNanos = MIN_PARK_NANOS;
+
+        for(;;) {
+            PooledInstance pooled = idleInstances.pollFirst();
+            if(pooled != null) {
+                return pooled.instance;
+            }
+
+            if(tryReserve()) {
+                return create();
+            }
+
+            if(System.nanoTime() - deadline >= 0) {
+                timeouts.increment();
+                throw new BeanCreationException(beanName, "pool exhausted: all " + maxSize + " instances are in use");
+            }
+
+            LockSupport.parkNanos(this, parkNanos);
+            parkNanos = Math.min(parkNanos * 2, MAX_PARK_NANOS);
+
+            if(Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                throw new BeanCreationException(beanName, "interrupted while waiting for a pooled instance");
+            }
+        }
+    }
+
+//    borrow 하는 스레드가 maxIdle 마다 한번씩 대신 정리한다.
+    private void evictIdleIfDue() {
+        long now = System.nanoTime();
+        long last = lastEviction.get();
+
+        if(maxIdleNanos > 0 && now - last >= maxIdleNanos && lastEviction.compareAndSet(last, now)) {
+            evictIdle();
+        }
+    }
+
+    public void evictIdle() {
+        long now = System.nanoTime();
+
+        for(;;) {
+            PooledInstance oldest = idleInstances.peekLast();
+
+            if(oldest == null || now - oldest.releasedAt < maxIdleNanos) {
+                return;
+            }
+
+            if(idleInstances.removeLastOccurrence(oldest)) {
+                size.decrementAndGet();
+                evictions.increment();
+            }
+        }
+    }
+
+    public PoolMetrics getMetrics() {
+        return new PoolMetrics(beanName, maxSize, size.get(), idleInstances.size(),
+                hits.sum(), misses.sum(), waits.sum(), timeouts.sum(), evictions.sum());
+    }
+
+    private static class PooledInstance {
+        private final Object instance;
+        private final long releasedAt;
+
+        private PooledInstance(Object instance, long releasedAt) {
+            this.instance = instance;
+            this.releasedAt = releasedAt;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package core.di.beans.factory.pool;
+
+/**
+ * {@link BeanPool} 의 특정 시점 지표
+ * hits 는 대기 중인 인스턴스를 바로 빌린 횟수, misses 는 새로 만든 횟수, waits 는 모두 사용 중이라 기다린 횟수
+ *
+ * @author KingCjy
+ */
+public class PoolMetrics {
+
+    private final String beanName;
+    private final int maxSize;
+    private final int size;
+    private final int idle;
+    private final long hits;
+    private final long misses;
+    private final long waits;
+    private final long timeouts;
+    private final long evictions;
+
+    public PoolMetrics(String beanName, int maxSize, int size, int idle, long hits, long misses, long waits, long timeouts, long evictions) {
+        this.beanName = beanName;
+        this.maxSize = maxSize;
+        this.size = size;
+        this.idle = idle;
+        this.hits = hits;
+        this.misses = misses;
+        this.waits = waits;
+        this.timeouts = timeouts;
+        this.evictions = evictions;
+    }
+
+    public String getBeanName() {
+        return beanName;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getIdle() {
+        return idle;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getWaits() {
+        return waits;
+    }
+
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    @Override
+    public String toString() {
+        return "PoolMetrics{" +
+                "beanName='" + beanName + '\'' +
+                ", maxSize=" + maxSize +
+                ", size=" + size +
+                ", idle=" + idle +
+                ", hits=" + hits +
+                ", misses=" + misses +
+                ", waits=" + waits +
+                ", timeouts=" + timeouts +
+                ", evictions=" + evictions +
+                '}';
+    }
+}
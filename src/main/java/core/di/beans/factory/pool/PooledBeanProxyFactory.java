@@ -0,0 +1,78 @@
+package core.di.beans.factory.pool;
+
+import net.sf.cglib.proxy.Callback;
+import net.sf.cglib.proxy.Enhancer;
+import net.sf.cglib.proxy.Factory;
+import net.sf.cglib.proxy.MethodInterceptor;
+import net.sf.cglib.proxy.MethodProxy;
+import org.springframework.beans.BeanInstantiationException;
+import org.springframework.objenesis.ObjenesisHelper;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+
+/**
+ * 메소드 호출마다 {@link BeanPool} 에서 인스턴스를 빌리고 호출이 끝나면 반납하는 프록시를 만든다.
+ *
+ * @author KingCjy
+ */
+public class PooledBeanProxyFactory {
+
+    private PooledBeanProxyFactory() { }
+
+    public static Object getProxy(Class<?> type, BeanPool beanPool) {
+        BorrowingInterceptor interceptor = new BorrowingInterceptor(beanPool);
+
+        if(type.isInterface()) {
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class[] {type}, interceptor);
+        }
+
+        if(Modifier.isFinal(type.getModifiers())) {
+            throw new BeanInstantiationException(type, "pooled bean type must be an interface or a non-final class");
+        }
+
+        Enhancer enhancer = new Enhancer();
+        enhancer.setSuperclass(type);
+        enhancer.setCallbackType(MethodInterceptor.class);
+
+        Factory proxy = (Factory) ObjenesisHelper.newInstance(enhancer.createClass());
+        proxy.setCallbacks(new Callback[] {interceptor});
+        return proxy;
+    }
+
+    private static class BorrowingInterceptor implements InvocationHandler, MethodInterceptor {
+
+        private final BeanPool beanPool;
+
+        private BorrowingInterceptor(BeanPool beanPool) {
+            this.beanPool = beanPool;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object instance = beanPool.borrow();
+
+            try {
+                return method.invoke(instance, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            } finally {
+                beanPool.release(instance);
+            }
+        }
+
+        @Override
+        public Object intercept(Object proxy, Method method, Object[] args, MethodProxy methodProxy) throws Throwable {
+            Object instance = beanPool.borrow();
+
+            try {
+                return methodProxy.invoke(instance, args);
+            } finally {
+                beanPool.release(instance);
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package core.di.beans.factory.processor;
+
+import core.aop.Advised;
+import core.aop.Advisor;
+import core.aop.ProxyFactoryBean;
+import core.di.beans.factory.definition.BeanDefinition;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 빈에 Advisor 를 하나 적용한다. 이미 다른 processor 가 프록시로 만든 빈이면 프록시를 한번 더 감싸지 않고,
+ * 원래 객체에 기존 Advisor 와 함께 적용한 프록시를 새로 만든다.
+ * Pointcut 의 클래스 필터를 통과하지 못한 빈은 그대로 돌려준다. 프록시로 만들기 전에 매칭된 메소드마다 {@link #adviseMethod} 를 호출한다.
+ *
+ * @author KingCjy
+ */
+public abstract class AdvisingBeanPostProcessor implements BeanPostProcessor {
+
+    protected abstract Advisor getAdvisor(BeanDefinition beanDefinition);
+
+//    Advice 가 메소드를 미리 등록하거나 검증할 때 재정의한다.
+    protected void adviseMethod(BeanDefinition beanDefinition, Method method) {
+    }
+
+    @Override
+    public Object postProcess(BeanDefinition beanDefinition, Object bean) throws Exception {
+        Advisor advisor = getAdvisor(beanDefinition);
+        Class<?> targetClass = bean instanceof Advised ? ((Advised) bean).getTargetObject().getClass() : bean.getClass();
+
+        if(!advisor.getPointcut().matches(targetClass)) {
+            return bean;
+        }
+
+        for (Method method : ReflectionUtils.getAllDeclaredMethods(targetClass)) {
+            if(advisor.getPointcut().matches(method, targetClass)) {
+                adviseMethod(beanDefinition, method);
+            }
+        }
+
+
+        if(bean instanceof Advised) {
+            Advised advised = (Advised) bean;
+            List<Advisor> advisors = new ArrayList<>(advised.getAdvisors());
+            advisors.add(advisor);
+
+            return new ProxyFactoryBean<>(advised.getTargetObject(), advisors).getObject();
+        }
+
+        return new ProxyFactoryBean<>(bean, Collections.singletonList(advisor)).getObject();
+    }
+}
@@ -0,0 +1,122 @@
+package core.di.beans.factory.processor;
+
+import core.annotation.Component;
+import core.aop.Advisor;
+import core.aop.support.AspectJExpressionPointcut;
+import core.aop.support.AsyncAdvice;
+import core.di.beans.factory.BeanFactory;
+import core.di.beans.factory.BeanFactoryAware;
+import core.di.beans.factory.definition.BeanDefinition;
+import core.scheduling.BoundedExecutor;
+import core.scheduling.ExecutorMetrics;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.Ordered;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * @Async 메소드를 가진 빈을 프록시로 만든다. Executor 빈은 처음 호출할 때 BeanFactory 에서 이름으로 찾는다.
+ * Async Advice 는 가장 바깥쪽에서 실행되어 @Transactional 같은 다른 Advice 는 executor 스레드에서 실행된다.
+ *
+ * @author KingCjy
+ */
+@Component
+public class AsyncBeanPostProcessor extends AdvisingBeanPostProcessor implements BeanFactoryAware, DisposableBean {
+
+    public static final String DEFAULT_EXECUTOR_BEAN_NAME = "taskExecutor";
+    public static final String THREADS_PROPERTY = "core.async.threads";
+    public static final String QUEUE_CAPACITY_PROPERTY = "core.async.queue-capacity";
+
+//    @Async 메소드와, 클래스에 @Async 가 붙었으면 void 나 Future 를 반환하는 public 메소드
+    public static final String ASYNC_POINTCUT = "execution(@core.annotation.Async * *(..)) || (@within(core.annotation.Async) "
+            + "&& (execution(public !static void *(..)) || execution(public !static java.util.concurrent.Future+ *(..))))";
+
+    private static final AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut(ASYNC_POINTCUT);
+
+    private BeanFactory beanFactory;
+    private final Advisor advisor = new Advisor(pointcut, new AsyncAdvice(this::getExecutor), Ordered.HIGHEST_PRECEDENCE);
+    private volatile BoundedExecutor defaultExecutor;
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public CandidateFilter getCandidateFilter() {
+        return metadata -> pointcut.matches(metadata.getType());
+    }
+
+    @Override
+    protected Advisor getAdvisor(BeanDefinition beanDefinition) {
+        return advisor;
+    }
+
+    @Override
+    protected void adviseMethod(BeanDefinition beanDefinition, Method method) {
+        Class<?> returnType = method.getReturnType();
+        if(returnType != void.class && !returnType.isAssignableFrom(CompletableFuture.class)) {
+            throw new BeanCreationException(beanDefinition.getName(), "@Async method must return void or CompletableFuture: " + method);
+        }
+    }
+
+//    lazy 빈이나 부모 컨텍스트의 빈도 찾을 수 있도록 처음 호출할 때 BeanFactory 에서 찾는다. AsyncAdvice 가 메소드마다 캐시한다.
+    private Executor getExecutor(String name) {
+        if(!name.isEmpty()) {
+            Executor executor = findExecutor(name);
+            if(executor == null) {
+                throw new IllegalStateException("No executor bean named " + name + " for @Async");
+            }
+            return executor;
+        }
+
+        Executor executor = findExecutor(DEFAULT_EXECUTOR_BEAN_NAME);
+        return executor != null ? executor : getDefaultExecutor();
+    }
+
+    @Nullable
+    private Executor findExecutor(String name) {
+        if(!beanFactory.containsBean(name)) {
+            return null;
+        }
+
+        Object executor = beanFactory.getBean(name, Executor.class);
+        return executor instanceof Executor ? (Executor) executor : null;
+    }
+
+    private BoundedExecutor getDefaultExecutor() {
+        BoundedExecutor executor = this.defaultExecutor;
+        if(executor != null) {
+            return executor;
+        }
+
+        synchronized (this) {
+            if(this.defaultExecutor == null) {
+                int threads = Integer.getInteger(THREADS_PROPERTY, Math.max(2, Runtime.getRuntime().availableProcessors()));
+                int queueCapacity = Integer.getInteger(QUEUE_CAPACITY_PROPERTY, 1024);
+
+                this.defaultExecutor = new BoundedExecutor("async", threads, queueCapacity, new ThreadPoolExecutor.CallerRunsPolicy());
+            }
+            return this.defaultExecutor;
+        }
+    }
+
+    @Nullable
+    public ExecutorMetrics getDefaultExecutorMetrics() {
+        BoundedExecutor executor = this.defaultExecutor;
+        return executor == null ? null : executor.getMetrics();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        BoundedExecutor executor = this.defaultExecutor;
+        if(executor != null) {
+            executor.destroy();
+        }
+    }
+}
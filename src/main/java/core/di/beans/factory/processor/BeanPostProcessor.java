@@ -3,8 +3,15 @@ package core.di.beans.factory.processor;
 import core.di.beans.factory.definition.BeanDefinition;
 
 /**
+ * 빈으로 등록하면 BeanFactory 가 찾아서 @Order 순서로 적용한다.
+ *
  * @author KingCjy
  */
 public interface BeanPostProcessor {
     Object postProcess(BeanDefinition beanDefinition, Object bean) throws Exception;
+
+//    맞지 않는 빈 클래스에는 postProcess 를 호출하지 않는다.
+    default CandidateFilter getCandidateFilter() {
+        return CandidateFilter.ALL;
+    }
 }
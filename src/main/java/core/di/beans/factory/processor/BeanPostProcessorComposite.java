@@ -1,10 +1,16 @@
 package core.di.beans.factory.processor;
 
+import core.di.beans.factory.BeanClassMetadata;
 import core.di.beans.factory.definition.BeanDefinition;
+import core.di.beans.factory.startup.StartupStep;
+import core.di.beans.factory.startup.StartupTimeline;
+import org.springframework.util.ClassUtils;
 
 import java.util.Arrays;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author KingCjy
@@ -12,17 +18,30 @@ import java.util.Set;
 public class BeanPostProcessorComposite implements BeanPostProcessor {
 
     private Set<BeanPostProcessor> beanPostProcessors;
+    private StartupTimeline startupTimeline;
+
+//    빈 클래스별로 CandidateFilter 를 통과한 processor
+    private Map<Class<?>, BeanPostProcessor[]> candidates = new ConcurrentHashMap<>();
 
     public BeanPostProcessorComposite(BeanPostProcessor ...beanPostProcessors) {
+        this(StartupTimeline.NONE, beanPostProcessors);
+    }
+
+    public BeanPostProcessorComposite(StartupTimeline startupTimeline, BeanPostProcessor ...beanPostProcessors) {
         this.beanPostProcessors = new LinkedHashSet<>(Arrays.asList(beanPostProcessors));
+        this.startupTimeline = startupTimeline;
     }
 
+//    @Bean 은 선언된 반환 타입이 인터페이스일 수 있어서, 만들어진 빈의 클래스로 후보를 고른다.
     @Override
     public Object postProcess(BeanDefinition beanDefinition, Object bean) throws Exception {
         Object result = bean;
 
-        for (BeanPostProcessor beanPostProcessor : beanPostProcessors) {
-            Object current = beanPostProcessor.postProcess(beanDefinition, result);
+        for (BeanPostProcessor beanPostProcessor : getCandidates(ClassUtils.getUserClass(bean))) {
+            Object current;
+            try (StartupStep ignored = startupTimeline.start(beanPostProcessor.getClass().getSimpleName(), beanDefinition.getName())) {
+                current = beanPostProcessor.postProcess(beanDefinition, result);
+            }
             if(current == null) {
                 return result;
             }
@@ -31,4 +50,18 @@ public class BeanPostProcessorComposite implements BeanPostProcessor {
 
         return result;
     }
+
+    private BeanPostProcessor[] getCandidates(Class<?> type) {
+        if(beanPostProcessors.isEmpty()) {
+            return new BeanPostProcessor[0];
+        }
+
+        return candidates.computeIfAbsent(type, key -> {
+            BeanClassMetadata metadata = BeanClassMetadata.forClass(key);
+
+            return beanPostProcessors.stream()
+                    .filter(beanPostProcessor -> beanPostProcessor.getCandidateFilter().matches(metadata))
+                    .toArray(BeanPostProcessor[]::new);
+        });
+    }
 }
@@ -0,0 +1,56 @@
+package core.di.beans.factory.processor;
+
+import core.annotation.Component;
+import core.annotation.Inject;
+import core.aop.Advisor;
+import core.aop.support.AspectJExpressionPointcut;
+import core.aop.support.CacheAdvice;
+import core.cache.CacheManager;
+import core.di.beans.factory.definition.BeanDefinition;
+import org.springframework.beans.factory.BeanCreationException;
+
+import java.lang.reflect.Method;
+
+/**
+ * @Cacheable, @CacheEvict 메소드를 가진 빈을 프록시로 만든다.
+ * 캐시 Advice 는 @Transactional 보다 바깥쪽에서 실행되어 캐시에 있으면 트랜잭션을 시작하지 않는다.
+ *
+ * @author KingCjy
+ */
+@Component
+public class CacheBeanPostProcessor extends AdvisingBeanPostProcessor {
+
+    public static final String CACHE_POINTCUT = "execution(@core.annotation.Cacheable * *(..)) "
+            + "|| execution(@core.annotation.CacheEvict * *(..)) || execution(@core.annotation.CacheEvicts * *(..))";
+
+    private static final int CACHE_ORDER = 0;
+    private static final AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut(CACHE_POINTCUT);
+
+    private final CacheAdvice advice;
+    private final Advisor advisor;
+
+    @Inject
+    public CacheBeanPostProcessor(CacheManager cacheManager) {
+        this.advice = new CacheAdvice(cacheManager);
+        this.advisor = new Advisor(pointcut, advice, CACHE_ORDER);
+    }
+
+    @Override
+    public CandidateFilter getCandidateFilter() {
+        return metadata -> pointcut.matches(metadata.getType());
+    }
+
+    @Override
+    protected void adviseMethod(BeanDefinition beanDefinition, Method method) {
+        try {
+            advice.register(method);
+        } catch (IllegalArgumentException e) {
+            throw new BeanCreationException(beanDefinition.getName(), e.getMessage(), e);
+        }
+    }
+
+    @Override
+    protected Advisor getAdvisor(BeanDefinition beanDefinition) {
+        return advisor;
+    }
+}
@@ -0,0 +1,28 @@
+package core.di.beans.factory.processor;
+
+import core.di.beans.factory.BeanClassMetadata;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * BeanPostProcessor 를 적용할 빈 클래스인지 판단한다.
+ * 결과는 클래스마다 한번만 계산해서 {@link BeanPostProcessorComposite} 가 캐시한다.
+ *
+ * @author KingCjy
+ */
+@FunctionalInterface
+public interface CandidateFilter {
+
+    CandidateFilter ALL = metadata -> true;
+
+    boolean matches(BeanClassMetadata metadata);
+
+//    클래스나 public 메소드에 어노테이션 (메타 어노테이션 포함) 이 붙은 빈
+    static CandidateFilter annotatedWith(Class<? extends Annotation> annotationType) {
+        return metadata -> metadata.hasAnnotation(annotationType) || metadata.hasAnnotatedMethods(annotationType);
+    }
+
+    static CandidateFilter assignableTo(Class<?> type) {
+        return metadata -> metadata.isAssignableTo(type);
+    }
+}
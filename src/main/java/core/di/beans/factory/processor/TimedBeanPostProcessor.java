@@ -0,0 +1,58 @@
+package core.di.beans.factory.processor;
+
+import core.annotation.Component;
+import core.annotation.Inject;
+import core.aop.Advisor;
+import core.aop.support.AspectJExpressionPointcut;
+import core.aop.support.TimedAdvice;
+import core.di.beans.factory.definition.BeanDefinition;
+import core.metrics.MetricRegistry;
+import org.springframework.core.Ordered;
+
+import java.lang.reflect.Method;
+
+/**
+ * @Timed 메소드와, core.metrics.timed-pointcut 프로퍼티의 포인트컷에 매칭되는 메소드를 가진 빈을 프록시로 만든다.
+ * 매칭은 프록시를 만들 때 끝나므로 타이머가 없는 빈과 메소드는 호출할 때 비용이 없다.
+ * @Async 바로 안쪽에서 실행되어 executor 스레드에서 실제로 실행된 시간을 기록한다.
+ *
+ * @author KingCjy
+ */
+@Component
+public class TimedBeanPostProcessor extends AdvisingBeanPostProcessor {
+
+    public static final String POINTCUT_PROPERTY = "core.metrics.timed-pointcut";
+
+    public static final String TIMED_POINTCUT = "execution(@core.annotation.Timed * *(..)) "
+            + "|| (@within(core.annotation.Timed) && execution(public !static * *(..)))";
+
+    private static final int TIMED_ORDER = Ordered.HIGHEST_PRECEDENCE + 1;
+
+    private final AspectJExpressionPointcut pointcut;
+    private final TimedAdvice advice;
+    private final Advisor advisor;
+
+    @Inject
+    public TimedBeanPostProcessor(MetricRegistry metricRegistry) {
+        String packagePointcut = System.getProperty(POINTCUT_PROPERTY, "");
+
+        this.pointcut = new AspectJExpressionPointcut(packagePointcut.isEmpty() ? TIMED_POINTCUT : TIMED_POINTCUT + " || (" + packagePointcut + ")");
+        this.advice = new TimedAdvice(metricRegistry);
+        this.advisor = new Advisor(pointcut, advice, TIMED_ORDER);
+    }
+
+    @Override
+    public CandidateFilter getCandidateFilter() {
+        return metadata -> pointcut.matches(metadata.getType());
+    }
+
+    @Override
+    protected void adviseMethod(BeanDefinition beanDefinition, Method method) {
+        advice.register(method);
+    }
+
+    @Override
+    protected Advisor getAdvisor(BeanDefinition beanDefinition) {
+        return advisor;
+    }
+}
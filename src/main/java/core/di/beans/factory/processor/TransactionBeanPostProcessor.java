@@ -1,49 +1,51 @@
 package core.di.beans.factory.processor;
 
-import core.annotation.Transactional;
-import core.aop.ProxyFactoryBean;
-import core.aop.support.MethodMatchPointcut;
+import core.annotation.Component;
+import core.annotation.Inject;
+import core.aop.Advisor;
+import core.aop.aspectj.TransactionalAspect;
+import core.aop.support.AspectJExpressionPointcut;
 import core.aop.support.TransactionalAdvice;
-import core.di.beans.factory.BeanFactory;
 import core.di.beans.factory.definition.BeanDefinition;
+import org.springframework.beans.factory.DisposableBean;
 
 import javax.sql.DataSource;
-import java.lang.reflect.Method;
-import java.util.Arrays;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * @author KingCjy
  */
-public class TransactionBeanPostProcessor implements BeanPostProcessor {
+@Component
+public class TransactionBeanPostProcessor extends AdvisingBeanPostProcessor implements DisposableBean {
 
-    private TransactionalAdvice advice;
+    private static final AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut(TransactionalAspect.TRANSACTIONAL_POINTCUT);
 
-    public TransactionBeanPostProcessor(BeanFactory beanFactory) {
-        DataSource dataSource = beanFactory.getBean(DataSource.class);
-        this.advice = new TransactionalAdvice(dataSource);
-    }
+    private final DataSource dataSource;
+    private final Advisor advisor;
 
-    @Override
-    public Object postProcess(BeanDefinition beanDefinition, Object bean) throws Exception {
-        if(!isTransactionBean(beanDefinition.getType())) {
-            return bean;
-        }
+    @Inject
+    public TransactionBeanPostProcessor(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.advisor = new Advisor(pointcut, new TransactionalAdvice(dataSource));
 
-        MethodMatchPointcut pointcut = new MethodMatchPointcut(getTransactionMethods(beanDefinition.getType()));
-        ProxyFactoryBean proxyFactoryBean = new ProxyFactoryBean<>(bean, pointcut, advice);
+        if(TransactionalAspect.isWeavingEnabled()) {
+            TransactionalAspect.configure(dataSource);
+        }
+    }
 
-        return proxyFactoryBean.getObject();
+//    Pointcut 에 매칭되는 메소드가 없거나, 로드할 때 이미 트랜잭션이 엮인 클래스는 프록시로 만들지 않는다.
+    @Override
+    public CandidateFilter getCandidateFilter() {
+        return metadata -> pointcut.matches(metadata.getType()) && !TransactionalAspect.isWoven(metadata.getType());
     }
 
-    private boolean isTransactionBean(Class<?> targetClass) {
-        return targetClass.isAnnotationPresent(Transactional.class) || !getTransactionMethods(targetClass).isEmpty();
+    @Override
+    protected Advisor getAdvisor(BeanDefinition beanDefinition) {
+        return advisor;
     }
 
-    private Set<Method> getTransactionMethods(Class<?> targetClass) {
-        return Arrays.stream(targetClass.getMethods())
-                .filter(method -> method.isAnnotationPresent(Transactional.class))
-                .collect(Collectors.toSet());
+//    컨텍스트가 닫히면 이 컨텍스트로 설정한 aspect 를 해제해서 다음 컨텍스트가 설정할 수 있게 한다.
+    @Override
+    public void destroy() throws Exception {
+        TransactionalAspect.reset(dataSource);
     }
 }
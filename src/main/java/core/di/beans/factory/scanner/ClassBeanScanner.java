@@ -4,12 +4,16 @@ import core.annotation.*;
 import core.annotation.web.Controller;
 import core.di.beans.factory.definition.BeanDefinitionRegistry;
 import core.di.beans.factory.definition.ClassBeanDefinition;
+import core.di.beans.factory.index.ComponentIndex;
+import core.di.beans.factory.index.ComponentIndexLoader;
 import core.util.ReflectionUtils;
 import org.reflections.Reflections;
 import org.reflections.scanners.MethodAnnotationsScanner;
 import org.reflections.scanners.SubTypesScanner;
 import org.reflections.scanners.TypeAnnotationsScanner;
+import org.springframework.util.ClassUtils;
 
+import javax.annotation.Nullable;
 import java.lang.annotation.Annotation;
 import java.util.LinkedHashSet;
 import java.util.Set;
@@ -19,9 +23,15 @@ public class ClassBeanScanner implements BeanScanner {
     private static final Class<? extends Annotation>[] SCAN_ANNOTATIONS = new Class[] { Controller.class, Service.class, Repository.class, Component.class, Configuration.class};
 
     private BeanDefinitionRegistry beanDefinitionRegistry;
+    private ComponentIndex componentIndex;
 
     public ClassBeanScanner(BeanDefinitionRegistry beanDefinitionRegistry) {
+        this(beanDefinitionRegistry, ComponentIndexLoader.loadIndex(ClassUtils.getDefaultClassLoader()));
+    }
+
+    public ClassBeanScanner(BeanDefinitionRegistry beanDefinitionRegistry, @Nullable ComponentIndex componentIndex) {
         this.beanDefinitionRegistry = beanDefinitionRegistry;
+        this.componentIndex = componentIndex;
     }
 
     @Override
@@ -30,9 +40,7 @@ public class ClassBeanScanner implements BeanScanner {
     }
 
     public void scanPackages(Set<Class<?>> scannedClasses, Object... basePackages) {
-
-        Reflections reflections = new Reflections(basePackages, new TypeAnnotationsScanner(), new SubTypesScanner(false), new MethodAnnotationsScanner());
-        Set<Class<?>> getAnnotatedClasses = ReflectionUtils.getAnnotatedClasses(reflections, SCAN_ANNOTATIONS);
+        Set<Class<?>> getAnnotatedClasses = findAnnotatedClasses(basePackages);
 
         for (Class<?> targetClass : getAnnotatedClasses) {
             if(scannedClasses.contains(targetClass) || targetClass.isAnnotation()) {
@@ -46,16 +54,39 @@ public class ClassBeanScanner implements BeanScanner {
 
             if(targetClass.isAnnotationPresent(ComponentScan.class)) {
                 String[] scanPackages = getComponentScanPackage(targetClass);
-                scanPackages(scannedClasses, scanPackages);
+                scanPackages(scannedClasses, (Object[]) scanPackages);
             }
         }
     }
 
+    private Set<Class<?>> findAnnotatedClasses(Object... basePackages) {
+        if(componentIndex != null) {
+            return findIndexedClasses(basePackages);
+        }
+
+        Reflections reflections = new Reflections(basePackages, new TypeAnnotationsScanner(), new SubTypesScanner(false), new MethodAnnotationsScanner());
+        return ReflectionUtils.getAnnotatedClasses(reflections, SCAN_ANNOTATIONS);
+    }
+
+    private Set<Class<?>> findIndexedClasses(Object... basePackages) {
+        Set<String> typeNames = new LinkedHashSet<>();
+
+        for (Class<? extends Annotation> annotation : SCAN_ANNOTATIONS) {
+            typeNames.addAll(componentIndex.getCandidateTypes(basePackages, annotation));
+        }
+
+        return ReflectionUtils.forNames(typeNames);
+    }
+
     private String[] getComponentScanPackage(Class<?> targetClass) {
         if(!(targetClass.isAnnotationPresent(Configuration.class) && targetClass.isAnnotationPresent(ComponentScan.class)) ) {
             return new String[]{};
         }
 
+        if(componentIndex != null) {
+            return componentIndex.getComponentScanPackages(targetClass);
+        }
+
         ComponentScan componentScan = targetClass.getAnnotation(ComponentScan.class);
 
         return componentScan.value();
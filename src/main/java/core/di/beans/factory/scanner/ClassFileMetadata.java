@@ -0,0 +1,99 @@
+package core.di.beans.factory.scanner;
+
+import org.springframework.asm.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+
+/**
+ * 클래스를 로딩하지 않고 ASM 으로 읽은 클래스 레벨 정보 (이름, 접근자, 어노테이션과 그 속성)
+ *
+ * @author KingCjy
+ */
+class ClassFileMetadata {
+
+    private static final int PARSING_OPTIONS = ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES;
+
+    private String className;
+    private int access;
+    private final Map<String, Map<String, Object>> annotations = new LinkedHashMap<>();
+
+    static ClassFileMetadata read(InputStream inputStream) throws IOException {
+        ClassFileMetadata metadata = new ClassFileMetadata();
+        new ClassReader(inputStream).accept(metadata.new MetadataVisitor(), PARSING_OPTIONS);
+        return metadata;
+    }
+
+    String getClassName() {
+        return className;
+    }
+
+    boolean isAnnotation() {
+        return (access & Opcodes.ACC_ANNOTATION) != 0;
+    }
+
+    Set<String> getAnnotationTypes() {
+        return annotations.keySet();
+    }
+
+    boolean hasAnnotation(String annotationType) {
+        return annotations.containsKey(annotationType);
+    }
+
+    Object getAttribute(String annotationType, String attributeName) {
+        return annotations.getOrDefault(annotationType, Collections.emptyMap()).get(attributeName);
+    }
+
+    private class MetadataVisitor extends ClassVisitor {
+
+        MetadataVisitor() {
+            super(SpringAsmInfo.ASM_VERSION);
+        }
+
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+            ClassFileMetadata.this.className = Type.getObjectType(name).getClassName();
+            ClassFileMetadata.this.access = access;
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+            Map<String, Object> attributes = new HashMap<>();
+            annotations.put(Type.getType(descriptor).getClassName(), attributes);
+            return new AttributesVisitor(attributes);
+        }
+    }
+
+    private static class AttributesVisitor extends AnnotationVisitor {
+
+        private final Map<String, Object> attributes;
+
+        AttributesVisitor(Map<String, Object> attributes) {
+            super(SpringAsmInfo.ASM_VERSION);
+            this.attributes = attributes;
+        }
+
+        @Override
+        public void visit(String name, Object value) {
+            attributes.put(name, value);
+        }
+
+        @Override
+        public AnnotationVisitor visitArray(String name) {
+            List<Object> values = new ArrayList<>();
+
+            return new AnnotationVisitor(SpringAsmInfo.ASM_VERSION) {
+                @Override
+                public void visit(String ignored, Object value) {
+                    values.add(value);
+                }
+
+                @Override
+                public void visitEnd() {
+                    attributes.put(name, values.toArray());
+                }
+            };
+        }
+    }
+}
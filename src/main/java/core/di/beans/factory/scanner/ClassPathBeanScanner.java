@@ -0,0 +1,182 @@
+package core.di.beans.factory.scanner;
+
+import core.annotation.Component;
+import core.annotation.ComponentScan;
+import core.annotation.Configuration;
+import core.di.beans.factory.definition.BeanDefinitionRegistry;
+import core.di.beans.factory.definition.ClassBeanDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.BeanDefinitionStoreException;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+
+/**
+ * 클래스 파일을 ASM 으로 읽어서 @Component (메타 어노테이션 포함) 후보를 찾는다.
+ * 메타 어노테이션도 어노테이션의 클래스 파일을 읽어서 판단하기 때문에 후보로 확정된 클래스만 로딩한다.
+ * basePackage 는 Reflections 처럼 접두사로 매칭한다. ("example" 은 "example2" 패키지도 포함한다)
+ *
+ * @author KingCjy
+ */
+public class ClassPathBeanScanner implements BeanScanner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClassPathBeanScanner.class);
+
+    private static final String[] RESOURCE_PATTERNS = {"*/**/*.class", "*.class"};
+    private static final String COMPONENT = Component.class.getName();
+
+    private final BeanDefinitionRegistry beanDefinitionRegistry;
+    private final ClassLoader classLoader;
+    private final ResourcePatternResolver resourcePatternResolver;
+
+    private final Map<String, Boolean> componentAnnotations = new HashMap<>();
+
+    private int readCount;
+    private int loadCount;
+
+    public ClassPathBeanScanner(BeanDefinitionRegistry beanDefinitionRegistry) {
+        this(beanDefinitionRegistry, ClassUtils.getDefaultClassLoader());
+    }
+
+    public ClassPathBeanScanner(BeanDefinitionRegistry beanDefinitionRegistry, ClassLoader classLoader) {
+        this.beanDefinitionRegistry = beanDefinitionRegistry;
+        this.classLoader = classLoader;
+        this.resourcePatternResolver = new PathMatchingResourcePatternResolver(classLoader);
+        this.componentAnnotations.put(COMPONENT, true);
+    }
+
+    @Override
+    public void scan(Object... basePackages) {
+        scanPackages(new LinkedHashSet<>(), basePackages);
+        logger.info("read {} class files, loaded {} classes", readCount, loadCount);
+    }
+
+    private void scanPackages(Set<String> scannedClasses, Object[] basePackages) {
+        for (Object basePackage : basePackages) {
+            for (ClassFileMetadata metadata : findCandidates(basePackage.toString())) {
+                if(!scannedClasses.add(metadata.getClassName())) {
+                    continue;
+                }
+
+                Class<?> targetClass = loadClass(metadata.getClassName());
+                beanDefinitionRegistry.registerDefinition(new ClassBeanDefinition(targetClass, getComponentName(metadata)));
+
+                if(metadata.hasAnnotation(ComponentScan.class.getName())) {
+                    scanPackages(scannedClasses, getComponentScanPackage(metadata));
+                }
+            }
+        }
+    }
+
+    private List<ClassFileMetadata> findCandidates(String basePackage) {
+        List<ClassFileMetadata> candidates = new ArrayList<>();
+
+        try {
+            String basePath = ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX + ClassUtils.convertClassNameToResourcePath(basePackage);
+
+            for (String resourcePattern : RESOURCE_PATTERNS) {
+                for (Resource resource : resourcePatternResolver.getResources(basePath + resourcePattern)) {
+                    ClassFileMetadata metadata = read(resource.getInputStream());
+
+                    if(!metadata.isAnnotation() && isComponent(metadata)) {
+                        candidates.add(metadata);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new BeanDefinitionStoreException("I/O failure during classpath scanning of " + basePackage, e);
+        }
+
+        return candidates;
+    }
+
+    private boolean isComponent(ClassFileMetadata metadata) {
+        return metadata.getAnnotationTypes().stream()
+                .anyMatch(annotationType -> isComponentAnnotation(annotationType, new HashSet<>()));
+    }
+
+    private boolean isComponentAnnotation(String annotationType, Set<String> visited) {
+        Boolean cached = componentAnnotations.get(annotationType);
+        if(cached != null) {
+            return cached;
+        }
+
+        if(annotationType.startsWith("java.") || !visited.add(annotationType)) {
+            return false;
+        }
+
+        boolean component = readAnnotationType(annotationType)
+                .map(metadata -> metadata.getAnnotationTypes().stream().anyMatch(type -> isComponentAnnotation(type, visited)))
+                .orElse(false);
+
+        componentAnnotations.put(annotationType, component);
+        return component;
+    }
+
+    private Optional<ClassFileMetadata> readAnnotationType(String annotationType) {
+        InputStream inputStream = classLoader.getResourceAsStream(ClassUtils.convertClassNameToResourcePath(annotationType) + ClassUtils.CLASS_FILE_SUFFIX);
+
+        if(inputStream == null) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(read(inputStream));
+        } catch (IOException e) {
+            throw new BeanDefinitionStoreException("Failed to read annotation class file: " + annotationType, e);
+        }
+    }
+
+    private ClassFileMetadata read(InputStream inputStream) throws IOException {
+        try (InputStream in = inputStream) {
+            readCount++;
+            return ClassFileMetadata.read(in);
+        }
+    }
+
+//    스테레오타입 어노테이션의 value 는 모두 @AliasFor(annotation = Component.class) 이다.
+    private String getComponentName(ClassFileMetadata metadata) {
+        return metadata.getAnnotationTypes().stream()
+                .filter(annotationType -> isComponentAnnotation(annotationType, new HashSet<>()))
+                .map(annotationType -> metadata.getAttribute(annotationType, "value"))
+                .filter(value -> value instanceof String && !"".equals(value))
+                .map(String.class::cast)
+                .findFirst()
+                .orElse(metadata.getClassName());
+    }
+
+    private String[] getComponentScanPackage(ClassFileMetadata metadata) {
+        Object value = metadata.getAttribute(ComponentScan.class.getName(), "value");
+
+        if(!metadata.hasAnnotation(Configuration.class.getName()) || value == null) {
+            return new String[]{};
+        }
+
+        return Arrays.stream((Object[]) value)
+                .map(String::valueOf)
+                .toArray(String[]::new);
+    }
+
+    private Class<?> loadClass(String className) {
+        try {
+            loadCount++;
+            return ClassUtils.forName(className, classLoader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            throw new BeanDefinitionStoreException("Failed to load bean class: " + className, e);
+        }
+    }
+
+    public int getReadCount() {
+        return readCount;
+    }
+
+    public int getLoadCount() {
+        return loadCount;
+    }
+}
@@ -4,12 +4,17 @@ import core.annotation.Bean;
 import core.annotation.Configuration;
 import core.di.beans.factory.definition.BeanDefinitionRegistry;
 import core.di.beans.factory.definition.MethodBeanDefinition;
+import core.di.beans.factory.index.ComponentIndex;
+import core.di.beans.factory.index.ComponentIndexLoader;
 import core.util.ReflectionUtils;
 import org.reflections.Reflections;
 import org.reflections.scanners.MethodAnnotationsScanner;
 import org.reflections.scanners.SubTypesScanner;
 import org.reflections.scanners.TypeAnnotationsScanner;
+import org.springframework.util.ClassUtils;
 
+import javax.annotation.Nullable;
+import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -20,26 +25,48 @@ import java.util.stream.Collectors;
 public class MethodBeanScanner implements BeanScanner {
 
     public final BeanDefinitionRegistry beanDefinitionRegistry;
+    private final ComponentIndex componentIndex;
 
     public MethodBeanScanner(BeanDefinitionRegistry beanDefinitionRegistry) {
+        this(beanDefinitionRegistry, ComponentIndexLoader.loadIndex(ClassUtils.getDefaultClassLoader()));
+    }
+
+    public MethodBeanScanner(BeanDefinitionRegistry beanDefinitionRegistry, @Nullable ComponentIndex componentIndex) {
         this.beanDefinitionRegistry = beanDefinitionRegistry;
+        this.componentIndex = componentIndex;
     }
 
     @Override
     public void scan(Object... basePackages) {
-        Reflections reflections = new Reflections(basePackages, new TypeAnnotationsScanner(), new SubTypesScanner(), new MethodAnnotationsScanner());
-        Set<Class<?>> configurationClasses = ReflectionUtils.getAnnotatedClasses(reflections, Configuration.class);
+        Set<Class<?>> configurationClasses = findConfigurationClasses(basePackages);
 
         Set<MethodBeanDefinition> beanDefinitions = createMethodBeanDefinitions(configurationClasses);
 
         beanDefinitions.forEach(beanDefinitionRegistry::registerDefinition);
     }
 
+    private Set<Class<?>> findConfigurationClasses(Object... basePackages) {
+        if(componentIndex != null) {
+            return ReflectionUtils.forNames(componentIndex.getCandidateTypes(basePackages, Configuration.class));
+        }
+
+        Reflections reflections = new Reflections(basePackages, new TypeAnnotationsScanner(), new SubTypesScanner(), new MethodAnnotationsScanner());
+        return ReflectionUtils.getAnnotatedClasses(reflections, Configuration.class);
+    }
+
     private Set<MethodBeanDefinition> createMethodBeanDefinitions(Set<Class<?>> configurationClasses) {
         return configurationClasses.stream()
                 .flatMap(targetClass -> Arrays.stream(targetClass.getMethods())
-                        .filter(method -> method.isAnnotationPresent(Bean.class))
+                        .filter(method -> isBeanMethod(targetClass, method))
                         .map(MethodBeanDefinition::new))
                 .collect(Collectors.toSet());
     }
+
+    private boolean isBeanMethod(Class<?> targetClass, Method method) {
+        if(componentIndex != null) {
+            return componentIndex.isBeanMethod(targetClass, method);
+        }
+
+        return method.isAnnotationPresent(Bean.class);
+    }
 }
@@ -0,0 +1,109 @@
+package core.di.beans.factory.startup;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 부팅 중 한 단계 (스캔, 빈 생성, @PostConstruct ...) 의 시작 시각과 걸린 시간.
+ * 같은 스레드에서 끝나기 전에 시작한 단계는 children 으로 들어간다.
+ *
+ * @author KingCjy
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"name", "tag", "attributes", "thread", "startMillis", "durationMillis", "children"})
+public class StartupStep implements AutoCloseable {
+
+    static final StartupStep NONE = new StartupStep(null, null, null, null, 0);
+
+    private final StartupTimeline timeline;
+    private final StartupStep previous;
+    private final String name;
+    private final String tag;
+    private final String thread;
+    private final long startNanos;
+    private volatile long endNanos;
+    private final Collection<StartupStep> children = new ConcurrentLinkedQueue<>();
+    private final Map<String, String> attributes = new ConcurrentSkipListMap<>();
+
+    StartupStep(StartupTimeline timeline, StartupStep previous, String name, String tag, long startNanos) {
+        this.timeline = timeline;
+        this.previous = previous;
+        this.name = name;
+        this.tag = tag;
+        this.thread = Thread.currentThread().getName();
+        this.startNanos = startNanos;
+    }
+
+    public void end() {
+        if(timeline != null && endNanos == 0) {
+            endNanos = System.nanoTime();
+            timeline.end(this);
+        }
+    }
+
+//    단계의 결과 (조건 평가 결과 등) 를 함께 남긴다.
+    public StartupStep attribute(String key, Object value) {
+        if(timeline != null) {
+            attributes.put(key, String.valueOf(value));
+        }
+        return this;
+    }
+
+    @Override
+    public void close() {
+        end();
+    }
+
+    void addChild(StartupStep step) {
+        children.add(step);
+    }
+
+    StartupStep getPrevious() {
+        return previous;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Nullable
+    public String getTag() {
+        return tag;
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    public String getThread() {
+        return thread;
+    }
+
+//    타임라인 시작 기준
+    public double getStartMillis() {
+        return (startNanos - timeline.getStartNanos()) / 1_000_000.0;
+    }
+
+//    아직 끝나지 않은 단계는 -1
+    public double getDurationMillis() {
+        return endNanos == 0 ? -1 : (endNanos - startNanos) / 1_000_000.0;
+    }
+
+    public List<StartupStep> getChildren() {
+        return new ArrayList<>(children);
+    }
+
+    @Override
+    public String toString() {
+        return name + (tag == null ? "" : "[" + tag + "]") + " " + getDurationMillis() + "ms";
+    }
+}
@@ -0,0 +1,123 @@
+package core.di.beans.factory.startup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 컨테이너 부팅 단계를 중첩된 {@link StartupStep} 으로 기록한다.
+ * 꺼져 있으면 ({@link #NONE}) start 는 아무것도 기록하지 않는 같은 step 을 돌려주기 때문에 비용이 거의 없다.
+ * 부팅 스레드가 아닌 스레드 (병렬 생성) 에서 시작한 단계는 부팅 스레드에서 진행 중인 단계 아래에 들어간다.
+ *
+ * @author KingCjy
+ */
+public class StartupTimeline {
+
+    public static final StartupTimeline NONE = new StartupTimeline(false);
+
+    private final boolean enabled;
+    private volatile boolean recording;
+
+    private final long startNanos = System.nanoTime();
+    private final Thread owner = Thread.currentThread();
+    private final ThreadLocal<StartupStep> current = new ThreadLocal<>();
+    private volatile StartupStep ownerCurrent;
+    private final Collection<StartupStep> steps = new ConcurrentLinkedQueue<>();
+
+    public StartupTimeline() {
+        this(true);
+    }
+
+    private StartupTimeline(boolean enabled) {
+        this.enabled = enabled;
+        this.recording = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public StartupStep start(String name) {
+        return start(name, null);
+    }
+
+    public StartupStep start(String name, @Nullable String tag) {
+        if(!recording) {
+            return StartupStep.NONE;
+        }
+
+        StartupStep previous = current.get();
+        StartupStep parent = previous == null && Thread.currentThread() != owner ? ownerCurrent : previous;
+        StartupStep step = new StartupStep(this, previous, name, tag, System.nanoTime());
+
+        if(parent == null) {
+            steps.add(step);
+        } else {
+            parent.addChild(step);
+        }
+
+        setCurrent(step);
+        return step;
+    }
+
+    void end(StartupStep step) {
+        if(current.get() == step) {
+            setCurrent(step.getPrevious());
+        }
+    }
+
+    private void setCurrent(StartupStep step) {
+        if(step == null) {
+            current.remove();
+        } else {
+            current.set(step);
+        }
+
+        if(Thread.currentThread() == owner) {
+            ownerCurrent = step;
+        }
+    }
+
+//    부팅이 끝난 후 getBean 으로 만드는 빈까지 계속 쌓이지 않도록 기록을 멈춘다.
+    public void finish() {
+        recording = false;
+    }
+
+    long getStartNanos() {
+        return startNanos;
+    }
+
+    public List<StartupStep> getSteps() {
+        return enabled ? new ArrayList<>(steps) : Collections.emptyList();
+    }
+
+    public String toJson() {
+        try {
+            return new ObjectMapper()
+                    .enable(SerializationFeature.INDENT_OUTPUT)
+                    .writeValueAsString(getSteps());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("cannot serialize startup timeline", e);
+        }
+    }
+
+    public void write(Path location) {
+        try {
+            Files.write(location, toJson().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
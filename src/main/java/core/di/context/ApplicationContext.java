@@ -2,6 +2,21 @@ package core.di.context;
 
 import core.di.beans.factory.BeanFactory;
 
-public interface ApplicationContext extends BeanFactory {
+import javax.annotation.Nullable;
+import java.util.Set;
 
-}
\ No newline at end of file
+public interface ApplicationContext extends BeanFactory, AutoCloseable {
+
+//    getBean, getAnnotatedBeans 는 이 컨텍스트에서 찾지 못하면 부모 컨텍스트에서 찾는다.
+    @Nullable
+    ApplicationContext getParent();
+
+//    바뀐 클래스만 다시 읽고, 그 빈과 의존하는 빈만 다시 만든다. 다시 만든 빈 이름을 돌려준다.
+    Set<String> refresh(Set<Class<?>> changedClasses);
+
+    void addRefreshListener(ContextRefreshListener listener);
+
+//    이 컨텍스트가 만든 빈을 정리한다. (스케줄러, ExecutorService 종료) 부모 컨텍스트는 닫지 않는다.
+    @Override
+    void close();
+}
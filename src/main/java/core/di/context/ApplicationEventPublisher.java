@@ -0,0 +1,10 @@
+package core.di.context;
+
+/**
+ * 이벤트를 이벤트 타입에 맞는 @EventListener 메소드로 전달한다.
+ *
+ * @author KingCjy
+ */
+public interface ApplicationEventPublisher {
+    void publishEvent(Object event);
+}
@@ -0,0 +1,13 @@
+package core.di.context;
+
+import java.util.Set;
+
+/**
+ * {@link ApplicationContext#refresh(Set)} 로 빈을 다시 만든 후 호출된다.
+ *
+ * @author KingCjy
+ */
+@FunctionalInterface
+public interface ContextRefreshListener {
+    void onRefresh(ApplicationContext applicationContext, Set<String> refreshedBeanNames);
+}
@@ -0,0 +1,96 @@
+package core.di.context.event;
+
+import core.annotation.EventListener;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.Ordered;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+
+/**
+ * 빈에 묶어둔 MethodHandle 로 @EventListener 메소드를 호출한다.
+ *
+ * @author KingCjy
+ */
+public class ApplicationListenerMethod {
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(void.class, Object.class);
+
+    private final String beanName;
+    private final Method method;
+    private final Class<?> eventType;
+    private final EventListener.Mode mode;
+    private final int order;
+    private final MethodHandle invoker;
+
+    public ApplicationListenerMethod(String beanName, Object bean, Method method) {
+        if(method.getParameterCount() != 1) {
+            throw new BeanCreationException(beanName, "@EventListener method must have exactly one parameter: " + method);
+        }
+
+        this.beanName = beanName;
+        this.method = method;
+        this.eventType = ClassUtils.resolvePrimitiveIfNecessary(method.getParameterTypes()[0]);
+        this.mode = AnnotatedElementUtils.findMergedAnnotation(method, EventListener.class).mode();
+        this.order = getOrder(method);
+
+        try {
+            ReflectionUtils.makeAccessible(method);
+            this.invoker = MethodHandles.lookup().unreflect(method).bindTo(bean).asType(INVOKER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new BeanCreationException(beanName, "Cannot access @EventListener method " + method, e);
+        }
+    }
+
+    private int getOrder(Method method) {
+        Order order = AnnotatedElementUtils.findMergedAnnotation(method, Order.class);
+        return order == null ? Ordered.LOWEST_PRECEDENCE : order.value();
+    }
+
+    public boolean supports(Class<?> eventClass) {
+        return eventType.isAssignableFrom(eventClass);
+    }
+
+//    RuntimeException, Error 는 그대로 던지고 checked 예외만 감싼다.
+    public void invoke(Object event) {
+        try {
+            invoker.invokeExact(event);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UndeclaredThrowableException(e, "@EventListener method threw checked exception: " + method);
+        }
+    }
+
+    public String getBeanName() {
+        return beanName;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public Class<?> getEventType() {
+        return eventType;
+    }
+
+    public EventListener.Mode getMode() {
+        return mode;
+    }
+
+    public int getOrder() {
+        return order;
+    }
+
+    @Override
+    public String toString() {
+        return beanName + "." + method.getName() + "(" + eventType.getSimpleName() + ", " + mode + ")";
+    }
+}
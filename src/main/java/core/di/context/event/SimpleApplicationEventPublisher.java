@@ -0,0 +1,154 @@
+package core.di.context.event;
+
+import core.annotation.Component;
+import core.annotation.EventListener;
+import core.di.beans.factory.BeanClassMetadata;
+import core.di.beans.factory.definition.BeanDefinition;
+import core.di.beans.factory.processor.BeanPostProcessor;
+import core.di.beans.factory.processor.CandidateFilter;
+import core.di.context.ApplicationEventPublisher;
+import core.jdbc.TransactionManager;
+import core.scheduling.BoundedExecutor;
+import core.scheduling.ExecutorMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.util.ClassUtils;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 빈을 후처리하면서 @EventListener 메소드를 모아두고, 이벤트 클래스마다 호출할 리스너 배열을 한번만 계산해 둔다.
+ * 프록시가 된 빈의 메소드를 호출하도록 가장 마지막에 후처리한다.
+ *
+ * @author KingCjy
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class SimpleApplicationEventPublisher implements ApplicationEventPublisher, BeanPostProcessor, DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(SimpleApplicationEventPublisher.class);
+
+    public static final String THREADS_PROPERTY = "core.event.threads";
+    public static final String QUEUE_CAPACITY_PROPERTY = "core.event.queue-capacity";
+
+    private static final ApplicationListenerMethod[] NO_LISTENERS = new ApplicationListenerMethod[0];
+    private static final Comparator<ApplicationListenerMethod> LISTENER_ORDER = Comparator.comparingInt(ApplicationListenerMethod::getOrder);
+
+    private final List<ApplicationListenerMethod> listeners = new CopyOnWriteArrayList<>();
+    private final Map<Class<?>, ApplicationListenerMethod[]> dispatchTable = new ConcurrentHashMap<>();
+    private volatile BoundedExecutor executor;
+
+    @Override
+    public CandidateFilter getCandidateFilter() {
+        return CandidateFilter.annotatedWith(EventListener.class);
+    }
+
+//    같은 이름의 빈을 다시 후처리하면 (refresh) 이전 인스턴스의 리스너를 대체한다.
+    @Override
+    public Object postProcess(BeanDefinition beanDefinition, Object bean) {
+        Set<Method> methods = BeanClassMetadata.forClass(ClassUtils.getUserClass(bean)).getAnnotatedMethods(EventListener.class);
+
+        List<ApplicationListenerMethod> beanListeners = new ArrayList<>();
+        for (Method method : methods) {
+            beanListeners.add(new ApplicationListenerMethod(beanDefinition.getName(), bean, method));
+        }
+
+        synchronized (listeners) {
+            listeners.removeIf(listener -> listener.getBeanName().equals(beanDefinition.getName()));
+            listeners.addAll(beanListeners);
+            dispatchTable.clear();
+        }
+
+        logger.debug("registered event listeners {}", beanListeners);
+        return bean;
+    }
+
+    @Override
+    public void publishEvent(Object event) {
+        for (ApplicationListenerMethod listener : getListeners(event.getClass())) {
+            switch (listener.getMode()) {
+                case SYNC:
+                    listener.invoke(event);
+                    break;
+                case ASYNC:
+                    getExecutor().execute(() -> invokeQuietly(listener, event));
+                    break;
+                case AFTER_COMMIT:
+                    if(TransactionManager.isTransactionActive()) {
+                        TransactionManager.registerAfterCommit(() -> invokeQuietly(listener, event));
+                    } else {
+                        listener.invoke(event);
+                    }
+                    break;
+            }
+        }
+    }
+
+    public ApplicationListenerMethod[] getListeners(Class<?> eventClass) {
+        ApplicationListenerMethod[] eventListeners = dispatchTable.get(eventClass);
+        if(eventListeners != null) {
+            return eventListeners;
+        }
+
+        synchronized (listeners) {
+            return dispatchTable.computeIfAbsent(eventClass, this::resolveListeners);
+        }
+    }
+
+//    같은 order 면 등록한 순서를 유지한다.
+    private ApplicationListenerMethod[] resolveListeners(Class<?> eventClass) {
+        ApplicationListenerMethod[] eventListeners = listeners.stream()
+                .filter(listener -> listener.supports(eventClass))
+                .sorted(LISTENER_ORDER)
+                .toArray(ApplicationListenerMethod[]::new);
+
+        return eventListeners.length == 0 ? NO_LISTENERS : eventListeners;
+    }
+
+    private void invokeQuietly(ApplicationListenerMethod listener, Object event) {
+        try {
+            listener.invoke(event);
+        } catch (Throwable e) {
+            logger.error("event listener {} failed for {}", listener, event, e);
+        }
+    }
+
+//    ASYNC 리스너를 처음 호출할 때 만든다. 큐가 가득 차면 발행한 스레드에서 실행해서 속도를 맞춘다.
+    private BoundedExecutor getExecutor() {
+        BoundedExecutor executor = this.executor;
+        if(executor != null) {
+            return executor;
+        }
+
+        synchronized (this) {
+            if(this.executor == null) {
+                int threads = Integer.getInteger(THREADS_PROPERTY, Math.max(2, Runtime.getRuntime().availableProcessors()));
+                int queueCapacity = Integer.getInteger(QUEUE_CAPACITY_PROPERTY, 1024);
+
+                this.executor = new BoundedExecutor("event", threads, queueCapacity, new ThreadPoolExecutor.CallerRunsPolicy());
+            }
+            return this.executor;
+        }
+    }
+
+    @Nullable
+    public ExecutorMetrics getExecutorMetrics() {
+        BoundedExecutor executor = this.executor;
+        return executor == null ? null : executor.getMetrics();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        BoundedExecutor executor = this.executor;
+        if(executor != null) {
+            executor.destroy();
+        }
+    }
+}
@@ -1,33 +1,112 @@
 package core.di.context.support;
 
 import com.google.common.collect.Lists;
+import core.annotation.Bean;
+import core.annotation.Component;
 import core.annotation.ComponentScan;
+import core.annotation.Configuration;
 import core.di.beans.factory.DefaultBeanFactory;
+import core.di.beans.factory.definition.BeanDefinition;
+import core.di.beans.factory.definition.ClassBeanDefinition;
+import core.di.beans.factory.definition.FactoryBeanDefinition;
+import core.di.beans.factory.definition.MethodBeanDefinition;
+import core.di.beans.factory.index.ComponentIndex;
+import core.di.beans.factory.index.ComponentIndexLoader;
+import core.di.beans.factory.scanner.BeanScanner;
 import core.di.beans.factory.scanner.ClassBeanScanner;
+import core.di.beans.factory.scanner.ClassPathBeanScanner;
 import core.di.beans.factory.scanner.MethodBeanScanner;
+import core.di.beans.factory.startup.StartupStep;
+import core.di.beans.factory.startup.StartupTimeline;
 import core.di.context.ApplicationContext;
+import core.di.context.ContextRefreshListener;
+import core.util.ReflectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.ClassUtils;
 
 import javax.annotation.Nullable;
+import java.io.UncheckedIOException;
 import java.lang.annotation.Annotation;
-import java.util.Arrays;
-import java.util.List;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
 
 public class AnnotationConfigApplicationContext implements ApplicationContext {
     private static final Logger log = LoggerFactory.getLogger(AnnotationConfigApplicationContext.class);
 
+    public static final String TIMELINE_PROPERTY = "core.context.timeline";
+    public static final String TIMELINE_FILE_PROPERTY = "core.context.timeline.file";
+
+    @Nullable
+    private ApplicationContext parent;
     private DefaultBeanFactory beanFactory;
+    private StartupTimeline startupTimeline;
+    private List<ContextRefreshListener> refreshListeners = new CopyOnWriteArrayList<>();
+    private volatile boolean closed;
 
     public AnnotationConfigApplicationContext(Class<?>... annotatedClasses) {
-        Object[] basePackages = findBasePackages(annotatedClasses);
+        this(null, annotatedClasses);
+    }
 
-        beanFactory = new DefaultBeanFactory();
+    public AnnotationConfigApplicationContext(@Nullable ApplicationContext parent, Class<?>... annotatedClasses) {
+        this.parent = parent;
+        startupTimeline = Boolean.getBoolean(TIMELINE_PROPERTY) ? new StartupTimeline() : StartupTimeline.NONE;
+        Object[] basePackages = findBasePackages(annotatedClasses);
 
-        new ClassBeanScanner(beanFactory).scan(basePackages);
-        new MethodBeanScanner(beanFactory).scan(basePackages);
+        beanFactory = new DefaultBeanFactory(parent);
+        beanFactory.setStartupTimeline(startupTimeline);
 
+        scan(basePackages);
         beanFactory.initialize();
+
+        finishStartupTimeline();
+    }
+
+    private void scan(Object[] basePackages) {
+        try (StartupStep ignored = startupTimeline.start("scan")) {
+            ComponentIndex componentIndex = ComponentIndexLoader.loadIndex(ClassUtils.getDefaultClassLoader());
+
+            try (StartupStep classScan = startupTimeline.start("scan-classes")) {
+                createClassBeanScanner(componentIndex).scan(basePackages);
+            }
+            try (StartupStep methodScan = startupTimeline.start("scan-bean-methods")) {
+                new MethodBeanScanner(beanFactory, componentIndex).scan(basePackages);
+            }
+        }
+    }
+
+//    부팅 이후의 getBean 은 기록하지 않고, 설정되어 있으면 JSON 으로 남긴다.
+    private void finishStartupTimeline() {
+        if(!startupTimeline.isEnabled()) {
+            return;
+        }
+
+        startupTimeline.finish();
+
+        String location = System.getProperty(TIMELINE_FILE_PROPERTY);
+        if(location == null) {
+            log.info("startup timeline: {}", startupTimeline.toJson());
+            return;
+        }
+
+        try {
+            startupTimeline.write(Paths.get(location));
+            log.info("startup timeline written to {}", location);
+        } catch (UncheckedIOException e) {
+            log.warn("cannot write startup timeline {}", location, e);
+        }
+    }
+
+//    인덱스가 없으면 클래스를 로딩하지 않는 ASM 스캐너를 사용한다.
+    private BeanScanner createClassBeanScanner(ComponentIndex componentIndex) {
+        if(componentIndex != null) {
+            return new ClassBeanScanner(beanFactory, componentIndex);
+        }
+
+        return new ClassPathBeanScanner(beanFactory);
     }
 
     private Object[] findBasePackages(Class<?>[] annotatedClasses) {
@@ -62,10 +141,102 @@ public class AnnotationConfigApplicationContext implements ApplicationContext {
         return beanFactory.getBean(name, requireType);
     }
 
+    @Override
+    public boolean containsBean(String name) {
+        return beanFactory.containsBean(name);
+    }
+
     @Nullable
     @Override
     public Object[] getAnnotatedBeans(Class<? extends Annotation> annotation) {
         return beanFactory.getAnnotatedBeans(annotation);
     }
 
+    @Override
+    public <T> List<T> getBeansOfType(Class<T> type) {
+        return beanFactory.getBeansOfType(type);
+    }
+
+    @Override
+    public synchronized Set<String> refresh(Set<Class<?>> changedClasses) {
+        Set<String> changedClassNames = changedClasses.stream()
+                .map(Class::getName)
+                .collect(Collectors.toSet());
+
+        Set<String> removedBeanNames = beanFactory.getBeanDefinitions().stream()
+                .filter(beanDefinition -> changedClassNames.contains(getDeclaringType(beanDefinition).getName()))
+                .map(BeanDefinition::getName)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        List<BeanDefinition> changedDefinitions = changedClasses.stream()
+                .flatMap(changedClass -> createBeanDefinitions(changedClass).stream())
+                .collect(Collectors.toList());
+        changedDefinitions.forEach(beanDefinition -> removedBeanNames.remove(beanDefinition.getName()));
+
+        Set<String> refreshedBeanNames = beanFactory.refresh(removedBeanNames, changedDefinitions);
+        refreshListeners.forEach(listener -> listener.onRefresh(this, refreshedBeanNames));
+
+        return refreshedBeanNames;
+    }
+
+//    클래스 빈은 클래스, @Bean 은 설정 클래스에 속한다.
+    private Class<?> getDeclaringType(BeanDefinition beanDefinition) {
+        if(beanDefinition instanceof FactoryBeanDefinition) {
+            return getDeclaringType(((FactoryBeanDefinition) beanDefinition).getBeanDefinition());
+        }
+
+        if(beanDefinition instanceof MethodBeanDefinition) {
+            return ((MethodBeanDefinition) beanDefinition).getParentType();
+        }
+
+        return beanDefinition.getType();
+    }
+
+//    스캐너와 같은 기준으로 클래스 하나만 다시 읽는다.
+    private List<BeanDefinition> createBeanDefinitions(Class<?> changedClass) {
+        List<BeanDefinition> beanDefinitions = new ArrayList<>();
+
+        if(changedClass.isAnnotation() || !AnnotatedElementUtils.hasAnnotation(changedClass, Component.class)) {
+            return beanDefinitions;
+        }
+
+        beanDefinitions.add(new ClassBeanDefinition(changedClass, ReflectionUtils.getComponentName(changedClass)));
+
+        if(changedClass.isAnnotationPresent(Configuration.class)) {
+            Arrays.stream(changedClass.getMethods())
+                    .filter(method -> method.isAnnotationPresent(Bean.class))
+                    .map(MethodBeanDefinition::new)
+                    .forEach(beanDefinitions::add);
+        }
+
+        return beanDefinitions;
+    }
+
+    @Override
+    public void addRefreshListener(ContextRefreshListener listener) {
+        refreshListeners.add(listener);
+    }
+
+    @Override
+    public synchronized void close() {
+        if(closed) {
+            return;
+        }
+
+        closed = true;
+        beanFactory.destroySingletons();
+        log.info("application context closed");
+    }
+
+    @Nullable
+    @Override
+    public ApplicationContext getParent() {
+        return parent;
+    }
+
+    @Override
+    public StartupTimeline getStartupTimeline() {
+        return startupTimeline;
+    }
+
 }
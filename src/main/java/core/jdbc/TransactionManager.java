@@ -1,6 +1,9 @@
 package core.jdbc;
 
 import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * @author KingCjy
@@ -10,6 +13,7 @@ public class TransactionManager {
     private static ThreadLocal<Connection> holdConnections = new ThreadLocal<>();
     private static ThreadLocal<Connection> connections = new ThreadLocal<>();
     private static ThreadLocal<Boolean> actives = new ThreadLocal<>();
+    private static ThreadLocal<List<Runnable>> afterCommits = new ThreadLocal<>();
 
     public static void startTransaction() {
         if(isTransactionActive()) {
@@ -43,8 +47,29 @@ public class TransactionManager {
         holdConnections.set(null);
     }
 
+//    커밋된 후에 실행할 작업. 롤백되면 버린다.
+    public static void registerAfterCommit(Runnable callback) {
+        if(!isTransactionActive()) {
+            throw new IllegalStateException("Cannot register after commit callback - transaction is not active");
+        }
+
+        List<Runnable> callbacks = afterCommits.get();
+        if(callbacks == null) {
+            callbacks = new ArrayList<>();
+            afterCommits.set(callbacks);
+        }
+        callbacks.add(callback);
+    }
+
+    public static List<Runnable> takeAfterCommits() {
+        List<Runnable> callbacks = afterCommits.get();
+        afterCommits.remove();
+        return callbacks == null ? Collections.emptyList() : callbacks;
+    }
+
     public static void finishTransaction() {
         connections.set(null);
         actives.set(false);
+        afterCommits.remove();
     }
 }
@@ -0,0 +1,111 @@
+package core.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 실행 시간 (ns) 을 2 의 거듭제곱 구간마다 16 칸으로 나눈 bucket 에 센다. 기록한 값과 bucket 의 오차는 1/16 이하
+ * 기록은 lock 과 객체 생성 없이 bucket 하나와 합계를 올리기만 하고, 백분위는 snapshot 을 만들 때 계산한다.
+ *
+ * @author KingCjy
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+//    2^40 ns (약 18분) 보다 긴 값은 마지막 bucket 에 센다.
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final String name;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final long startNanos = System.nanoTime();
+
+    public LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void record(long nanos, boolean error) {
+        long value = Math.max(nanos, 0);
+
+        buckets.incrementAndGet(bucketIndex(value));
+        totalNanos.add(value);
+        if(error) {
+            errors.increment();
+        }
+
+        long max = maxNanos.get();
+        while (value > max && !maxNanos.compareAndSet(max, value)) {
+            max = maxNanos.get();
+        }
+    }
+
+//    16 보다 작은 값은 그대로, 나머지는 최상위 비트 위치 (구간) 와 그 아래 4 비트 (칸) 로 찾는다.
+    static int bucketIndex(long value) {
+        if(value < SUB_BUCKETS) {
+            return (int) value;
+        }
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if(exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+//    bucket 에 들어가는 가장 큰 값
+    static long bucketUpperBound(int index) {
+        if(index < SUB_BUCKETS) {
+            return index;
+        }
+
+        int shift = index / SUB_BUCKETS - 1;
+        long lowerBound = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+
+    public TimerSnapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            count += counts[i];
+        }
+
+        long max = maxNanos.get();
+        long elapsedNanos = Math.max(System.nanoTime() - startNanos, 1);
+        double throughput = count * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        long mean = count == 0 ? 0 : totalNanos.sum() / count;
+
+        return new TimerSnapshot(name, count, errors.sum(), throughput, mean,
+                percentile(counts, count, 0.5, max), percentile(counts, count, 0.99, max), percentile(counts, count, 0.999, max), max);
+    }
+
+    private long percentile(long[] counts, long count, double percentile, long max) {
+        if(count == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(count * percentile);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if(seen >= rank) {
+                return i == counts.length - 1 ? max : Math.min(bucketUpperBound(i), max);
+            }
+        }
+        return max;
+    }
+}
@@ -0,0 +1,37 @@
+package core.metrics;
+
+import core.annotation.Component;
+
+import javax.annotation.Nullable;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 이름으로 타이머 히스토그램을 관리한다. 같은 이름을 쓰는 메소드는 히스토그램을 함께 쓴다.
+ *
+ * @author KingCjy
+ */
+@Component
+public class MetricRegistry {
+
+    private final Map<String, LatencyHistogram> timers = new ConcurrentHashMap<>();
+
+    public LatencyHistogram timer(String name) {
+        return timers.computeIfAbsent(name, LatencyHistogram::new);
+    }
+
+    @Nullable
+    public LatencyHistogram getTimer(String name) {
+        return timers.get(name);
+    }
+
+    public List<TimerSnapshot> getSnapshots() {
+        return timers.values().stream()
+                .map(LatencyHistogram::snapshot)
+                .sorted(Comparator.comparing(TimerSnapshot::getName))
+                .collect(Collectors.toList());
+    }
+}
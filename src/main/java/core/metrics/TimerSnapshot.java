@@ -0,0 +1,83 @@
+package core.metrics;
+
+/**
+ * {@link LatencyHistogram} 의 특정 시점 지표
+ * 시간은 ns 단위이고, throughput 은 타이머를 만든 뒤부터의 초당 호출 수
+ *
+ * @author KingCjy
+ */
+public class TimerSnapshot {
+
+    private final String name;
+    private final long count;
+    private final long errors;
+    private final double throughput;
+    private final long mean;
+    private final long p50;
+    private final long p99;
+    private final long p999;
+    private final long max;
+
+    public TimerSnapshot(String name, long count, long errors, double throughput, long mean, long p50, long p99, long p999, long max) {
+        this.name = name;
+        this.count = count;
+        this.errors = errors;
+        this.throughput = throughput;
+        this.mean = mean;
+        this.p50 = p50;
+        this.p99 = p99;
+        this.p999 = p999;
+        this.max = max;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public double getThroughput() {
+        return throughput;
+    }
+
+    public long getMean() {
+        return mean;
+    }
+
+    public long getP50() {
+        return p50;
+    }
+
+    public long getP99() {
+        return p99;
+    }
+
+    public long getP999() {
+        return p999;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return "TimerSnapshot{" +
+                "name='" + name + '\'' +
+                ", count=" + count +
+                ", errors=" + errors +
+                ", throughput=" + String.format("%.1f", throughput) +
+                ", mean=" + mean +
+                ", p50=" + p50 +
+                ", p99=" + p99 +
+                ", p999=" + p999 +
+                ", max=" + max +
+                '}';
+    }
+}
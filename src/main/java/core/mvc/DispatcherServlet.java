@@ -39,6 +39,11 @@ public class DispatcherServlet extends HttpServlet {
         this.addHandlerAdapter(new HandlerExecutionHandlerAdapter());
         this.addHandlerAdapter(new ControllerHandlerAdapter());
         this.addExceptionHandlerMapping(ehm);
+
+        ac.addRefreshListener((applicationContext, refreshedBeanNames) -> {
+            ahm.initialize();
+            ehm.initialize();
+        });
     }
 
     private void addHandlerMapping(HandlerMapping handlerMapping) {
@@ -1,6 +1,5 @@
 package core.mvc.tobe;
 
-import core.annotation.Component;
 import core.annotation.web.Controller;
 import core.annotation.web.RequestMethod;
 import core.di.beans.factory.BeanFactory;
@@ -12,7 +11,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.servlet.http.HttpServletRequest;
-import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
@@ -21,8 +19,8 @@ import java.util.stream.Collectors;
 public class AnnotationHandlerMapping implements HandlerMapping {
     private static final Logger logger = LoggerFactory.getLogger(AnnotationHandlerMapping.class);
 
-    private Map<HandlerKey, HandlerExecution> handlerExecutions = new LinkedHashMap<>();
-    private Controllers controllers;
+//    refresh 때 새 map 을 만들어 한번에 교체하기 때문에 처리 중인 요청은 이전 map 을 계속 사용한다.
+    private volatile Map<HandlerKey, HandlerExecution> handlerExecutions = new LinkedHashMap<>();
     private BeanFactory beanFactory;
 
     public AnnotationHandlerMapping(BeanFactory beanFactory) {
@@ -35,7 +33,7 @@ public class AnnotationHandlerMapping implements HandlerMapping {
         ArgumentResolver argumentResolver = new ArgumentResolverComposite(getArgumentResolvers());
         Object[] controllerInstances = getControllers();
 
-        controllers = new Controllers(controllerInstances, argumentResolver);
+        Controllers controllers = new Controllers(controllerInstances, argumentResolver);
         this.handlerExecutions = controllers.getHandlerExecutions();
     }
 
@@ -44,9 +42,7 @@ public class AnnotationHandlerMapping implements HandlerMapping {
     }
 
     private ArgumentResolver[] getArgumentResolvers() {
-        return Arrays.stream(beanFactory.getAnnotatedBeans(Component.class))
-                .filter(object -> ArgumentResolver.class.isAssignableFrom(object.getClass()))
-                .map(object -> (ArgumentResolver) object)
+        return beanFactory.getBeansOfType(ArgumentResolver.class).stream()
                 .sorted(OrderComparator.INSTANCE)
                 .collect(Collectors.toCollection(LinkedHashSet::new))
                 .toArray(new ArgumentResolver[]{});
@@ -61,9 +57,11 @@ public class AnnotationHandlerMapping implements HandlerMapping {
     }
 
     private HandlerExecution getHandlerInternal(HandlerKey requestHandlerKey) {
+        Map<HandlerKey, HandlerExecution> handlerExecutions = this.handlerExecutions;
+
         return handlerExecutions.keySet().stream()
                 .filter(handlerKey -> handlerKey.isMatch(requestHandlerKey))
-                .map(handlerKey -> handlerExecutions.get(handlerKey))
+                .map(handlerExecutions::get)
                 .findFirst()
                 .orElse(null);
     }
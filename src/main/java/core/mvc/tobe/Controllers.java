@@ -1,6 +1,7 @@
 package core.mvc.tobe;
 
 import core.annotation.web.RequestMapping;
+import core.aop.Advised;
 import core.mvc.tobe.support.ArgumentResolver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,8 +30,9 @@ public class Controllers {
         this.controllers = controllers;
         this.argumentResolver = argumentResolver;
 
+//        프록시인 컨트롤러는 원래 클래스의 메소드에서 @RequestMapping 을 찾고, 호출은 프록시로 한다.
         for (Object target : this.controllers) {
-            Class<?> controller = target.getClass();
+            Class<?> controller = target instanceof Advised ? ((Advised) target).getTargetObject().getClass() : target.getClass();
             addHandlerExecution(target, controller.getMethods());
         }
 
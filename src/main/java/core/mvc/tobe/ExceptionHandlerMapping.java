@@ -15,10 +15,17 @@ public class ExceptionHandlerMapping {
 
     private static final Logger logger = LoggerFactory.getLogger(ExceptionHandlerMapping.class);
 
-    private Map<Class<? extends Throwable>, HandlerExecution> handlerExecutions;
+    private BeanFactory beanFactory;
+    private volatile Map<Class<? extends Throwable>, HandlerExecution> handlerExecutions;
 
     public ExceptionHandlerMapping(BeanFactory beanFactory) {
-        logger.info("## Initialized Annotation Handler Mapping");
+        this.beanFactory = beanFactory;
+        initialize();
+    }
+
+//    컨텍스트 refresh 후 다시 호출하면 새 map 으로 한번에 교체한다.
+    public void initialize() {
+        logger.info("## Initialized Exception Handler Mapping");
 
         Object[] adviceInstances = getControllerAdvices(beanFactory);
 
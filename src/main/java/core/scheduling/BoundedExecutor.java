@@ -0,0 +1,80 @@
+package core.scheduling;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 스레드 수와 큐 크기가 정해진 ExecutorService
+ * {@code @Bean} 으로 등록하면 이름 (또는 @Qualifier) 으로 주입받을 수 있고, 컨텍스트를 닫을 때 종료된다.
+ * 큐가 가득 차면 거절 정책을 적용하고 횟수를 지표에 남긴다.
+ *
+ * @author KingCjy
+ */
+public class BoundedExecutor extends ThreadPoolExecutor implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(BoundedExecutor.class);
+
+    private static final long AWAIT_TERMINATION_MILLIS = 5_000;
+
+    private final String name;
+    private final int queueCapacity;
+    private final CountingRejectedExecutionHandler rejectedExecutionHandler;
+
+    public BoundedExecutor(String name, int threads, int queueCapacity) {
+        this(name, threads, queueCapacity, new AbortPolicy());
+    }
+
+    public BoundedExecutor(String name, int threads, int queueCapacity, RejectedExecutionHandler rejectedExecutionHandler) {
+        this(name, threads, queueCapacity, new CountingRejectedExecutionHandler(rejectedExecutionHandler));
+    }
+
+    private BoundedExecutor(String name, int threads, int queueCapacity, CountingRejectedExecutionHandler rejectedExecutionHandler) {
+        super(threads, threads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                new NamedThreadFactory(name), rejectedExecutionHandler);
+
+        this.name = name;
+        this.queueCapacity = queueCapacity;
+        this.rejectedExecutionHandler = rejectedExecutionHandler;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ExecutorMetrics getMetrics() {
+        return new ExecutorMetrics(name, getPoolSize(), getActiveCount(), getQueue().size(), queueCapacity,
+                getCompletedTaskCount(), rejectedExecutionHandler.rejected.sum());
+    }
+
+//    실행 중인 작업은 끝날 때까지 기다리고, 시간 안에 끝나지 않으면 인터럽트한다.
+    @Override
+    public void destroy() throws InterruptedException {
+        shutdown();
+
+        if(!awaitTermination(AWAIT_TERMINATION_MILLIS, TimeUnit.MILLISECONDS)) {
+            logger.warn("executor {} did not terminate in {}ms, {} queued tasks dropped", name, AWAIT_TERMINATION_MILLIS, shutdownNow().size());
+        }
+    }
+
+    private static class CountingRejectedExecutionHandler implements RejectedExecutionHandler {
+        private final RejectedExecutionHandler delegate;
+        private final LongAdder rejected = new LongAdder();
+
+        private CountingRejectedExecutionHandler(RejectedExecutionHandler delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void rejectedExecution(Runnable runnable, ThreadPoolExecutor executor) {
+            rejected.increment();
+            delegate.rejectedExecution(runnable, executor);
+        }
+    }
+}
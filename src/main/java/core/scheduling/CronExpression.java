@@ -0,0 +1,153 @@
+package core.scheduling;
+
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * "초 분 시 일 월 요일" 6개 필드 cron 식 (초를 뺀 5개 필드도 받는다)
+ * 각 필드는 *, ?, 값, 범위(a-b), 목록(a,b), 간격(*&#47;n, a-b/n) 을 쓸 수 있고, 월과 요일은 JAN, MON 같은 이름도 쓸 수 있다.
+ * 일과 요일이 모두 지정되면 둘 다 맞아야 한다.
+ *
+ * @author KingCjy
+ */
+public class CronExpression {
+
+    private static final List<String> MONTHS = Arrays.asList("JAN", "FEB", "MAR", "APR", "MAY", "JUN", "JUL", "AUG", "SEP", "OCT", "NOV", "DEC");
+    private static final List<String> DAYS_OF_WEEK = Arrays.asList("SUN", "MON", "TUE", "WED", "THU", "FRI", "SAT");
+
+//    일치하는 시각이 이 기간 안에 없으면 (2월 30일 같은 식) 실패로 본다.
+    private static final int MAX_SEARCH_YEARS = 4;
+
+    private final String expression;
+    private final BitSet seconds;
+    private final BitSet minutes;
+    private final BitSet hours;
+    private final BitSet daysOfMonth;
+    private final BitSet months;
+    private final BitSet daysOfWeek;
+
+    private CronExpression(String expression, String[] fields) {
+        this.expression = expression;
+        this.seconds = parseField(fields[0], 0, 59, null);
+        this.minutes = parseField(fields[1], 0, 59, null);
+        this.hours = parseField(fields[2], 0, 23, null);
+        this.daysOfMonth = parseField(fields[3], 1, 31, null);
+        this.months = parseField(fields[4], 1, 12, MONTHS);
+        this.daysOfWeek = parseField(fields[5], 0, 7, DAYS_OF_WEEK);
+
+//        7 도 일요일
+        if(daysOfWeek.get(7)) {
+            daysOfWeek.set(0);
+            daysOfWeek.clear(7);
+        }
+    }
+
+    public static CronExpression parse(String expression) {
+        String[] fields = expression.trim().split("\\s+");
+
+        if(fields.length == 5) {
+            String[] withSeconds = new String[6];
+            withSeconds[0] = "0";
+            System.arraycopy(fields, 0, withSeconds, 1, 5);
+            fields = withSeconds;
+        }
+
+        if(fields.length != 6) {
+            throw new IllegalArgumentException("cron expression must have 5 or 6 fields: '" + expression + "'");
+        }
+
+        try {
+            return new CronExpression(expression, fields);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("invalid cron expression '" + expression + "': " + e.getMessage(), e);
+        }
+    }
+
+    private static BitSet parseField(String field, int min, int max, List<String> names) {
+        BitSet bits = new BitSet(max + 1);
+
+        for (String part : field.split(",")) {
+            int step = 1;
+            int slash = part.indexOf('/');
+            if(slash >= 0) {
+                step = Integer.parseInt(part.substring(slash + 1));
+                part = part.substring(0, slash);
+                if(step < 1) {
+                    throw new IllegalArgumentException("step must be positive in '" + field + "'");
+                }
+            }
+
+            int start;
+            int end;
+            if(part.equals("*") || part.equals("?")) {
+                start = min;
+                end = max;
+            } else if(part.indexOf('-') > 0) {
+                int dash = part.indexOf('-');
+                start = parseValue(part.substring(0, dash), names);
+                end = parseValue(part.substring(dash + 1), names);
+            } else {
+                start = parseValue(part, names);
+                end = slash >= 0 ? max : start;
+            }
+
+            if(start < min || end > max || start > end) {
+                throw new IllegalArgumentException("'" + part + "' is out of range " + min + "-" + max);
+            }
+
+            for (int value = start; value <= end; value += step) {
+                bits.set(value);
+            }
+        }
+
+        return bits;
+    }
+
+    private static int parseValue(String value, List<String> names) {
+        if(names != null) {
+            int index = names.indexOf(value.toUpperCase(Locale.ROOT));
+            if(index >= 0) {
+                return names == MONTHS ? index + 1 : index;
+            }
+        }
+
+        return Integer.parseInt(value);
+    }
+
+//    after 보다 뒤의 가장 가까운 시각. 맞지 않는 가장 큰 단위부터 다음 값으로 넘긴다.
+    public ZonedDateTime next(ZonedDateTime after) {
+        ZonedDateTime next = after.truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+        ZonedDateTime limit = next.plusYears(MAX_SEARCH_YEARS);
+
+        while(next.isBefore(limit)) {
+            if(!months.get(next.getMonthValue())) {
+                next = next.plusMonths(1).withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS);
+            } else if(!daysOfMonth.get(next.getDayOfMonth()) || !daysOfWeek.get(next.getDayOfWeek().getValue() % 7)) {
+                next = next.plusDays(1).truncatedTo(ChronoUnit.DAYS);
+            } else if(!hours.get(next.getHour())) {
+                next = next.plusHours(1).truncatedTo(ChronoUnit.HOURS);
+            } else if(!minutes.get(next.getMinute())) {
+                next = next.plusMinutes(1).truncatedTo(ChronoUnit.MINUTES);
+            } else if(!seconds.get(next.getSecond())) {
+                next = next.plusSeconds(1);
+            } else {
+                return next;
+            }
+        }
+
+        throw new IllegalStateException("cron expression '" + expression + "' never matches");
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+}
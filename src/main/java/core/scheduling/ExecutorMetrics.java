@@ -0,0 +1,69 @@
+package core.scheduling;
+
+/**
+ * {@link BoundedExecutor} 의 특정 시점 지표
+ * queueCapacity 가 -1 이면 큐 크기 제한이 없다. rejected 는 큐가 가득 차서 거절 정책이 처리한 작업 수
+ *
+ * @author KingCjy
+ */
+public class ExecutorMetrics {
+
+    private final String name;
+    private final int poolSize;
+    private final int activeCount;
+    private final int queueSize;
+    private final int queueCapacity;
+    private final long completedTasks;
+    private final long rejected;
+
+    public ExecutorMetrics(String name, int poolSize, int activeCount, int queueSize, int queueCapacity, long completedTasks, long rejected) {
+        this.name = name;
+        this.poolSize = poolSize;
+        this.activeCount = activeCount;
+        this.queueSize = queueSize;
+        this.queueCapacity = queueCapacity;
+        this.completedTasks = completedTasks;
+        this.rejected = rejected;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public int getActiveCount() {
+        return activeCount;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public long getCompletedTasks() {
+        return completedTasks;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    @Override
+    public String toString() {
+        return "ExecutorMetrics{" +
+                "name='" + name + '\'' +
+                ", poolSize=" + poolSize +
+                ", activeCount=" + activeCount +
+                ", queueSize=" + queueSize +
+                ", queueCapacity=" + queueCapacity +
+                ", completedTasks=" + completedTasks +
+                ", rejected=" + rejected +
+                '}';
+    }
+}
@@ -0,0 +1,26 @@
+package core.scheduling;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * "name-1", "name-2" 처럼 이름을 붙인 daemon 스레드를 만든다.
+ *
+ * @author KingCjy
+ */
+public class NamedThreadFactory implements ThreadFactory {
+
+    private final String name;
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    public NamedThreadFactory(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, name + "-" + sequence.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    }
+}
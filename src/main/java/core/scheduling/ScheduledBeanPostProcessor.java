@@ -0,0 +1,226 @@
+package core.scheduling;
+
+import core.annotation.Component;
+import core.annotation.Scheduled;
+import core.di.beans.factory.BeanClassMetadata;
+import core.di.beans.factory.definition.BeanDefinition;
+import core.di.beans.factory.processor.BeanPostProcessor;
+import core.di.beans.factory.processor.CandidateFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * @Scheduled 메소드를 공유 ScheduledThreadPoolExecutor 에 등록한다.
+ * 프록시가 된 빈의 메소드를 호출하도록 가장 마지막에 후처리하고, 컨텍스트를 닫으면 모든 작업을 멈춘다.
+ * lazy 모드에서도 @Scheduled 메소드가 있는 빈은 시작할 때 만든다. ({@code @Lazy} 를 직접 붙인 빈은 처음 조회할 때부터 실행된다)
+ *
+ * @author KingCjy
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class ScheduledBeanPostProcessor implements BeanPostProcessor, DisposableBean {
+    private static final Logger logger = LoggerFactory.getLogger(ScheduledBeanPostProcessor.class);
+
+    public static final String POOL_SIZE_PROPERTY = "core.scheduling.pool-size";
+
+    private static final MethodType TASK_TYPE = MethodType.methodType(void.class);
+
+    private final Map<String, List<ScheduledTask>> scheduledTasks = new ConcurrentHashMap<>();
+    private volatile ScheduledThreadPoolExecutor scheduler;
+
+    @Override
+    public CandidateFilter getCandidateFilter() {
+        return CandidateFilter.annotatedWith(Scheduled.class);
+    }
+
+//    같은 이름의 빈을 다시 후처리하면 (refresh) 이전 인스턴스의 작업을 취소한다.
+    @Override
+    public Object postProcess(BeanDefinition beanDefinition, Object bean) {
+        List<ScheduledTask> tasks = new ArrayList<>();
+        for (Method method : BeanClassMetadata.forClass(ClassUtils.getUserClass(bean)).getAnnotatedMethods(Scheduled.class)) {
+            tasks.add(schedule(beanDefinition.getName(), bean, method));
+        }
+
+        List<ScheduledTask> previous = scheduledTasks.put(beanDefinition.getName(), tasks);
+        if(previous != null) {
+            previous.forEach(ScheduledTask::cancel);
+        }
+
+        return bean;
+    }
+
+    private ScheduledTask schedule(String beanName, Object bean, Method method) {
+        Scheduled scheduled = AnnotatedElementUtils.findMergedAnnotation(method, Scheduled.class);
+        Runnable task = createTask(beanName, bean, method);
+
+        int triggers = (scheduled.fixedRate() >= 0 ? 1 : 0) + (scheduled.fixedDelay() >= 0 ? 1 : 0) + (scheduled.cron().isEmpty() ? 0 : 1);
+        if(triggers != 1) {
+            throw new BeanCreationException(beanName, "@Scheduled needs exactly one of fixedRate, fixedDelay, cron: " + method);
+        }
+
+        logger.info("scheduled {}.{} {}", beanName, method.getName(), describe(scheduled));
+
+        if(scheduled.fixedRate() >= 0) {
+            return new ScheduledTask(getScheduler().scheduleAtFixedRate(task, scheduled.initialDelay(), Math.max(scheduled.fixedRate(), 1), TimeUnit.MILLISECONDS));
+        }
+
+        if(scheduled.fixedDelay() >= 0) {
+            return new ScheduledTask(getScheduler().scheduleWithFixedDelay(task, scheduled.initialDelay(), Math.max(scheduled.fixedDelay(), 1), TimeUnit.MILLISECONDS));
+        }
+
+        CronExpression cronExpression;
+        try {
+            cronExpression = CronExpression.parse(scheduled.cron());
+        } catch (IllegalArgumentException e) {
+            throw new BeanCreationException(beanName, e.getMessage(), e);
+        }
+
+        CronTask cronTask = new CronTask(task, cronExpression);
+        cronTask.scheduleNext();
+        return cronTask;
+    }
+
+    private String describe(Scheduled scheduled) {
+        if(scheduled.fixedRate() >= 0) {
+            return "fixedRate=" + scheduled.fixedRate() + "ms";
+        }
+        if(scheduled.fixedDelay() >= 0) {
+            return "fixedDelay=" + scheduled.fixedDelay() + "ms";
+        }
+        return "cron='" + scheduled.cron() + "'";
+    }
+
+//    예외가 나도 다음 실행은 계속한다. (ScheduledThreadPoolExecutor 는 예외가 난 주기 작업을 멈춘다)
+    private Runnable createTask(String beanName, Object bean, Method method) {
+        if(method.getParameterCount() != 0) {
+            throw new BeanCreationException(beanName, "@Scheduled method must not have parameters: " + method);
+        }
+
+        MethodHandle invoker;
+        try {
+            ReflectionUtils.makeAccessible(method);
+            invoker = MethodHandles.lookup().unreflect(method).bindTo(bean).asType(TASK_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new BeanCreationException(beanName, "Cannot access @Scheduled method " + method, e);
+        }
+
+        return () -> {
+            try {
+                invoker.invokeExact();
+            } catch (Throwable e) {
+                logger.error("scheduled task {}.{} failed", beanName, method.getName(), e);
+            }
+        };
+    }
+
+    private ScheduledThreadPoolExecutor getScheduler() {
+        ScheduledThreadPoolExecutor scheduler = this.scheduler;
+        if(scheduler != null) {
+            return scheduler;
+        }
+
+        synchronized (this) {
+            if(this.scheduler == null) {
+                ScheduledThreadPoolExecutor created = new ScheduledThreadPoolExecutor(Integer.getInteger(POOL_SIZE_PROPERTY, 2), new NamedThreadFactory("scheduler"));
+                created.setRemoveOnCancelPolicy(true);
+                created.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+                this.scheduler = created;
+            }
+            return this.scheduler;
+        }
+    }
+
+//    대기 중인 작업 수를 큐 크기로 보여준다. 스케줄러의 큐는 크기 제한이 없다.
+    public ExecutorMetrics getMetrics() {
+        ScheduledThreadPoolExecutor scheduler = this.scheduler;
+        if(scheduler == null) {
+            return new ExecutorMetrics("scheduler", 0, 0, 0, -1, 0, 0);
+        }
+
+        return new ExecutorMetrics("scheduler", scheduler.getPoolSize(), scheduler.getActiveCount(), scheduler.getQueue().size(), -1,
+                scheduler.getCompletedTaskCount(), 0);
+    }
+
+    @Override
+    public void destroy() {
+        scheduledTasks.values().forEach(tasks -> tasks.forEach(ScheduledTask::cancel));
+        scheduledTasks.clear();
+
+        ScheduledThreadPoolExecutor scheduler = this.scheduler;
+        if(scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private static class ScheduledTask {
+        volatile Future<?> future;
+
+        ScheduledTask(Future<?> future) {
+            this.future = future;
+        }
+
+        void cancel() {
+            Future<?> future = this.future;
+            if(future != null) {
+                future.cancel(false);
+            }
+        }
+    }
+
+//    한번 실행할 때마다 다음 시각을 계산해서 다시 등록한다.
+    private class CronTask extends ScheduledTask implements Runnable {
+        private final Runnable task;
+        private final CronExpression cronExpression;
+        private volatile boolean cancelled;
+
+        CronTask(Runnable task, CronExpression cronExpression) {
+            super(null);
+            this.task = task;
+            this.cronExpression = cronExpression;
+        }
+
+        void scheduleNext() {
+            ZonedDateTime now = ZonedDateTime.now();
+            long delay = Duration.between(now, cronExpression.next(now)).toMillis();
+
+            synchronized (this) {
+                if(!cancelled) {
+                    future = getScheduler().schedule(this, delay, TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            task.run();
+
+            if(!cancelled && !getScheduler().isShutdown()) {
+                scheduleNext();
+            }
+        }
+
+        @Override
+        void cancel() {
+            synchronized (this) {
+                cancelled = true;
+                super.cancel();
+            }
+        }
+    }
+}
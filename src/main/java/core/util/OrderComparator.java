@@ -24,7 +24,11 @@ public class OrderComparator implements Comparator<Object> {
     }
 
     private int getOrder(Object object) {
-        Order order = object.getClass().getAnnotation(Order.class);
+        return getOrder(object.getClass());
+    }
+
+    public static int getOrder(Class<?> type) {
+        Order order = type.getAnnotation(Order.class);
 
         if(order == null) {
             return 1;
@@ -6,6 +6,7 @@ import org.reflections.Reflections;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.ClassUtils;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
@@ -101,6 +102,20 @@ public class ReflectionUtils {
         return classes;
     }
 
+    public static Set<Class<?>> forNames(Set<String> classNames) {
+        Set<Class<?>> classes = new LinkedHashSet<>();
+
+        for (String className : classNames) {
+            try {
+                classes.add(ClassUtils.forName(className, ClassUtils.getDefaultClassLoader()));
+            } catch (ClassNotFoundException | LinkageError e) {
+                logger.warn("{} listed in component index but cannot be loaded", className);
+            }
+        }
+
+        return classes;
+    }
+
     public static String getComponentName(Class<?> targetClass) {
         Component component = AnnotatedElementUtils.findMergedAnnotation(targetClass, Component.class);
         return "".equals(component.value()) ? targetClass.getName() : component.value();
@@ -1,10 +1,14 @@
 package next;
 
+import core.aop.aspectj.TransactionalAspect;
+import org.apache.catalina.Lifecycle;
 import org.apache.catalina.WebResourceRoot;
 import org.apache.catalina.core.StandardContext;
+import org.apache.catalina.loader.WebappClassLoaderBase;
 import org.apache.catalina.startup.Tomcat;
 import org.apache.catalina.webresources.DirResourceSet;
 import org.apache.catalina.webresources.StandardRoot;
+import org.aspectj.weaver.loadtime.ClassPreProcessorAgentAdapter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -26,7 +30,22 @@ public class WebServerLauncher {
         resources.addPreResources(new DirResourceSet(resources, "/WEB-INF/classes", additionWebInfClasses.getAbsolutePath(), "/"));
         context.setResources(resources);
 
+        if(TransactionalAspect.isWeavingEnabled()) {
+            addWeavingTransformer(context);
+        }
+
         tomcat.start();
         tomcat.getServer().await();
     }
+
+//    -javaagent 없이 웹앱 클래스로더에 AspectJ weaver 를 등록한다. 클래스로더가 만들어진 뒤, 앱 클래스를 로드하기 전에 실행된다.
+    private static void addWeavingTransformer(StandardContext context) {
+        context.addLifecycleListener(event -> {
+            if(Lifecycle.CONFIGURE_START_EVENT.equals(event.getType())) {
+                WebappClassLoaderBase classLoader = (WebappClassLoaderBase) context.getLoader().getClassLoader();
+                classLoader.addTransformer(new ClassPreProcessorAgentAdapter());
+                logger.info("load-time weaving enabled with {}", classLoader.getResource("META-INF/aop.xml"));
+            }
+        });
+    }
 }
@@ -13,6 +13,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.servlet.ServletContext;
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
 import javax.servlet.ServletException;
 import javax.servlet.ServletRegistration;
 
@@ -29,6 +31,18 @@ public class MyWebApplicationInitializer implements WebApplicationInitializer {
         dispatcher.setLoadOnStartup(1);
         dispatcher.addMapping("/");
 
+//        웹 애플리케이션이 내려갈 때 스케줄러와 executor 를 종료한다.
+        servletContext.addListener(new ServletContextListener() {
+            @Override
+            public void contextInitialized(ServletContextEvent sce) {
+            }
+
+            @Override
+            public void contextDestroyed(ServletContextEvent sce) {
+                ac.close();
+            }
+        });
+
         log.info("Start MyWebApplication Initializer");
     }
 }
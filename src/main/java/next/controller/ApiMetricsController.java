@@ -0,0 +1,27 @@
+package next.controller;
+
+import core.annotation.Inject;
+import core.annotation.web.Controller;
+import core.annotation.web.RequestMapping;
+import core.annotation.web.RequestMethod;
+import core.metrics.MetricRegistry;
+import core.mvc.ModelAndView;
+import core.mvc.tobe.AbstractNewController;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+@Controller
+public class ApiMetricsController extends AbstractNewController {
+    private MetricRegistry metricRegistry;
+
+    @Inject
+    public ApiMetricsController(MetricRegistry metricRegistry) {
+        this.metricRegistry = metricRegistry;
+    }
+
+    @RequestMapping(value = "/api/metrics/timers", method = RequestMethod.GET)
+    public ModelAndView timers(HttpServletRequest req, HttpServletResponse resp) throws Exception {
+        return jsonView().addObject("timers", metricRegistry.getSnapshots());
+    }
+}
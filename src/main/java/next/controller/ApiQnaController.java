@@ -1,14 +1,17 @@
 package next.controller;
 
 import core.annotation.Inject;
+import core.annotation.Timed;
 import core.annotation.web.Controller;
 import core.annotation.web.RequestMapping;
 import core.annotation.web.RequestMethod;
+import core.di.context.ApplicationEventPublisher;
 import core.jdbc.DataAccessException;
 import core.mvc.ModelAndView;
 import core.mvc.tobe.AbstractNewController;
 import next.dao.AnswerDao;
 import next.dao.QuestionDao;
+import next.event.AnswerAddedEvent;
 import next.model.Answer;
 import next.model.Result;
 import next.model.User;
@@ -20,18 +23,21 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 @Controller
+@Timed
 public class ApiQnaController extends AbstractNewController {
     private static final Logger logger = LoggerFactory.getLogger( ApiQnaController.class );
 
     private QnaService qnaService;
     private QuestionDao questionDao;
     private AnswerDao answerDao;
+    private ApplicationEventPublisher eventPublisher;
 
     @Inject
-    public ApiQnaController(QnaService qnaService, QuestionDao questionDao, AnswerDao answerDao) {
+    public ApiQnaController(QnaService qnaService, QuestionDao questionDao, AnswerDao answerDao, ApplicationEventPublisher eventPublisher) {
         this.qnaService = qnaService;
         this.questionDao = questionDao;
         this.answerDao = answerDao;
+        this.eventPublisher = eventPublisher;
     }
 
     @RequestMapping(value = "/api/qna/list", method = RequestMethod.GET)
@@ -52,6 +58,7 @@ public class ApiQnaController extends AbstractNewController {
 
         Answer savedAnswer = answerDao.insert(answer);
         questionDao.updateCountOfAnswer(savedAnswer.getQuestionId());
+        eventPublisher.publishEvent(new AnswerAddedEvent(savedAnswer));
 
         return jsonView().addObject("answer", savedAnswer).addObject("result", Result.ok());
     }
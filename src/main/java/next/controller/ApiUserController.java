@@ -65,7 +65,7 @@ public class ApiUserController {
         UserUpdatedDto updateDto = objectMapper.readValue(request.getInputStream(), UserUpdatedDto.class);
         logger.debug("Updated User : {}", updateDto);
 
-        User user = userDao.findByUserId(userId);
+        User user = userDao.findByUserId(userId).copy();
         user.update(updateDto);
         userDao.update(user);
 
@@ -1,6 +1,7 @@
 package next.controller;
 
 import core.annotation.Inject;
+import core.annotation.Timed;
 import core.annotation.web.Controller;
 import core.annotation.web.PathVariable;
 import core.annotation.web.RequestMapping;
@@ -18,8 +19,10 @@ import next.security.LoginUser;
 import next.service.QnaService;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
+@Timed
 public class QnaController extends AbstractNewController {
     private QnaService qnaService;
     private QuestionDao questionDao;
@@ -49,12 +52,13 @@ public class QnaController extends AbstractNewController {
 
     @RequestMapping(value = "/questions/{id}", method = RequestMethod.GET)
     public ModelAndView show(@PathVariable String id) throws Exception {
-        Question question = questionDao.findById(Long.parseLong(id));
-        List<Answer> answers = answerDao.findAllByQuestionId(Long.parseLong(id));
+        long questionId = Long.parseLong(id);
+        CompletableFuture<Question> question = qnaService.findByIdAsync(questionId);
+        CompletableFuture<List<Answer>> answers = qnaService.findAllByQuestionIdAsync(questionId);
 
         ModelAndView mav = jspView("/qna/show.jsp");
-        mav.addObject("question", question);
-        mav.addObject("answers", answers);
+        mav.addObject("question", question.join());
+        mav.addObject("answers", answers.join());
         return mav;
     }
 
@@ -80,8 +84,9 @@ public class QnaController extends AbstractNewController {
                 question.getWriter(),
                 questionDto.getTitle(),
                 questionDto.getContents());
-        question.update(newQuestion);
-        questionDao.update(question);
+        Question updatedQuestion = question.copy();
+        updatedQuestion.update(newQuestion);
+        questionDao.update(updatedQuestion);
         return jspView("redirect:/");
     }
 
@@ -111,8 +111,9 @@ public class UserController extends AbstractNewController {
         }
 
         log.debug("Update User : {}", updateUser);
-        user.update(updateUser);
-        userDao.update(user);
+        User updatedUser = user.copy();
+        updatedUser.update(updateUser);
+        userDao.update(updatedUser);
         return jspView("redirect:/");
     }
 }
@@ -2,6 +2,7 @@ package next.dao;
 
 import core.annotation.Inject;
 import core.annotation.Repository;
+import core.annotation.Timed;
 import core.jdbc.JdbcTemplate;
 import core.jdbc.KeyHolder;
 import core.jdbc.PreparedStatementCreator;
@@ -12,6 +13,7 @@ import java.sql.*;
 import java.util.List;
 
 @Repository
+@Timed
 public class JdbcAnswerDao implements AnswerDao {
     private JdbcTemplate jdbcTemplate;
 
@@ -1,7 +1,10 @@
 package next.dao;
 
+import core.annotation.CacheEvict;
+import core.annotation.Cacheable;
 import core.annotation.Inject;
 import core.annotation.Repository;
+import core.annotation.Timed;
 import core.jdbc.JdbcTemplate;
 import core.jdbc.KeyHolder;
 import core.jdbc.PreparedStatementCreator;
@@ -12,6 +15,7 @@ import java.sql.*;
 import java.util.List;
 
 @Repository
+@Timed
 public class JdbcQuestionDao implements QuestionDao {
     private JdbcTemplate jdbcTemplate;
 
@@ -21,6 +25,7 @@ public class JdbcQuestionDao implements QuestionDao {
     }
 
     @Override
+    @CacheEvict(value = "questionList", allEntries = true)
     public Question insert(Question question) {
         String sql = "INSERT INTO QUESTIONS (writer, title, contents, createdDate) VALUES (?, ?, ?, ?)";
         PreparedStatementCreator psc = new PreparedStatementCreator() {
@@ -41,6 +46,7 @@ public class JdbcQuestionDao implements QuestionDao {
     }
 
     @Override
+    @Cacheable(value = "questionList", maxSize = 1, ttlMillis = 60_000)
     public List<Question> findAll() {
         String sql = "SELECT questionId, writer, title, createdDate, countOfAnswer FROM QUESTIONS "
                 + "order by questionId desc";
@@ -58,6 +64,7 @@ public class JdbcQuestionDao implements QuestionDao {
     }
 
     @Override
+    @Cacheable(value = "questions", ttlMillis = 60_000)
     public Question findById(long questionId) {
         String sql = "SELECT questionId, writer, title, contents, createdDate, countOfAnswer FROM QUESTIONS "
                 + "WHERE questionId = ?";
@@ -74,18 +81,24 @@ public class JdbcQuestionDao implements QuestionDao {
     }
 
     @Override
+    @CacheEvict(value = "questions", key = "#0.questionId")
+    @CacheEvict(value = "questionList", allEntries = true)
     public void update(Question question) {
         String sql = "UPDATE QUESTIONS set title = ?, contents = ? WHERE questionId = ?";
         jdbcTemplate.update(sql, question.getTitle(), question.getContents(), question.getQuestionId());
     }
 
     @Override
+    @CacheEvict("questions")
+    @CacheEvict(value = "questionList", allEntries = true)
     public void delete(long questionId) {
         String sql = "DELETE FROM QUESTIONS WHERE questionId = ?";
         jdbcTemplate.update(sql, questionId);
     }
 
     @Override
+    @CacheEvict("questions")
+    @CacheEvict(value = "questionList", allEntries = true)
     public void updateCountOfAnswer(long questionId) {
         String sql = "UPDATE QUESTIONS set countOfAnswer = countOfAnswer + 1 WHERE questionId = ?";
         jdbcTemplate.update(sql, questionId);
@@ -1,7 +1,11 @@
 package next.dao;
 
+import core.annotation.CacheEvict;
+import core.annotation.Cacheable;
 import core.annotation.Inject;
 import core.annotation.Repository;
+import core.annotation.Timed;
+import core.cache.EvictionPolicy;
 import core.jdbc.JdbcTemplate;
 import core.jdbc.RowMapper;
 import next.model.User;
@@ -11,6 +15,7 @@ import java.sql.SQLException;
 import java.util.List;
 
 @Repository
+@Timed
 public class UserDao {
     private JdbcTemplate jdbcTemplate;
 
@@ -19,11 +24,13 @@ public class UserDao {
         this.jdbcTemplate = jdbcTemplate;
     }
 
+    @CacheEvict(value = "users", key = "#0.userId")
     public void insert(User user) {
         String sql = "INSERT INTO USERS VALUES (?, ?, ?, ?)";
         jdbcTemplate.update(sql, user.getUserId(), user.getPassword(), user.getName(), user.getEmail());
     }
 
+    @Cacheable(value = "users", ttlMillis = 60_000, eviction = EvictionPolicy.LFU)
     public User findByUserId(String userId) {
         String sql = "SELECT userId, password, name, email FROM USERS WHERE userid=?";
 
@@ -56,6 +63,7 @@ public class UserDao {
         return jdbcTemplate.query(sql, rm);
     }
 
+    @CacheEvict(value = "users", key = "#0.userId")
     public void update(User user) {
         String sql = "UPDATE USERS set password = ?, name = ?, email = ? WHERE userId = ?";
         jdbcTemplate.update(sql, user.getPassword(), user.getName(), user.getEmail(), user.getUserId());
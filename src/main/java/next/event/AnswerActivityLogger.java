@@ -0,0 +1,22 @@
+package next.event;
+
+import core.annotation.Component;
+import core.annotation.EventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 답변 등록을 활동 로그로 남긴다. 답변 수 같이 응답에 반영되어야 하는 값은 컨트롤러에서 바로 갱신하고,
+ * 놓쳐도 되는 부가 작업만 이벤트 스레드에서 처리한다.
+ *
+ * @author KingCjy
+ */
+@Component
+public class AnswerActivityLogger {
+    private static final Logger logger = LoggerFactory.getLogger(AnswerActivityLogger.class);
+
+    @EventListener(mode = EventListener.Mode.ASYNC)
+    public void onAnswerAdded(AnswerAddedEvent event) {
+        logger.info("answer added - questionId: {}, writer: {}", event.getQuestionId(), event.getAnswer().getWriter());
+    }
+}
@@ -0,0 +1,24 @@
+package next.event;
+
+import next.model.Answer;
+
+public class AnswerAddedEvent {
+    private final Answer answer;
+
+    public AnswerAddedEvent(Answer answer) {
+        this.answer = answer;
+    }
+
+    public Answer getAnswer() {
+        return answer;
+    }
+
+    public long getQuestionId() {
+        return answer.getQuestionId();
+    }
+
+    @Override
+    public String toString() {
+        return "AnswerAddedEvent{" + answer + "}";
+    }
+}
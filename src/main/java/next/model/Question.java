@@ -64,6 +64,11 @@ public class Question {
         return user.isSameUser(this.writer);
     }
 
+//    DAO 가 캐시한 인스턴스는 여러 요청이 공유하므로, 수정할 때는 복사본을 고친다.
+    public Question copy() {
+        return new Question(questionId, writer, title, contents, createdDate, countOfComment);
+    }
+
     public void update(Question newQuestion) {
         this.title = newQuestion.title;
         this.contents = newQuestion.contents;
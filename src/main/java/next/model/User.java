@@ -36,6 +36,11 @@ public class User {
         return email;
     }
 
+//    DAO 가 캐시한 인스턴스는 여러 요청이 공유하므로, 수정할 때는 복사본을 고친다.
+    public User copy() {
+        return new User(userId, password, name, email);
+    }
+
     public void update(UserUpdatedDto updateUser) {
         this.password = updateUser.getPassword();
         this.name = updateUser.getName();
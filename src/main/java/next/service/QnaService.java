@@ -1,7 +1,9 @@
 package next.service;
 
+import core.annotation.Async;
 import core.annotation.Inject;
 import core.annotation.Service;
+import core.annotation.Timed;
 import next.CannotDeleteException;
 import next.dao.AnswerDao;
 import next.dao.QuestionDao;
@@ -10,8 +12,10 @@ import next.model.Question;
 import next.model.User;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Service
+@Timed
 public class QnaService {
     private QuestionDao questionDao;
     private AnswerDao answerDao;
@@ -30,6 +34,17 @@ public class QnaService {
         return answerDao.findAllByQuestionId(questionId);
     }
 
+//    질문과 답변을 동시에 조회할 수 있도록 executor 스레드에서 실행한다.
+    @Async
+    public CompletableFuture<Question> findByIdAsync(long questionId) {
+        return CompletableFuture.completedFuture(questionDao.findById(questionId));
+    }
+
+    @Async
+    public CompletableFuture<List<Answer>> findAllByQuestionIdAsync(long questionId) {
+        return CompletableFuture.completedFuture(answerDao.findAllByQuestionId(questionId));
+    }
+
     public void deleteQuestion(long questionId, User user) throws CannotDeleteException {
         Question question = questionDao.findById(questionId);
         if (question == null) {
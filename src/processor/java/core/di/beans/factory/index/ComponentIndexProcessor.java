@@ -0,0 +1,223 @@
+package core.di.beans.factory.index;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 컴파일 시점에 컴포넌트 인덱스(META-INF/core.components)를 생성한다.
+ * 포맷은 런타임의 {@code ComponentIndex} 와 맞춰야 한다.
+ *
+ * <pre>
+ * next.config.MyConfiguration=core.annotation.Component,core.annotation.ComponentScan,core.annotation.Configuration
+ * next.config.MyConfiguration#dataSource()=core.annotation.Bean
+ * next.config.MyConfiguration@ComponentScan=next,core
+ * </pre>
+ *
+ * 증분 컴파일에서는 이번에 컴파일한 타입만 보이므로, 이미 있는 인덱스를 읽어서 합친다.
+ * 이번에 컴파일한 타입과 더 이상 찾을 수 없는 타입의 기존 항목은 버린다.
+ *
+ * @author KingCjy
+ */
+@SupportedAnnotationTypes("*")
+public class ComponentIndexProcessor extends AbstractProcessor {
+
+    static final String INDEX_LOCATION = "META-INF/core.components";
+
+    private static final String COMPONENT = "core.annotation.Component";
+    private static final String CONFIGURATION = "core.annotation.Configuration";
+    private static final String COMPONENT_SCAN = "core.annotation.ComponentScan";
+    private static final String BEAN = "core.annotation.Bean";
+
+    private final Map<String, String> entries = new TreeMap<>();
+    private final Set<String> processedTypes = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getRootElements()) {
+            collectTypes(element);
+        }
+
+        if (roundEnv.processingOver()) {
+            writeIndex();
+        }
+
+        return false;
+    }
+
+    private void collectTypes(Element element) {
+        if (!(element instanceof TypeElement)) {
+            return;
+        }
+
+        TypeElement typeElement = (TypeElement) element;
+        processedTypes.add(processingEnv.getElementUtils().getBinaryName(typeElement).toString());
+
+        if (typeElement.getKind() != ElementKind.ANNOTATION_TYPE) {
+            indexType(typeElement);
+        }
+
+        ElementFilter.typesIn(typeElement.getEnclosedElements()).forEach(this::collectTypes);
+    }
+
+    private void indexType(TypeElement typeElement) {
+        Set<String> stereotypes = new TreeSet<>();
+        collectAnnotations(typeElement, stereotypes, new HashSet<>());
+
+        if (!stereotypes.contains(COMPONENT)) {
+            return;
+        }
+
+        String typeName = processingEnv.getElementUtils().getBinaryName(typeElement).toString();
+        entries.put(typeName, String.join(",", stereotypes));
+
+        if (stereotypes.contains(CONFIGURATION)) {
+            indexBeanMethods(typeName, typeElement);
+        }
+
+        if (stereotypes.contains(COMPONENT_SCAN)) {
+            indexComponentScan(typeName, typeElement);
+        }
+    }
+
+    private void collectAnnotations(Element element, Set<String> stereotypes, Set<String> visited) {
+        for (AnnotationMirror annotationMirror : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) annotationMirror.getAnnotationType().asElement();
+            String annotationName = annotationType.getQualifiedName().toString();
+
+            if (annotationName.startsWith("java.lang.annotation") || !visited.add(annotationName)) {
+                continue;
+            }
+
+            stereotypes.add(annotationName);
+            collectAnnotations(annotationType, stereotypes, visited);
+        }
+    }
+
+    private void indexBeanMethods(String typeName, TypeElement typeElement) {
+        ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(typeElement)).stream()
+                .filter(method -> method.getModifiers().contains(Modifier.PUBLIC))
+                .filter(method -> hasAnnotation(method, BEAN))
+                .forEach(method -> entries.put(typeName + "#" + getSignature(method), BEAN));
+    }
+
+    private String getSignature(ExecutableElement method) {
+        return method.getParameters().stream()
+                .map(parameter -> erasure(parameter.asType()))
+                .collect(Collectors.joining(",", method.getSimpleName() + "(", ")"));
+    }
+
+    private String erasure(TypeMirror typeMirror) {
+        return processingEnv.getTypeUtils().erasure(typeMirror).toString();
+    }
+
+    private void indexComponentScan(String typeName, TypeElement typeElement) {
+        typeElement.getAnnotationMirrors().stream()
+                .filter(annotationMirror -> annotationMirror.getAnnotationType().toString().equals(COMPONENT_SCAN))
+                .flatMap(annotationMirror -> annotationMirror.getElementValues().entrySet().stream())
+                .filter(entry -> entry.getKey().getSimpleName().contentEquals("value"))
+                .findFirst()
+                .ifPresent(entry -> entries.put(typeName + "@ComponentScan", toPackages(entry.getValue())));
+    }
+
+    @SuppressWarnings("unchecked")
+    private String toPackages(AnnotationValue annotationValue) {
+        Object value = annotationValue.getValue();
+
+        if (value instanceof List) {
+            return ((List<? extends AnnotationValue>) value).stream()
+                    .map(item -> item.getValue().toString())
+                    .collect(Collectors.joining(","));
+        }
+
+        return value.toString();
+    }
+
+    private boolean hasAnnotation(Element element, String annotationName) {
+        return element.getAnnotationMirrors().stream()
+                .anyMatch(annotationMirror -> annotationMirror.getAnnotationType().toString().equals(annotationName));
+    }
+
+    private void writeIndex() {
+        Map<String, String> index = readPreviousIndex();
+        if (entries.isEmpty() && index.isEmpty()) {
+            return;
+        }
+        index.putAll(entries);
+
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+            try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, String> entry : index.entrySet()) {
+                    writer.write(entry.getKey() + "=" + entry.getValue() + "\n");
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write component index: " + e.getMessage());
+        }
+    }
+
+//    이번 컴파일에 포함되지 않았고 아직 클래스패스에 있는 타입의 항목만 남긴다.
+    private Map<String, String> readPreviousIndex() {
+        Map<String, String> index = new TreeMap<>();
+
+        try {
+            FileObject file = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int separator = line.indexOf('=');
+                    if (separator < 0) {
+                        continue;
+                    }
+
+                    String key = line.substring(0, separator);
+                    String typeName = getTypeName(key);
+                    if (!processedTypes.contains(typeName) && isResolvable(typeName)) {
+                        index.put(key, line.substring(separator + 1));
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+//            처음 컴파일할 때는 기존 인덱스가 없다.
+            return index;
+        }
+
+        return index;
+    }
+
+    private String getTypeName(String key) {
+        int end = key.length();
+        for (char separator : new char[] {'#', '@'}) {
+            int index = key.indexOf(separator);
+            if (index >= 0) {
+                end = Math.min(end, index);
+            }
+        }
+        return key.substring(0, end);
+    }
+
+    private boolean isResolvable(String binaryName) {
+        return processingEnv.getElementUtils().getTypeElement(binaryName.replace('$', '.')) != null;
+    }
+}
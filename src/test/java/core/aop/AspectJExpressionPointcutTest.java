@@ -0,0 +1,140 @@
+package core.aop;
+
+import core.annotation.Bean;
+import core.annotation.Transactional;
+import core.aop.aspectj.TransactionalAspect;
+import core.aop.support.AspectJExpressionPointcut;
+import core.di.beans.factory.DefaultBeanFactory;
+import core.di.beans.factory.definition.ClassBeanDefinition;
+import core.di.beans.factory.definition.MethodBeanDefinition;
+import core.di.beans.factory.processor.TransactionBeanPostProcessor;
+import core.jdbc.TransactionManager;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.aspectj.weaver.tools.UnsupportedPointcutPrimitiveException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author KingCjy
+ */
+public class AspectJExpressionPointcutTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(AspectJExpressionPointcutTest.class);
+
+    @Test
+    @DisplayName("execution, within, @annotation 표현식으로 메소드와 클래스를 매칭한다")
+    public void expressionTest() throws Exception {
+        AspectJExpressionPointcut execution = new AspectJExpressionPointcut("execution(* core.aop..*Service.find*(..))");
+        AspectJExpressionPointcut within = new AspectJExpressionPointcut("within(core.aop.AspectJExpressionPointcutTest.Order*)");
+        AspectJExpressionPointcut annotation = new AspectJExpressionPointcut("@annotation(core.annotation.Transactional)");
+
+        Method find = OrderService.class.getMethod("findOrder");
+        Method save = OrderService.class.getMethod("save");
+
+        assertThat(execution.matches(find, OrderService.class)).isTrue();
+        assertThat(execution.matches(save, OrderService.class)).isFalse();
+        assertThat(within.matches(save, OrderService.class)).isTrue();
+        assertThat(within.matches(PlainBean.class)).isFalse();
+        assertThat(annotation.matches(save, OrderService.class)).isTrue();
+        assertThat(annotation.matches(find, OrderService.class)).isFalse();
+        assertThat(annotation.matches(OrderService.class)).isTrue();
+        assertThat(annotation.matches(PlainBean.class)).isFalse();
+
+        assertThatThrownBy(() -> new AspectJExpressionPointcut("call(* *(..))")).isInstanceOf(UnsupportedPointcutPrimitiveException.class);
+    }
+
+    @Test
+    @DisplayName("클래스에 붙은 @Transactional 은 public 메소드 모두에 적용되고, 매칭되지 않는 빈은 프록시로 만들지 않는다")
+    public void transactionalPointcutTest() throws Exception {
+        DefaultBeanFactory beanFactory = new DefaultBeanFactory();
+        beanFactory.registerDefinition(new ClassBeanDefinition(PointcutConfig.class, PointcutConfig.class.getName()));
+        beanFactory.registerDefinition(new MethodBeanDefinition(PointcutConfig.class.getMethod("dataSource")));
+        beanFactory.registerDefinition(new ClassBeanDefinition(TransactionBeanPostProcessor.class, "transactionBeanPostProcessor"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(TransactionalClassService.class, "transactionalClassService"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(PlainBean.class, "plainBean"));
+        beanFactory.initialize();
+
+        TransactionalClassService service = beanFactory.getBean(TransactionalClassService.class);
+        assertThat(service).isInstanceOf(Advised.class);
+        assertThat(service.isTransactional()).isTrue();
+        assertThat(service.isAlsoTransactional()).isTrue();
+
+        assertThat(beanFactory.getBean(PlainBean.class)).isNotInstanceOf(Advised.class);
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("벤치마크: 처음 매칭 vs 캐시된 매칭")
+    public void benchmark() throws Exception {
+        Method[] methods = OrderService.class.getMethods();
+        int iterations = 10_000;
+
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < 100; i++) {
+                AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut(TransactionalAspect.TRANSACTIONAL_POINTCUT);
+                for (Method method : methods) {
+                    pointcut.matches(method, OrderService.class);
+                }
+            }
+            long uncached = (System.nanoTime() - start) / (100 * methods.length);
+
+            AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut(TransactionalAspect.TRANSACTIONAL_POINTCUT);
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                for (Method method : methods) {
+                    pointcut.matches(method, OrderService.class);
+                }
+            }
+            long cached = (System.nanoTime() - start) / ((long) iterations * methods.length);
+
+            logger.info("{} methods - parse + first match: {}ns/method, cached match: {}ns/method", methods.length, uncached, cached);
+        }
+    }
+
+    public static class OrderService {
+        public String findOrder() {
+            return "order";
+        }
+
+        @Transactional
+        public void save() {
+        }
+    }
+
+    @Transactional
+    public static class TransactionalClassService {
+        public boolean isTransactional() {
+            return TransactionManager.isTransactionActive();
+        }
+
+        public boolean isAlsoTransactional() {
+            return TransactionManager.isTransactionActive();
+        }
+    }
+
+    public static class PlainBean {
+        public void run() {
+        }
+    }
+
+    public static class PointcutConfig {
+        @Bean
+        public DataSource dataSource() {
+            BasicDataSource ds = new BasicDataSource();
+            ds.setDriverClassName("org.h2.Driver");
+            ds.setUrl("jdbc:h2:mem:pointcut");
+            ds.setUsername("sa");
+            return ds;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package core.aop;
+
+import core.annotation.Async;
+import core.annotation.Bean;
+import core.di.beans.factory.DefaultBeanFactory;
+import core.di.beans.factory.definition.ClassBeanDefinition;
+import core.di.beans.factory.definition.MethodBeanDefinition;
+import core.di.beans.factory.processor.AsyncBeanPostProcessor;
+import core.scheduling.BoundedExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.BeanCreationException;
+
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author KingCjy
+ */
+public class AsyncTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncTest.class);
+
+    private static final long SLOW_MILLIS = 50;
+
+    private DefaultBeanFactory beanFactory;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        beanFactory = new DefaultBeanFactory();
+        beanFactory.registerDefinition(new ClassBeanDefinition(AsyncBeanPostProcessor.class, "asyncBeanPostProcessor"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(AsyncConfig.class, AsyncConfig.class.getName()));
+        beanFactory.registerDefinition(new MethodBeanDefinition(AsyncConfig.class.getMethod("mailExecutor")));
+        beanFactory.registerDefinition(new MethodBeanDefinition(AsyncConfig.class.getMethod("callerRunsExecutor")));
+        beanFactory.registerDefinition(new ClassBeanDefinition(MailService.class, "mailService"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(SlowService.class, "slowService"));
+        beanFactory.initialize();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        MDC.clear();
+        beanFactory.destroySingletons();
+    }
+
+    @Test
+    @DisplayName("@Async 메소드는 지정한 executor 에서 실행되고, 호출한 스레드의 MDC 값을 가지고 간다")
+    public void asyncTest() throws Exception {
+        MailService mailService = beanFactory.getBean(MailService.class);
+        MDC.put("traceId", "trace-1");
+
+        String result = mailService.send("hello").get(5, TimeUnit.SECONDS);
+
+        assertThat(result).startsWith("mail-").endsWith("trace-1 hello");
+        assertThat(mailService.fail().handle((value, e) -> e).get(5, TimeUnit.SECONDS)).isInstanceOf(IllegalStateException.class);
+        assertThat(MDC.get("traceId")).isEqualTo("trace-1");
+    }
+
+    @Test
+    @DisplayName("클래스에 붙은 @Async 는 기본 executor 를 사용하고 void 메소드도 비동기로 실행한다")
+    public void defaultExecutorTest() throws Exception {
+        SlowService slowService = beanFactory.getBean(SlowService.class);
+        CompletableFuture<String> thread = new CompletableFuture<>();
+
+        slowService.run(thread);
+
+        assertThat(thread.get(5, TimeUnit.SECONDS)).startsWith("async-");
+        assertThat(slowService.getValue()).isEqualTo("value");
+    }
+
+    @Test
+    @DisplayName("executor 가 가득 차면 거절 정책을 따른다")
+    public void rejectionTest() throws Exception {
+        MailService mailService = beanFactory.getBean(MailService.class);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> running = mailService.await(release);
+        CompletableFuture<String> queued = mailService.await(release);
+        assertThatThrownBy(() -> mailService.await(release)).isInstanceOf(RejectedExecutionException.class);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).startsWith("mail-");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).startsWith("mail-");
+
+        CountDownLatch blocked = new CountDownLatch(1);
+        mailService.callerRuns(blocked);
+        mailService.callerRuns(blocked);
+        assertThat(mailService.callerRuns(blocked).get(5, TimeUnit.SECONDS)).isEqualTo(Thread.currentThread().getName());
+        blocked.countDown();
+    }
+
+    @Test
+    @DisplayName("lazy 모드와 부모 BeanFactory 의 executor 빈도 이름으로 찾는다")
+    public void executorLookupTest() throws Exception {
+        DefaultBeanFactory lazyBeanFactory = new DefaultBeanFactory();
+        lazyBeanFactory.setLazyInit(true);
+        lazyBeanFactory.registerDefinition(new ClassBeanDefinition(AsyncBeanPostProcessor.class, "asyncBeanPostProcessor"));
+        lazyBeanFactory.registerDefinition(new ClassBeanDefinition(AsyncConfig.class, AsyncConfig.class.getName()));
+        lazyBeanFactory.registerDefinition(new MethodBeanDefinition(AsyncConfig.class.getMethod("mailExecutor")));
+        lazyBeanFactory.registerDefinition(new ClassBeanDefinition(MailService.class, "mailService"));
+        lazyBeanFactory.initialize();
+
+        DefaultBeanFactory childBeanFactory = new DefaultBeanFactory(beanFactory);
+        childBeanFactory.registerDefinition(new ClassBeanDefinition(AsyncBeanPostProcessor.class, "asyncBeanPostProcessor"));
+        childBeanFactory.registerDefinition(new ClassBeanDefinition(MailService.class, "mailService"));
+        childBeanFactory.initialize();
+
+        try {
+            assertThat(lazyBeanFactory.getBean(MailService.class).send("lazy").get(5, TimeUnit.SECONDS)).startsWith("mail-");
+            assertThat(childBeanFactory.getBean(MailService.class).send("child").get(5, TimeUnit.SECONDS)).startsWith("mail-");
+        } finally {
+            lazyBeanFactory.destroySingletons();
+            childBeanFactory.destroySingletons();
+        }
+    }
+
+    @Test
+    @DisplayName("상속받은 메소드는 하위 클래스에 붙은 @Async 의 executor 를 사용한다")
+    public void inheritedMethodTest() throws Exception {
+        beanFactory.registerDefinition(new ClassBeanDefinition(MailJob.class, "mailJob"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(DefaultJob.class, "defaultJob"));
+
+        assertThat(beanFactory.getBean(MailJob.class).thread().get(5, TimeUnit.SECONDS)).startsWith("mail-");
+        assertThat(beanFactory.getBean(DefaultJob.class).thread().get(5, TimeUnit.SECONDS)).startsWith("async-");
+    }
+
+    @Test
+    @DisplayName("void 나 Future 가 아닌 타입을 반환하는 @Async 메소드는 빈을 만들 수 없다")
+    public void invalidReturnTypeTest() {
+        DefaultBeanFactory beanFactory = new DefaultBeanFactory();
+        beanFactory.registerDefinition(new ClassBeanDefinition(AsyncBeanPostProcessor.class, "asyncBeanPostProcessor"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(InvalidService.class, "invalidService"));
+
+        assertThatThrownBy(beanFactory::initialize).hasRootCauseInstanceOf(BeanCreationException.class);
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("벤치마크: 느린 호출 3개를 순서대로 vs @Async 로 동시에")
+    public void benchmark() throws Exception {
+        SlowService slowService = beanFactory.getBean(SlowService.class);
+        SlowService target = (SlowService) ((Advised) slowService).getTargetObject();
+
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            target.slow().join();
+            target.slow().join();
+            target.slow().join();
+            long sequential = (System.nanoTime() - start) / 1_000_000;
+
+            start = System.nanoTime();
+            CompletableFuture.allOf(slowService.slow(), slowService.slow(), slowService.slow()).join();
+            long fanOut = (System.nanoTime() - start) / 1_000_000;
+
+            int iterations = 20_000;
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                slowService.fast().join();
+            }
+            long perCall = (System.nanoTime() - start) / iterations;
+
+            logger.info("3 calls of {}ms - sequential: {}ms, @Async fan-out: {}ms, async dispatch + join: {}ns/call", SLOW_MILLIS, sequential, fanOut, perCall);
+        }
+        logger.info("{}", beanFactory.getBean(AsyncBeanPostProcessor.class).getDefaultExecutorMetrics());
+    }
+
+    public static class AsyncConfig {
+        @Bean
+        public BoundedExecutor mailExecutor() {
+            return new BoundedExecutor("mail", 1, 1);
+        }
+
+        @Bean
+        public BoundedExecutor callerRunsExecutor() {
+            return new BoundedExecutor("callerRuns", 1, 1, new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+    }
+
+    public static class MailService {
+        @Async("mailExecutor")
+        public CompletableFuture<String> send(String message) {
+            return CompletableFuture.completedFuture(Thread.currentThread().getName() + " " + MDC.get("traceId") + " " + message);
+        }
+
+        @Async("mailExecutor")
+        public CompletableFuture<String> fail() {
+            throw new IllegalStateException("fail");
+        }
+
+        @Async("mailExecutor")
+        public CompletableFuture<String> await(CountDownLatch latch) throws InterruptedException {
+            latch.await();
+            return CompletableFuture.completedFuture(Thread.currentThread().getName());
+        }
+
+        @Async("callerRunsExecutor")
+        public CompletableFuture<String> callerRuns(CountDownLatch latch) throws InterruptedException {
+            if(!Thread.currentThread().getName().startsWith("callerRuns-")) {
+                return CompletableFuture.completedFuture(Thread.currentThread().getName());
+            }
+            latch.await();
+            return CompletableFuture.completedFuture(Thread.currentThread().getName());
+        }
+    }
+
+    @Async
+    public static class SlowService {
+        public void run(CompletableFuture<String> thread) {
+            thread.complete(Thread.currentThread().getName());
+        }
+
+        public CompletableFuture<String> slow() throws InterruptedException {
+            Thread.sleep(SLOW_MILLIS);
+            return CompletableFuture.completedFuture("slow");
+        }
+
+        public CompletableFuture<String> fast() {
+            return CompletableFuture.completedFuture("fast");
+        }
+
+        public String getValue() {
+            return "value";
+        }
+    }
+
+    @Async
+    public static class Job {
+        public CompletableFuture<String> thread() {
+            return CompletableFuture.completedFuture(Thread.currentThread().getName());
+        }
+    }
+
+    @Async("mailExecutor")
+    public static class MailJob extends Job {
+    }
+
+    public static class DefaultJob extends Job {
+    }
+
+    public static class InvalidService {
+        @Async
+        public String invalid() {
+            return "invalid";
+        }
+    }
+}
@@ -1,12 +1,39 @@
 package core.aop;
 
+import core.aop.support.FieldCopier;
 import core.di.beans.factory.BeanFactory;
+import core.di.beans.factory.definition.BeanDefinition;
+import core.di.beans.factory.definition.ClassBeanDefinition;
+import core.di.beans.factory.processor.AdvisingBeanPostProcessor;
+import core.di.context.ApplicationContext;
 import core.di.context.support.AnnotationConfigApplicationContext;
 import core.di.factory.proxy.example.Counter;
 import core.di.factory.proxy.example.CounterAdvice;
 import next.config.MyConfiguration;
+import next.dao.UserDao;
+import net.sf.cglib.proxy.Callback;
+import net.sf.cglib.proxy.Enhancer;
+import net.sf.cglib.proxy.Factory;
+import net.sf.cglib.proxy.MethodInterceptor;
+import net.sf.cglib.proxy.NoOp;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.objenesis.ObjenesisHelper;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -15,6 +42,8 @@ import static org.assertj.core.api.Assertions.assertThat;
  */
 public class ProxyFactoryBeanTest {
 
+    private static final Logger logger = LoggerFactory.getLogger(ProxyFactoryBeanTest.class);
+
     private BeanFactory beanFactory;
 
     @BeforeEach
@@ -41,6 +70,356 @@ public class ProxyFactoryBeanTest {
         assertThat(myService2.getMyService()).isNotNull();
     }
 
+    @Test
+    @DisplayName("같은 클래스, 같은 pointcut 이면 프록시 클래스를 재사용하고, callback 은 인스턴스마다 따로 가진다")
+    public void proxyClassCacheTest() throws Exception {
+        Counter first = new Counter();
+        Counter second = new Counter();
+
+        MyService firstProxy = new ProxyFactoryBean<MyService>(new MyService(), method -> method.getName().equals("doProcess"), new CounterAdvice(first)).getObject();
+        MyService secondProxy = new ProxyFactoryBean<MyService>(new MyService(), method -> method.getName().equals("doProcess"), new CounterAdvice(second)).getObject();
+        MyService otherPointcut = new ProxyFactoryBean<MyService>(new MyService(), Pointcut.DEFAULT_POINTCUT, Advice.DEFAULT_ADVICE).getObject();
+
+        assertThat(secondProxy.getClass()).isSameAs(firstProxy.getClass());
+        assertThat(otherPointcut.getClass()).isNotSameAs(firstProxy.getClass());
+
+        firstProxy.doProcess();
+        CompletableFuture.runAsync(secondProxy::doProcess).get();
+
+        assertThat(first.getCount()).isEqualTo(1);
+        assertThat(second.getCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("상위 클래스의 필드까지 프록시로 복사한다")
+    public void copyInheritedFieldsTest() throws Exception {
+        StatefulService target = new StatefulService("name", 3);
+
+        ProxyFactoryBean<StatefulService> proxyFactoryBean = new ProxyFactoryBean<>(target, method -> true, Advice.DEFAULT_ADVICE);
+        proxyFactoryBean.setMode(ProxyFactoryBean.Mode.SUBCLASS);
+        StatefulService proxy = proxyFactoryBean.getObject();
+
+        assertThat(proxy.getName()).isEqualTo("name");
+        assertThat(proxy.getCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("여러 Advisor 는 order 순서로 한 체인에서 실행되고, pointcut 은 프록시를 만들 때만 확인한다")
+    public void advisorChainTest() throws Exception {
+        List<String> calls = new ArrayList<>();
+        AtomicInteger pointcutCalls = new AtomicInteger();
+        Pointcut doProcess = method -> {
+            pointcutCalls.incrementAndGet();
+            return method.getName().equals("doProcess");
+        };
+
+        MyService proxy = new ProxyFactoryBean<MyService>(new MyService(), Arrays.asList(
+                new Advisor(doProcess, recordingAdvice("inner", calls), 2),
+                new Advisor(doProcess, recordingAdvice("outer", calls), 1),
+                new Advisor(Pointcut.DEFAULT_POINTCUT, recordingAdvice("never", calls), 0))).getObject();
+        int pointcutCallsAfterCreation = pointcutCalls.get();
+
+        proxy.doProcess();
+        proxy.doProcess();
+        proxy.toString();
+
+        assertThat(calls).containsExactly("outer", "inner", "outer", "inner");
+        assertThat(pointcutCalls.get()).isEqualTo(pointcutCallsAfterCreation);
+        assertThat(((Advised) proxy).getAdvisors()).extracting(Advisor::getOrder).containsExactly(0, 1, 2);
+    }
+
+    @Test
+    @DisplayName("이미 프록시가 된 빈에 Advisor 를 더하면 원래 객체로 프록시를 하나만 만든다")
+    public void combineAdvisorsTest() throws Exception {
+        List<String> calls = new ArrayList<>();
+        BeanDefinition beanDefinition = new ClassBeanDefinition(MyService.class, "myService");
+
+        Object bean = new RecordingBeanPostProcessor(recordingAdvice("first", calls), 2).postProcess(beanDefinition, new MyService());
+        bean = new RecordingBeanPostProcessor(recordingAdvice("second", calls), 1).postProcess(beanDefinition, bean);
+
+        ((MyService) bean).doProcess();
+
+        assertThat(bean.getClass().getSuperclass()).isEqualTo(MyService.class);
+        assertThat(((Advised) bean).getTargetObject()).isInstanceOf(MyService.class).isNotInstanceOf(Advised.class);
+        assertThat(calls).containsExactly("second", "first");
+    }
+
+    @Test
+    @DisplayName("프록시 클래스 캐시는 컨텍스트끼리 공유하고 컨텍스트가 닫혀도 비우지 않는다")
+    public void sharedProxyClassCacheTest() {
+        ApplicationContext closed = new AnnotationConfigApplicationContext(MyConfiguration.class);
+        ApplicationContext sibling = new AnnotationConfigApplicationContext(MyConfiguration.class);
+        Object userDao = closed.getBean(UserDao.class);
+        int cached = ProxyFactoryBean.getCachedProxyClassCount(UserDao.class);
+
+        closed.close();
+
+        assertThat(userDao).isInstanceOf(Advised.class);
+        assertThat(cached).isPositive();
+        assertThat(ProxyFactoryBean.getCachedProxyClassCount(UserDao.class)).isEqualTo(cached);
+        assertThat(sibling.getBean(UserDao.class).getClass()).isSameAs(userDao.getClass());
+        sibling.close();
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("벤치마크: Advice 가 없는 메소드, Advice 3개 체인, 프록시가 아닌 객체 호출 비교")
+    public void chainBenchmark() throws Exception {
+        Pointcut advised = method -> method.getName().equals("getCount");
+        StatefulService target = new StatefulService("name", 1);
+        StatefulService proxy = new ProxyFactoryBean<StatefulService>(target, Arrays.asList(
+                new Advisor(advised, Advice.DEFAULT_ADVICE, 1),
+                new Advisor(advised, Advice.DEFAULT_ADVICE, 2),
+                new Advisor(advised, Advice.DEFAULT_ADVICE, 3))).getObject();
+        int iterations = 5_000_000;
+
+        for (int round = 0; round < 3; round++) {
+            long direct = measure(iterations, () -> target.getName().length());
+            long unadvised = measure(iterations, () -> proxy.getName().length());
+            long chain = measure(iterations, proxy::getCount);
+
+            logger.info("direct: {}ns/op, unadvised method (NoOp): {}ns/op, 3 advices: {}ns/op",
+                    (double) direct / iterations, (double) unadvised / iterations, (double) chain / iterations);
+        }
+    }
+
+    @Test
+    @DisplayName("위임 프록시는 상태를 복사하지 않고 대상 객체를 호출한다")
+    public void delegatingProxyTest() throws Exception {
+        Counter counter = new Counter();
+        CountingService target = new CountingService(new int[1]);
+
+        ProxyFactoryBean<CountingService> proxyFactoryBean = new ProxyFactoryBean<>(target, method -> method.getName().equals("increment"), new CounterAdvice(counter));
+        proxyFactoryBean.setMode(ProxyFactoryBean.Mode.DELEGATING);
+        CountingService proxy = proxyFactoryBean.getObject();
+        proxy.increment();
+        proxy.increment();
+
+        assertThat(proxy.current()).isEqualTo(2);
+        assertThat(target.current()).isEqualTo(2);
+        assertThat(counter.getCount()).isEqualTo(2);
+        assertThat(proxy.values).isNull();
+        assertThat(((Advised) proxy).getTargetObject()).isSameAs(target);
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("벤치마크: 리플렉션 위임, 상태를 복사한 하위 클래스, FastClass 위임 프록시의 호출 비용과 힙 사용량")
+    public void delegatingBenchmark() throws Exception {
+        Pointcut advised = method -> method.getName().equals("increment");
+        CountingService reflective = createReflectiveProxy(new CountingService(new int[1]), advised);
+        CountingService subclass = createProxy(new CountingService(new int[1]), advised, ProxyFactoryBean.Mode.SUBCLASS);
+        CountingService delegating = createProxy(new CountingService(new int[1]), advised, ProxyFactoryBean.Mode.DELEGATING);
+        int iterations = 5_000_000;
+
+        for (int round = 0; round < 3; round++) {
+            logger.info("unadvised call - reflection: {}ns/op, subclass: {}ns/op, delegating: {}ns/op",
+                    (double) measure(iterations, () -> reflective.current() + 1) / iterations,
+                    (double) measure(iterations, () -> subclass.current() + 1) / iterations,
+                    (double) measure(iterations, () -> delegating.current() + 1) / iterations);
+            logger.info("advised call - reflection: {}ns/op, subclass: {}ns/op, delegating: {}ns/op",
+                    (double) measure(iterations, reflective::increment) / iterations,
+                    (double) measure(iterations, subclass::increment) / iterations,
+                    (double) measure(iterations, delegating::increment) / iterations);
+        }
+
+        int beans = 50_000;
+        for (int round = 0; round < 2; round++) {
+            long subclassHeap = measureHeap(beans, target -> createProxy(target, advised, ProxyFactoryBean.Mode.SUBCLASS));
+            long delegatingHeap = measureHeap(beans, target -> createProxy(target, advised, ProxyFactoryBean.Mode.DELEGATING));
+            logger.info("{} proxied beans with 8 long fields - subclass: {}B/bean, delegating: {}B/bean retained",
+                    beans, subclassHeap / beans, delegatingHeap / beans);
+        }
+    }
+
+    private long measureHeap(int beans, Function<WideService, Object> proxyFactory) {
+        MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
+        proxyFactory.apply(new WideService());
+
+        System.gc();
+        long before = memoryMXBean.getHeapMemoryUsage().getUsed();
+
+        List<Object> proxies = new ArrayList<>();
+        for (int i = 0; i < beans; i++) {
+            proxies.add(proxyFactory.apply(new WideService()));
+        }
+
+        System.gc();
+        long after = memoryMXBean.getHeapMemoryUsage().getUsed();
+
+        assertThat(proxies).hasSize(beans);
+        return after - before;
+    }
+
+    private <T> T createProxy(T target, Pointcut pointcut, ProxyFactoryBean.Mode mode) {
+        try {
+            ProxyFactoryBean<T> proxyFactoryBean = new ProxyFactoryBean<>(target, pointcut, Advice.DEFAULT_ADVICE);
+            proxyFactoryBean.setMode(mode);
+            return proxyFactoryBean.getObject();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+//    이전의 방식: Advice 가 있으면 상태를 복사한 상위 클래스를, 없으면 Method.invoke 로 대상 객체를 호출한다.
+    private CountingService createReflectiveProxy(CountingService target, Pointcut pointcut) {
+        Enhancer enhancer = new Enhancer();
+        enhancer.setSuperclass(CountingService.class);
+        enhancer.setCallbackTypes(new Class[]{MethodInterceptor.class, MethodInterceptor.class});
+        enhancer.setCallbackFilter(method -> pointcut.matches(method) ? 0 : 1);
+
+        CountingService proxy = (CountingService) ObjenesisHelper.newInstance(enhancer.createClass());
+        ((Factory) proxy).setCallbacks(new Callback[]{
+                new BeanInterceptor(new Advice[]{Advice.DEFAULT_ADVICE}, null),
+                (MethodInterceptor) (obj, method, args, methodProxy) -> method.invoke(target, args)});
+        FieldCopier.forClass(CountingService.class).copy(target, proxy);
+        return proxy;
+    }
+
+    public static class CountingService {
+        private final int[] values;
+
+        public CountingService(int[] values) {
+            this.values = values;
+        }
+
+        public int increment() {
+            return ++values[0];
+        }
+
+        public int current() {
+            return values[0];
+        }
+    }
+
+    public static class WideService {
+        private final long a = 1, b = 2, c = 3, d = 4, e = 5, f = 6, g = 7, h = 8;
+
+        public long increment() {
+            return a + b + c + d + e + f + g + h;
+        }
+    }
+
+    private long measure(int iterations, IntSupplier call) {
+        long sum = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sum += call.getAsInt();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        assertThat(sum).isPositive();
+        return elapsed;
+    }
+
+    private Advice recordingAdvice(String name, List<String> calls) {
+        return invocation -> {
+            calls.add(name);
+            return invocation.proceed();
+        };
+    }
+
+    private static class RecordingBeanPostProcessor extends AdvisingBeanPostProcessor {
+        private final Advice advice;
+        private final int order;
+
+        private RecordingBeanPostProcessor(Advice advice, int order) {
+            this.advice = advice;
+            this.order = order;
+        }
+
+        @Override
+        protected Advisor getAdvisor(BeanDefinition beanDefinition) {
+            return new Advisor(method -> method.getName().equals("doProcess"), advice, order);
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("벤치마크: 같은 클래스 빈 여러개를 프록시로 만들 때 생성 시간과 metaspace 증가량")
+    public void benchmark() throws Exception {
+        int beans = 1_000;
+
+        for (int round = 0; round < 2; round++) {
+            long metaspace = usedMetaspace();
+            long classes = ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount();
+            long start = System.nanoTime();
+            for (int i = 0; i < beans; i++) {
+                new ProxyFactoryBean<StatefulService>(new StatefulService("name", i), method -> method.getName().equals("getCount"), Advice.DEFAULT_ADVICE).getObject();
+            }
+            long cachedNanos = System.nanoTime() - start;
+            long cachedClasses = ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount() - classes;
+            long cachedMetaspace = usedMetaspace() - metaspace;
+
+            metaspace = usedMetaspace();
+            classes = ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount();
+            start = System.nanoTime();
+            for (int i = 0; i < beans; i++) {
+                createUncachedProxy(new StatefulService("name", i));
+            }
+            long uncachedNanos = System.nanoTime() - start;
+            long uncachedClasses = ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount() - classes;
+            long uncachedMetaspace = usedMetaspace() - metaspace;
+
+            logger.info("{} proxies - cached class: {}us/proxy, {} classes, metaspace +{}KB / class per proxy: {}us/proxy, {} classes, metaspace +{}KB",
+                    beans, cachedNanos / beans / 1000, cachedClasses, cachedMetaspace / 1024,
+                    uncachedNanos / beans / 1000, uncachedClasses, uncachedMetaspace / 1024);
+        }
+    }
+
+//    캐시 이전의 방식: 빈마다 Enhancer 로 클래스를 만들고 선언된 필드만 리플렉션으로 복사한다.
+    private Object createUncachedProxy(Object target) throws Exception {
+        Pointcut pointcut = method -> method.getName().equals("getCount");
+        MethodInterceptor interceptor = (obj, method, args, proxy) -> proxy.invokeSuper(obj, args);
+        Callback[] callbacks = {interceptor, NoOp.INSTANCE};
+
+        Enhancer enhancer = new Enhancer();
+        enhancer.setSuperclass(target.getClass());
+        enhancer.setCallbackTypes(new Class[]{MethodInterceptor.class, NoOp.class});
+        enhancer.setCallbackFilter(method -> pointcut.matches(method) ? 0 : 1);
+
+        Class<?> proxyClass = enhancer.createClass();
+        Enhancer.registerCallbacks(proxyClass, callbacks);
+
+        Object instance = ObjenesisHelper.newInstance(proxyClass);
+        for (Field field : target.getClass().getDeclaredFields()) {
+            field.setAccessible(true);
+            field.set(instance, field.get(target));
+        }
+        return instance;
+    }
+
+    private long usedMetaspace() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getName().equals("Metaspace"))
+                .mapToLong(pool -> pool.getUsage().getUsed())
+                .sum();
+    }
+
+    public static class NamedService {
+        private String name;
+
+        public NamedService(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    public static class StatefulService extends NamedService {
+        private final int count;
+
+        public StatefulService(String name, int count) {
+            super(name);
+            this.count = count;
+        }
+
+        public int getCount() {
+            return count;
+        }
+    }
 
     public static class MyService {
         public void doProcess() {
@@ -0,0 +1,266 @@
+package core.aop;
+
+import core.annotation.Timed;
+import core.di.beans.factory.DefaultBeanFactory;
+import core.di.beans.factory.definition.ClassBeanDefinition;
+import core.di.beans.factory.processor.TimedBeanPostProcessor;
+import core.di.context.support.AnnotationConfigApplicationContext;
+import core.metrics.LatencyHistogram;
+import core.metrics.MetricRegistry;
+import core.metrics.TimerSnapshot;
+import core.mvc.ModelAndView;
+import core.mvc.tobe.AnnotationHandlerMapping;
+import core.mvc.tobe.HandlerExecution;
+import next.config.MyConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author KingCjy
+ */
+public class TimedTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimedTest.class);
+
+    private static final int THREADS = 16;
+
+    private DefaultBeanFactory beanFactory;
+
+    @BeforeEach
+    public void setUp() {
+        beanFactory = new DefaultBeanFactory();
+        beanFactory.registerDefinition(new ClassBeanDefinition(MetricRegistry.class, "metricRegistry"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(TimedBeanPostProcessor.class, "timedBeanPostProcessor"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(OrderService.class, "orderService"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(TimedRepository.class, "timedRepository"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(PlainService.class, "plainService"));
+        beanFactory.initialize();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        System.clearProperty(TimedBeanPostProcessor.POINTCUT_PROPERTY);
+    }
+
+    @Test
+    @DisplayName("백분위는 실제 값보다 1/16 이상 크지 않고, 최대값을 넘지 않는다")
+    public void histogramTest() {
+        LatencyHistogram histogram = new LatencyHistogram("histogram");
+        for (long nanos = 1; nanos <= 100_000; nanos++) {
+            histogram.record(nanos, nanos % 1_000 == 0);
+        }
+
+        TimerSnapshot snapshot = histogram.snapshot();
+        logger.info("{}", snapshot);
+
+        assertThat(snapshot.getCount()).isEqualTo(100_000);
+        assertThat(snapshot.getErrors()).isEqualTo(100);
+        assertThat(snapshot.getMean()).isEqualTo(50_000);
+        assertThat(snapshot.getMax()).isEqualTo(100_000);
+        assertThat(snapshot.getP50()).isBetween(50_000L, 50_000L + 50_000L / 16);
+        assertThat(snapshot.getP99()).isBetween(99_000L, 99_000L + 99_000L / 16);
+        assertThat(snapshot.getP999()).isBetween(99_900L, 100_000L);
+
+        assertThat(new LatencyHistogram("empty").snapshot().getP99()).isZero();
+
+        LatencyHistogram outOfRange = new LatencyHistogram("outOfRange");
+        outOfRange.record(Long.MAX_VALUE, false);
+        assertThat(outOfRange.snapshot().getP50()).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    @DisplayName("@Timed 메소드는 메소드마다 시간과 에러를 기록하고, 타이머가 없는 메소드와 빈은 그대로 호출된다")
+    public void timedAdviceTest() {
+        OrderService orderService = beanFactory.getBean(OrderService.class);
+        TimedRepository repository = beanFactory.getBean(TimedRepository.class);
+        MetricRegistry metricRegistry = beanFactory.getBean(MetricRegistry.class);
+
+        orderService.order("book");
+        orderService.order("pen");
+        assertThatThrownBy(() -> orderService.order("")).isInstanceOf(IllegalArgumentException.class);
+        orderService.untimed();
+        repository.find(1L);
+
+        TimerSnapshot order = metricRegistry.getTimer("orders.order").snapshot();
+        assertThat(order.getCount()).isEqualTo(3);
+        assertThat(order.getErrors()).isEqualTo(1);
+        assertThat(metricRegistry.getTimer("OrderService.untimed")).isNull();
+        assertThat(metricRegistry.getTimer("TimedRepository.find").snapshot().getCount()).isEqualTo(1);
+
+        assertThat(beanFactory.getBean(PlainService.class)).isNotInstanceOf(Advised.class);
+        logger.info("{}", metricRegistry.getSnapshots());
+    }
+
+    @Test
+    @DisplayName("core.metrics.timed-pointcut 프로퍼티의 포인트컷에 매칭되는 메소드도 기록한다")
+    public void packagePointcutTest() {
+        System.setProperty(TimedBeanPostProcessor.POINTCUT_PROPERTY, "within(core.aop.TimedTest.PlainService)");
+        setUp();
+
+        PlainService plainService = beanFactory.getBean(PlainService.class);
+        plainService.run();
+
+        assertThat(plainService).isInstanceOf(Advised.class);
+        assertThat(beanFactory.getBean(MetricRegistry.class).getTimer("PlainService.run").snapshot().getCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("@Timed 컨트롤러도 요청을 처리하고, 타이머 snapshot 을 json 으로 조회할 수 있다")
+    public void controllerTest() throws Exception {
+        AnnotationConfigApplicationContext applicationContext = new AnnotationConfigApplicationContext(MyConfiguration.class);
+        AnnotationHandlerMapping handlerMapping = new AnnotationHandlerMapping(applicationContext);
+        handlerMapping.initialize();
+
+        handle(handlerMapping, "/api/qna/list");
+        handle(handlerMapping, "/api/qna/list");
+        ModelAndView modelAndView = handle(handlerMapping, "/api/metrics/timers");
+
+        @SuppressWarnings("unchecked")
+        List<TimerSnapshot> timers = (List<TimerSnapshot>) modelAndView.getObject("timers");
+        logger.info("{}", timers);
+        assertThat(timers).filteredOn(timer -> timer.getName().equals("ApiQnaController.questions"))
+                .extracting(TimerSnapshot::getCount).containsExactly(2L);
+        assertThat(timers).filteredOn(timer -> timer.getName().equals("JdbcQuestionDao.findAll"))
+                .extracting(TimerSnapshot::getCount).containsExactly(2L);
+        applicationContext.close();
+    }
+
+    private ModelAndView handle(AnnotationHandlerMapping handlerMapping, String uri) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        HandlerExecution execution = (HandlerExecution) handlerMapping.getHandler(request);
+        return execution.handle(request, new MockHttpServletResponse());
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("벤치마크: 기록 비용과 할당량, 동시 기록 처리량, 타이머 있는/없는 메소드 호출")
+    public void benchmark() throws Exception {
+        int iterations = 1_000_000;
+        OrderService orderService = beanFactory.getBean(OrderService.class);
+        OrderService target = (OrderService) ((Advised) orderService).getTargetObject();
+
+        for (int round = 0; round < 3; round++) {
+            LatencyHistogram histogram = new LatencyHistogram("record");
+            record(histogram, iterations);
+            long allocated = allocatedBytes();
+            long start = System.nanoTime();
+            record(histogram, iterations);
+            long recordNanos = (System.nanoTime() - start) / iterations;
+            long recordBytes = (allocatedBytes() - allocated) / iterations;
+            assertThat(recordBytes).isZero();
+
+            long contended = recordConcurrently(new LatencyHistogram("contended"), iterations / THREADS);
+
+            start = System.nanoTime();
+            callDirect(target, iterations);
+            long direct = (System.nanoTime() - start) / iterations;
+
+            start = System.nanoTime();
+            callUntimed(orderService, iterations);
+            long untimed = (System.nanoTime() - start) / iterations;
+
+            start = System.nanoTime();
+            callTimed(orderService, iterations);
+            long timed = (System.nanoTime() - start) / iterations;
+
+            logger.info("record: {}ns/call {}B/call, {} threads record: {} ops/ms", recordNanos, recordBytes, THREADS, contended);
+            logger.info("target: {}ns/call, untimed method on proxy: {}ns/call, @Timed method: {}ns/call", direct, untimed, timed);
+        }
+        logger.info("{}", beanFactory.getBean(MetricRegistry.class).getTimer("orders.order").snapshot());
+    }
+
+    private void record(LatencyHistogram histogram, int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            histogram.record(i & 0xFFFF, false);
+        }
+    }
+
+    private long recordConcurrently(LatencyHistogram histogram, int iterations) throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            results.add(executorService.submit(() -> {
+                start.await();
+                record(histogram, iterations);
+                return null;
+            }));
+        }
+
+        long begin = System.currentTimeMillis();
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get(60, TimeUnit.SECONDS);
+        }
+        long elapsed = System.currentTimeMillis() - begin;
+
+        executorService.shutdown();
+        assertThat(histogram.snapshot().getCount()).isEqualTo((long) THREADS * iterations);
+        return (long) THREADS * iterations / Math.max(elapsed, 1);
+    }
+
+    private void callDirect(OrderService orderService, int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            orderService.untimed();
+        }
+    }
+
+    private void callUntimed(OrderService orderService, int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            orderService.untimed();
+        }
+    }
+
+    private void callTimed(OrderService orderService, int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            orderService.order("book");
+        }
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    public static class OrderService {
+        @Timed("orders.order")
+        public int order(String item) {
+            if(item.isEmpty()) {
+                throw new IllegalArgumentException("empty item");
+            }
+            return item.length();
+        }
+
+        public int untimed() {
+            return 1;
+        }
+    }
+
+    @Timed
+    public static class TimedRepository {
+        public String find(long id) {
+            return "item-" + id;
+        }
+    }
+
+    public static class PlainService {
+        public int run() {
+            return 1;
+        }
+    }
+}
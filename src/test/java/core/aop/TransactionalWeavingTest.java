@@ -0,0 +1,257 @@
+package core.aop;
+
+import core.annotation.Bean;
+import core.annotation.Transactional;
+import core.aop.aspectj.TransactionalAspect;
+import core.di.beans.factory.DefaultBeanFactory;
+import core.di.beans.factory.definition.ClassBeanDefinition;
+import core.di.beans.factory.definition.MethodBeanDefinition;
+import core.di.beans.factory.processor.TransactionBeanPostProcessor;
+import core.jdbc.TransactionManager;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.aspectj.weaver.loadtime.ClassPreProcessorAgentAdapter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.StreamUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.instrument.IllegalClassFormatException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author KingCjy
+ */
+public class TransactionalWeavingTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionalWeavingTest.class);
+
+    private ClassLoader weavingClassLoader;
+
+    @BeforeEach
+    public void setUp() {
+        System.setProperty(TransactionalAspect.WEAVING_PROPERTY, "true");
+        weavingClassLoader = new WeavingClassLoader(getClass().getClassLoader());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        System.clearProperty(TransactionalAspect.WEAVING_PROPERTY);
+    }
+
+    @Test
+    @DisplayName("로드할 때 엮인 클래스는 프록시 없이 트랜잭션이 적용되고, self 호출에도 적용된다")
+    public void weavingTest() throws Exception {
+        Map<String, Object> woven = run(weavingClassLoader, 0);
+        Map<String, Object> proxied = run(getClass().getClassLoader(), 0);
+
+        assertThat(woven.get("woven")).isEqualTo(true);
+        assertThat(woven.get("advised")).isEqualTo(false);
+        assertThat(woven.get("transactional")).isEqualTo(true);
+        assertThat(woven.get("selfInvocation")).isEqualTo(true);
+
+        assertThat(proxied.get("woven")).isEqualTo(false);
+        assertThat(proxied.get("advised")).isEqualTo(true);
+        assertThat(proxied.get("transactional")).isEqualTo(true);
+        assertThat(proxied.get("selfInvocation")).isEqualTo(true);
+    }
+
+    @Test
+    @DisplayName("aspect 가 설정되지 않았거나 닫힌 뒤에는 엮인 @Transactional 메소드가 트랜잭션 없이 실행되지 않는다")
+    public void unconfiguredTest() throws Exception {
+        run(weavingClassLoader, 0);
+
+        Object counter = weavingClassLoader.loadClass(Counter.class.getName()).newInstance();
+        Method increment = counter.getClass().getMethod("increment");
+
+        assertThatThrownBy(() -> increment.invoke(counter))
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("다른 DataSource 로 aspect 를 다시 설정하면 예외를 던진다")
+    public void configureTwiceTest() {
+        DataSource dataSource = new WeavingConfig().dataSource();
+        TransactionalAspect.configure(dataSource);
+
+        try {
+            TransactionalAspect.configure(dataSource);
+            assertThatThrownBy(() -> TransactionalAspect.configure(new WeavingConfig().dataSource()))
+                    .isInstanceOf(IllegalStateException.class);
+        } finally {
+            TransactionalAspect.reset(dataSource);
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("벤치마크: 로드 타임 위빙 vs 프록시의 호출당 시간, 할당량")
+    public void benchmark() throws Exception {
+        int iterations = 20_000;
+
+        for (int round = 0; round < 3; round++) {
+            Map<String, Object> woven = run(weavingClassLoader, iterations);
+            Map<String, Object> proxied = run(getClass().getClassLoader(), iterations);
+
+            logger.info("{} transactional calls - woven: {}ns/call {}B/call, proxy: {}ns/call {}B/call", iterations,
+                    woven.get("nanosPerCall"), woven.get("bytesPerCall"), proxied.get("nanosPerCall"), proxied.get("bytesPerCall"));
+            logger.info("{} calls joining a transaction - woven: {}ns/call {}B/call, proxy: {}ns/call {}B/call", iterations * 50,
+                    woven.get("joinedNanosPerCall"), woven.get("joinedBytesPerCall"), proxied.get("joinedNanosPerCall"), proxied.get("joinedBytesPerCall"));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> run(ClassLoader classLoader, int iterations) throws Exception {
+        Class<?> harness = classLoader.loadClass(Harness.class.getName());
+        Method run = harness.getMethod("run", int.class);
+        return (Map<String, Object>) run.invoke(null, iterations);
+    }
+
+//    core, next 패키지 클래스를 직접 읽어서 웹앱 클래스로더에 등록하는 것과 같은 transformer 로 엮는다.
+    static class WeavingClassLoader extends ClassLoader {
+        private final ClassPreProcessorAgentAdapter transformer = new ClassPreProcessorAgentAdapter();
+
+        WeavingClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if(!name.startsWith("core.") && !name.startsWith("next.")) {
+                return super.loadClass(name, resolve);
+            }
+
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> type = findLoadedClass(name);
+                if(type == null) {
+                    type = defineWovenClass(name);
+                }
+                if(resolve) {
+                    resolveClass(type);
+                }
+                return type;
+            }
+        }
+
+        private Class<?> defineWovenClass(String name) throws ClassNotFoundException {
+            String internalName = name.replace('.', '/');
+
+            try (InputStream inputStream = getParent().getResourceAsStream(internalName + ".class")) {
+                if(inputStream == null) {
+                    throw new ClassNotFoundException(name);
+                }
+
+                byte[] bytes = StreamUtils.copyToByteArray(inputStream);
+                byte[] woven = transformer.transform(this, internalName, null, null, bytes);
+                if(woven == null) {
+                    woven = bytes;
+                }
+                return defineClass(name, woven, 0, woven.length);
+            } catch (IOException | IllegalClassFormatException e) {
+                throw new ClassNotFoundException(name, e);
+            }
+        }
+    }
+
+//    클래스로더마다 따로 로드되어 실행된다.
+    public static class Harness {
+        private static final AtomicInteger databaseCount = new AtomicInteger();
+
+        public static Map<String, Object> run(int iterations) throws Exception {
+            DefaultBeanFactory beanFactory = new DefaultBeanFactory();
+            beanFactory.registerDefinition(new ClassBeanDefinition(WeavingConfig.class, WeavingConfig.class.getName()));
+            beanFactory.registerDefinition(new MethodBeanDefinition(WeavingConfig.class.getMethod("dataSource")));
+            beanFactory.registerDefinition(new ClassBeanDefinition(TransactionBeanPostProcessor.class, "transactionBeanPostProcessor"));
+            beanFactory.registerDefinition(new ClassBeanDefinition(Counter.class, "counter"));
+            beanFactory.initialize();
+
+            Counter counter = beanFactory.getBean(Counter.class);
+            Map<String, Object> result = new HashMap<>();
+            result.put("woven", TransactionalAspect.isWoven(Counter.class));
+            result.put("advised", counter instanceof Advised);
+            result.put("transactional", counter.isTransactional());
+            result.put("selfInvocation", counter.callsTransactional());
+
+            if(iterations > 0) {
+                measure(counter, iterations);
+                long start = System.nanoTime();
+                long allocated = allocatedBytes();
+                measure(counter, iterations);
+                result.put("bytesPerCall", (allocatedBytes() - allocated) / iterations);
+                result.put("nanosPerCall", (System.nanoTime() - start) / iterations);
+
+//                트랜잭션 안에서 호출하면 커밋 없이 Advice 를 거치는 비용만 남는다.
+                TransactionManager.startTransaction();
+                try {
+                    measure(counter, iterations * 50);
+                    start = System.nanoTime();
+                    allocated = allocatedBytes();
+                    measure(counter, iterations * 50);
+                    result.put("joinedBytesPerCall", (allocatedBytes() - allocated) / (iterations * 50));
+                    result.put("joinedNanosPerCall", (System.nanoTime() - start) / (iterations * 50));
+                } finally {
+                    TransactionManager.finishTransaction();
+                }
+            }
+
+            beanFactory.destroySingletons();
+            return result;
+        }
+
+        private static void measure(Counter counter, int iterations) {
+            int count = 0;
+            for (int i = 0; i < iterations; i++) {
+                count = counter.increment();
+            }
+            if(count == 0) {
+                throw new IllegalStateException();
+            }
+        }
+
+        private static long allocatedBytes() {
+            return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+    }
+
+    public static class WeavingConfig {
+        @Bean
+        public DataSource dataSource() {
+            BasicDataSource ds = new BasicDataSource();
+            ds.setDriverClassName("org.h2.Driver");
+            ds.setUrl("jdbc:h2:mem:weaving" + Harness.databaseCount.incrementAndGet());
+            ds.setUsername("sa");
+            return ds;
+        }
+    }
+
+    public static class Counter {
+        private int count;
+
+        @Transactional
+        public int increment() {
+            return ++count;
+        }
+
+        @Transactional
+        public boolean isTransactional() {
+            return TransactionManager.isTransactionActive();
+        }
+
+        public boolean callsTransactional() {
+            return isTransactional();
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package core.cache;
+
+import core.annotation.CacheEvict;
+import core.annotation.Cacheable;
+import core.aop.Advised;
+import core.di.beans.factory.DefaultBeanFactory;
+import core.di.beans.factory.definition.ClassBeanDefinition;
+import core.di.beans.factory.processor.CacheBeanPostProcessor;
+import core.di.context.support.AnnotationConfigApplicationContext;
+import core.mvc.tobe.AnnotationHandlerMapping;
+import core.mvc.tobe.HandlerExecution;
+import next.config.MyConfiguration;
+import next.dao.QuestionDao;
+import next.dao.UserDao;
+import next.model.Question;
+import next.model.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author KingCjy
+ */
+public class CacheTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheTest.class);
+
+    private static final int THREADS = 16;
+
+    @Test
+    @DisplayName("LRU 는 오래 전에 조회한 항목을, LFU 는 적게 조회한 항목을 버린다")
+    public void evictionTest() {
+        assertThat(keysAfterEviction(EvictionPolicy.LRU)).containsExactlyInAnyOrder("b", "c");
+        assertThat(keysAfterEviction(EvictionPolicy.LFU)).containsExactlyInAnyOrder("a", "c");
+
+        Cache cache = new Cache("single", 1, 0, EvictionPolicy.LRU);
+        cache.put("a", 1);
+        cache.put("b", null);
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.get("b")).isSameAs(Cache.NULL_VALUE);
+        assertThat(cache.getStats().getEvictions()).isEqualTo(1);
+    }
+
+//    a 를 여러 번 조회한 뒤 b 를 넣고 한번 조회하면, b 는 최근에 조회했고 a 는 더 자주 조회했다.
+    private Set<String> keysAfterEviction(EvictionPolicy evictionPolicy) {
+        Cache cache = new Cache("small", 2, 0, evictionPolicy);
+        cache.put("a", "a");
+        cache.get("a");
+        cache.get("a");
+        cache.put("b", "b");
+        cache.get("b");
+        cache.put("c", "c");
+
+        Set<String> keys = new HashSet<>();
+        for (String key : Arrays.asList("a", "b", "c")) {
+            if(cache.get(key) != null) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    @Test
+    @DisplayName("TTL 이 지난 항목은 조회할 때 버리고 miss 로 센다")
+    public void ttlTest() throws Exception {
+        Cache cache = new Cache("ttl", 10, 20, EvictionPolicy.LRU);
+        cache.put("key", "value");
+        assertThat(cache.get("key")).isEqualTo("value");
+
+        Thread.sleep(50);
+
+        assertThat(cache.get("key")).isNull();
+        CacheStats stats = cache.getStats();
+        assertThat(stats.getHits()).isEqualTo(1);
+        assertThat(stats.getMisses()).isEqualTo(1);
+        assertThat(stats.getExpirations()).isEqualTo(1);
+        assertThat(stats.getSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("@Cacheable 은 key 마다 한번만 실행하고, @CacheEvict 는 같은 key 나 전체를 지운다")
+    public void cacheAdviceTest() {
+        DefaultBeanFactory beanFactory = new DefaultBeanFactory();
+        beanFactory.registerDefinition(new ClassBeanDefinition(CacheManager.class, "cacheManager"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(CacheBeanPostProcessor.class, "cacheBeanPostProcessor"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(BookRepository.class, "bookRepository"));
+        beanFactory.initialize();
+
+        BookRepository repository = beanFactory.getBean(BookRepository.class);
+
+        assertThat(repository.findById(1L)).isEqualTo("book-1");
+        assertThat(repository.findById(1L)).isEqualTo("book-1");
+        assertThat(repository.findById(2L)).isEqualTo("book-2");
+        assertThat(repository.findByTitle("a", 1)).isNull();
+        assertThat(repository.findByTitle("a", 1)).isNull();
+        assertThat(repository.getLoads()).isEqualTo(3);
+
+        repository.update(new Book(1L));
+        assertThat(repository.findById(1L)).isEqualTo("book-1");
+        assertThat(repository.findById(2L)).isEqualTo("book-2");
+        assertThat(repository.getLoads()).isEqualTo(4);
+
+        repository.deleteAll();
+        repository.findById(2L);
+        repository.findByTitle("a", 1);
+        assertThat(repository.getLoads()).isEqualTo(6);
+
+        CacheStats stats = beanFactory.getBean(CacheManager.class).getCache("books").getStats();
+        logger.info("{}", stats);
+        assertThat(stats.getHits()).isEqualTo(3);
+        assertThat(stats.getMisses()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("수정이 실패해도 캐시된 사용자는 바뀌지 않는다")
+    public void failedUpdateTest() throws Exception {
+        AnnotationConfigApplicationContext applicationContext = new AnnotationConfigApplicationContext(MyConfiguration.class);
+        AnnotationHandlerMapping handlerMapping = new AnnotationHandlerMapping(applicationContext);
+        handlerMapping.initialize();
+        UserDao userDao = applicationContext.getBean(UserDao.class);
+        User cached = userDao.findByUserId("admin");
+        String name = cached.getName();
+
+//        name 컬럼은 20자까지라서 UPDATE 가 실패한다.
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/users");
+        request.setParameter("userId", "admin");
+        request.setContent("{\"password\":\"password\",\"name\":\"a name longer than twenty characters\",\"email\":\"admin@slipp.net\"}".getBytes(StandardCharsets.UTF_8));
+        HandlerExecution execution = (HandlerExecution) handlerMapping.getHandler(request);
+
+        assertThatThrownBy(() -> execution.handle(request, new MockHttpServletResponse())).isInstanceOf(Exception.class);
+        assertThat(cached.getName()).isEqualTo(name);
+        assertThat(userDao.findByUserId("admin").getName()).isEqualTo(name);
+        applicationContext.close();
+    }
+
+    @Test
+    @DisplayName("잘못된 key 는 빈을 만들 때 실패한다")
+    public void invalidKeyTest() {
+        DefaultBeanFactory beanFactory = new DefaultBeanFactory();
+        beanFactory.registerDefinition(new ClassBeanDefinition(CacheManager.class, "cacheManager"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(CacheBeanPostProcessor.class, "cacheBeanPostProcessor"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(InvalidRepository.class, "invalidRepository"));
+
+        assertThatThrownBy(beanFactory::initialize).hasRootCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("벤치마크: 동시 조회 처리량 (segment lock vs lock 하나), 교체 정책별 hit rate, DAO 조회")
+    public void benchmark() throws Exception {
+        int keys = 1_000;
+        int iterations = 200_000;
+
+        Cache striped = new Cache("striped", keys * 2, 0, EvictionPolicy.LRU);
+        Map<Object, Object> singleLock = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true));
+        for (int i = 0; i < keys; i++) {
+            striped.put(i, i);
+            singleLock.put(i, i);
+        }
+
+        for (int round = 0; round < 3; round++) {
+            long stripedMillis = runConcurrently(striped::get, keys, iterations);
+            long singleLockMillis = runConcurrently(singleLock::get, keys, iterations);
+
+            logger.info("{} threads x {} gets - striped: {} ops/ms, single lock: {} ops/ms", THREADS, iterations,
+                    THREADS * iterations / Math.max(stripedMillis, 1), THREADS * iterations / Math.max(singleLockMillis, 1));
+        }
+
+        for (EvictionPolicy evictionPolicy : EvictionPolicy.values()) {
+            logger.info("{}", hitRate(new Cache("skewed", 100, 0, evictionPolicy)));
+        }
+
+        AnnotationConfigApplicationContext applicationContext = new AnnotationConfigApplicationContext(MyConfiguration.class);
+        QuestionDao questionDao = applicationContext.getBean(QuestionDao.class);
+        QuestionDao target = (QuestionDao) ((Advised) questionDao).getTargetObject();
+        questionDao.insert(new Question("writer", "title", "contents"));
+        long questionId = questionDao.findAll().get(0).getQuestionId();
+
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < 10_000; i++) {
+                target.findById(questionId);
+            }
+            long uncached = (System.nanoTime() - start) / 10_000;
+
+            start = System.nanoTime();
+            for (int i = 0; i < 10_000; i++) {
+                questionDao.findById(questionId);
+            }
+            long cached = (System.nanoTime() - start) / 10_000;
+
+            logger.info("QuestionDao.findById - H2: {}ns/call, cached: {}ns/call", uncached, cached);
+        }
+        logger.info("{}", applicationContext.getBean(CacheManager.class).getStats());
+        applicationContext.close();
+    }
+
+//    20% 의 key 가 80% 의 조회를 차지하고, 가끔 한번만 조회하는 key 를 훑는다.
+    private CacheStats hitRate(Cache cache) {
+        Random random = new Random(42);
+        int scanKey = 1_000_000;
+
+        for (int i = 0; i < 200_000; i++) {
+            Object key = i % 10 == 0 ? scanKey++ : (random.nextInt(10) < 8 ? random.nextInt(50) : 50 + random.nextInt(950));
+            if(cache.get(key) == null) {
+                cache.put(key, key);
+            }
+        }
+        return cache.getStats();
+    }
+
+    private long runConcurrently(Function<Object, Object> get, int keys, int iterations) throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            int seed = i;
+            results.add(executorService.submit(() -> {
+                start.await();
+                for (int j = 0; j < iterations; j++) {
+                    if(get.apply((j * 31 + seed) % keys) == null) {
+                        throw new IllegalStateException();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.currentTimeMillis();
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get(60, TimeUnit.SECONDS);
+        }
+        long elapsed = System.currentTimeMillis() - begin;
+
+        executorService.shutdown();
+        return elapsed;
+    }
+
+    public static class Book {
+        private final long id;
+
+        public Book(long id) {
+            this.id = id;
+        }
+
+        public long getId() {
+            return id;
+        }
+    }
+
+    public static class BookRepository {
+        private final AtomicInteger loads = new AtomicInteger();
+
+        public int getLoads() {
+            return loads.get();
+        }
+
+        @Cacheable("books")
+        public String findById(long id) {
+            loads.incrementAndGet();
+            return "book-" + id;
+        }
+
+        @Cacheable("books")
+        public String findByTitle(String title, int page) {
+            loads.incrementAndGet();
+            return null;
+        }
+
+        @CacheEvict(value = "books", key = "#0.id")
+        public void update(Book book) {
+        }
+
+        @CacheEvict(value = "books", allEntries = true)
+        public void deleteAll() {
+        }
+    }
+
+    public static class InvalidRepository {
+        @Cacheable(value = "invalid", key = "#1")
+        public String find(long id) {
+            return "invalid";
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package core.di.context;
+
+import core.annotation.Bean;
+import core.annotation.EventListener;
+import core.annotation.Inject;
+import core.annotation.Transactional;
+import core.di.beans.factory.DefaultBeanFactory;
+import core.di.beans.factory.definition.ClassBeanDefinition;
+import core.di.beans.factory.definition.MethodBeanDefinition;
+import core.di.beans.factory.processor.TransactionBeanPostProcessor;
+import core.di.context.event.SimpleApplicationEventPublisher;
+import core.jdbc.DataAccessException;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.Order;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author KingCjy
+ */
+public class ApplicationEventPublisherTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApplicationEventPublisherTest.class);
+
+    private static final List<String> events = new CopyOnWriteArrayList<>();
+    private static volatile CountDownLatch asyncLatch;
+    private static volatile String asyncThread;
+
+    private DefaultBeanFactory beanFactory;
+    private SimpleApplicationEventPublisher eventPublisher;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        events.clear();
+        asyncLatch = new CountDownLatch(1);
+
+        beanFactory = new DefaultBeanFactory();
+        beanFactory.registerDefinition(new ClassBeanDefinition(EventConfig.class, EventConfig.class.getName()));
+        beanFactory.registerDefinition(new MethodBeanDefinition(EventConfig.class.getMethod("dataSource")));
+        beanFactory.registerDefinition(new ClassBeanDefinition(TransactionBeanPostProcessor.class, "transactionBeanPostProcessor"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(SimpleApplicationEventPublisher.class, "applicationEventPublisher"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(OrderedListener.class, "orderedListener"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(AsyncListener.class, "asyncListener"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(AfterCommitListener.class, "afterCommitListener"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(TransactionalPublisher.class, "transactionalPublisher"));
+        beanFactory.initialize();
+
+        eventPublisher = beanFactory.getBean(SimpleApplicationEventPublisher.class);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        eventPublisher.destroy();
+    }
+
+    @Test
+    @DisplayName("SYNC 리스너는 발행한 스레드에서 @Order 순서로 호출되고, 상위 타입 리스너도 받는다")
+    public void syncTest() {
+        eventPublisher.publishEvent(new SyncEvent("hello"));
+
+        assertThat(events).containsExactly("first:hello", "second:hello", "object:hello");
+        assertThat(eventPublisher.getListeners(String.class)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("public 이 아닌 클래스의 리스너도 호출한다")
+    public void packagePrivateListenerTest() {
+        DefaultBeanFactory beanFactory = new DefaultBeanFactory();
+        beanFactory.registerDefinition(new ClassBeanDefinition(SimpleApplicationEventPublisher.class, "applicationEventPublisher"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(PackagePrivateListener.class, "packagePrivateListener"));
+        beanFactory.initialize();
+
+        beanFactory.getBean(SimpleApplicationEventPublisher.class).publishEvent(new CommitEvent("package-private"));
+
+        assertThat(events).containsExactly("package-private:package-private");
+    }
+
+    @Test
+    @DisplayName("SYNC 리스너의 예외는 발행한 쪽으로 던진다")
+    public void syncExceptionTest() {
+        assertThatThrownBy(() -> eventPublisher.publishEvent(new SyncEvent("fail")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("fail");
+    }
+
+    @Test
+    @DisplayName("ASYNC 리스너는 이벤트 스레드 풀에서 호출된다")
+    public void asyncTest() throws Exception {
+        eventPublisher.publishEvent(new AsyncEvent());
+
+        assertThat(asyncLatch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(asyncThread).startsWith("event-");
+    }
+
+    @Test
+    @DisplayName("AFTER_COMMIT 리스너는 커밋된 후에만 호출되고, 트랜잭션 밖에서는 바로 호출된다")
+    public void afterCommitTest() {
+        TransactionalPublisher transactionalPublisher = beanFactory.getBean(TransactionalPublisher.class);
+
+        transactionalPublisher.publishAndCommit();
+        assertThat(events).containsExactly("in-transaction", "after-commit:commit");
+
+        events.clear();
+        transactionalPublisher.publishAndRollback();
+        assertThat(events).containsExactly("in-transaction");
+
+        events.clear();
+        eventPublisher.publishEvent(new CommitEvent("no-transaction"));
+        assertThat(events).containsExactly("after-commit:no-transaction");
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("벤치마크: 미리 계산한 디스패치 테이블로 발행 vs 리스너 직접 호출")
+    public void benchmark() {
+        OrderedListener listener = beanFactory.getBean(OrderedListener.class);
+        BenchmarkEvent event = new BenchmarkEvent();
+        int iterations = 2_000_000;
+
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                eventPublisher.publishEvent(event);
+            }
+            long published = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                listener.onBenchmark(event);
+            }
+            long direct = System.nanoTime() - start;
+
+            logger.info("publishEvent: {}ns/op, direct call: {}ns/op", published / iterations, direct / iterations);
+        }
+
+        assertThat(event.count).isEqualTo(iterations * 6L);
+    }
+
+    public static class EventConfig {
+        @Bean
+        public DataSource dataSource() {
+            BasicDataSource ds = new BasicDataSource();
+            ds.setDriverClassName("org.h2.Driver");
+            ds.setUrl("jdbc:h2:mem:events");
+            ds.setUsername("sa");
+            ds.setPassword("");
+            return ds;
+        }
+    }
+
+    public static class SyncEvent {
+        private final String message;
+
+        public SyncEvent(String message) {
+            this.message = message;
+        }
+    }
+
+    public static class AsyncEvent {
+    }
+
+    public static class CommitEvent {
+        private final String message;
+
+        public CommitEvent(String message) {
+            this.message = message;
+        }
+    }
+
+    public static class BenchmarkEvent {
+        private long count;
+    }
+
+    public static class OrderedListener {
+        @Order(2)
+        @EventListener
+        public void second(SyncEvent event) {
+            events.add("second:" + event.message);
+        }
+
+        @Order(1)
+        @EventListener
+        public void first(SyncEvent event) {
+            if("fail".equals(event.message)) {
+                throw new IllegalArgumentException("fail");
+            }
+            events.add("first:" + event.message);
+        }
+
+        @Order(3)
+        @EventListener
+        public void any(Object event) {
+            if(event instanceof SyncEvent) {
+                events.add("object:" + ((SyncEvent) event).message);
+            }
+        }
+
+        @EventListener
+        public void onBenchmark(BenchmarkEvent event) {
+            event.count++;
+        }
+    }
+
+    public static class AsyncListener {
+        @EventListener(mode = EventListener.Mode.ASYNC)
+        public void onAsync(AsyncEvent event) {
+            asyncThread = Thread.currentThread().getName();
+            asyncLatch.countDown();
+        }
+    }
+
+    public static class AfterCommitListener {
+        @EventListener(mode = EventListener.Mode.AFTER_COMMIT)
+        public void onCommit(CommitEvent event) {
+            events.add("after-commit:" + event.message);
+        }
+    }
+
+    static class PackagePrivateListener {
+        public PackagePrivateListener() {
+        }
+
+        @EventListener
+        public void onEvent(CommitEvent event) {
+            events.add("package-private:" + event.message);
+        }
+    }
+
+    public static class TransactionalPublisher {
+        @Inject
+        private ApplicationEventPublisher eventPublisher;
+
+        @Transactional
+        public void publishAndCommit() {
+            eventPublisher.publishEvent(new CommitEvent("commit"));
+            events.add("in-transaction");
+        }
+
+        @Transactional
+        public void publishAndRollback() {
+            eventPublisher.publishEvent(new CommitEvent("rollback"));
+            events.add("in-transaction");
+            throw new DataAccessException();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package core.di.context;
+
+import com.google.common.collect.Sets;
+import core.annotation.Inject;
+import core.annotation.Scope;
+import core.di.beans.factory.DefaultBeanFactory;
+import core.di.beans.factory.definition.BeanDefinition;
+import core.di.beans.factory.definition.ClassBeanDefinition;
+import core.di.context.support.AnnotationConfigApplicationContext;
+import core.mvc.DispatcherServlet;
+import core.mvc.tobe.AnnotationHandlerMapping;
+import next.config.MyConfiguration;
+import next.controller.ApiQnaController;
+import next.controller.QnaController;
+import next.dao.UserDao;
+import next.service.QnaService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author KingCjy
+ */
+public class ContextRefreshTest {
+
+    @Test
+    @DisplayName("바뀐 클래스와 그 클래스에 의존하는 빈만 다시 만들고 나머지 싱글톤은 그대로 둔다")
+    public void refreshTest() {
+        ApplicationContext applicationContext = new AnnotationConfigApplicationContext(MyConfiguration.class);
+        DataSource dataSource = applicationContext.getBean(DataSource.class);
+        UserDao userDao = applicationContext.getBean(UserDao.class);
+        QnaService qnaService = applicationContext.getBean(QnaService.class);
+        ApiQnaController apiQnaController = applicationContext.getBean(ApiQnaController.class);
+
+        Set<String> refreshed = applicationContext.refresh(Collections.singleton(QnaService.class));
+
+        assertThat(refreshed).containsExactlyInAnyOrder(QnaService.class.getName(), ApiQnaController.class.getName(), QnaController.class.getName());
+        assertThat(applicationContext.getBean(QnaService.class)).isNotSameAs(qnaService);
+        assertThat(applicationContext.getBean(ApiQnaController.class)).isNotSameAs(apiQnaController);
+        assertThat(applicationContext.getBean(DataSource.class)).isSameAs(dataSource);
+        assertThat(applicationContext.getBean(UserDao.class)).isSameAs(userDao);
+        assertThat(applicationContext.getAnnotatedBeans(core.annotation.web.Controller.class))
+                .contains(applicationContext.getBean(ApiQnaController.class))
+                .doesNotContain(apiQnaController);
+    }
+
+    @Test
+    @DisplayName("refresh 후 핸들러 매핑은 새 컨트롤러로 교체된다")
+    public void handlerMappingTest() throws Exception {
+        ApplicationContext applicationContext = new AnnotationConfigApplicationContext(MyConfiguration.class);
+        AnnotationHandlerMapping handlerMapping = new AnnotationHandlerMapping(applicationContext);
+        handlerMapping.initialize();
+        applicationContext.addRefreshListener((context, refreshedBeanNames) -> handlerMapping.initialize());
+        DispatcherServlet dispatcherServlet = new DispatcherServlet(applicationContext);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/qna/list");
+        Object before = handlerMapping.getHandler(request);
+
+        applicationContext.refresh(Collections.singleton(QnaService.class));
+
+        assertThat(handlerMapping.getHandler(request)).isNotNull().isNotSameAs(before);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        dispatcherServlet.service(request, response);
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("관계없는 pooled 빈의 풀은 refresh 후에도 유지된다")
+    public void poolSurvivesTest() {
+        DefaultBeanFactory beanFactory = new DefaultBeanFactory();
+        beanFactory.registerDefinition(new ClassBeanDefinition(PooledBean.class, "pooledBean"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(ChangedBean.class, "changedBean"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(DependentBean.class, "dependentBean"));
+        beanFactory.initialize();
+
+        Object pooledBean = beanFactory.getBean("pooledBean");
+        ((PooledBean) pooledBean).touch();
+        DependentBean dependentBean = beanFactory.getBean(DependentBean.class);
+
+        Set<BeanDefinition> changed = Sets.newHashSet(new ClassBeanDefinition(ChangedBean.class, "changedBean"));
+        Set<String> refreshed = beanFactory.refresh(Collections.emptySet(), changed);
+
+        assertThat(refreshed).containsExactlyInAnyOrder("changedBean", "dependentBean");
+        assertThat(beanFactory.getBean("pooledBean")).isSameAs(pooledBean);
+        ((PooledBean) beanFactory.getBean("pooledBean")).touch();
+        assertThat(beanFactory.getPoolMetrics("pooledBean").getMisses()).isEqualTo(1);
+        assertThat(beanFactory.getPoolMetrics("pooledBean").getHits()).isEqualTo(1);
+        assertThat(beanFactory.getBean(DependentBean.class)).isNotSameAs(dependentBean);
+        assertThat(beanFactory.getBean(DependentBean.class).changedBean).isSameAs(beanFactory.getBean(ChangedBean.class));
+    }
+
+    @Test
+    @DisplayName("사라진 BeanDefinition 은 제거하고 의존하던 빈을 다시 만든다")
+    public void removeTest() {
+        DefaultBeanFactory beanFactory = new DefaultBeanFactory();
+        beanFactory.registerDefinition(new ClassBeanDefinition(ChangedBean.class, "changedBean"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(PooledBean.class, "pooledBean"));
+        beanFactory.initialize();
+
+        Set<String> refreshed = beanFactory.refresh(Collections.singleton("changedBean"), Collections.emptySet());
+
+        assertThat(refreshed).containsExactly("changedBean");
+        assertThat(beanFactory.getBeanDefinition("changedBean")).isNull();
+        assertThat(beanFactory.getBean(ChangedBean.class)).isNull();
+    }
+
+    @Test
+    @DisplayName("refresh 중에 다른 스레드가 getBean 해도 이전 BeanDefinition 의 빈이 남지 않는다")
+    public void concurrentRefreshTest() throws Exception {
+        DefaultBeanFactory beanFactory = new DefaultBeanFactory();
+        beanFactory.registerDefinition(new ClassBeanDefinition(ChangedBean.class, "changedBean"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(DependentBean.class, "dependentBean"));
+        beanFactory.initialize();
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        List<Future<?>> readers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            readers.add(executorService.submit(() -> {
+                while(running.get()) {
+                    beanFactory.getBean("changedBean");
+                    beanFactory.getBean(DependentBean.class);
+                }
+            }));
+        }
+
+        try {
+            for (int i = 0; i < 200; i++) {
+                Class<?> type = i % 2 == 0 ? ReplacedBean.class : ChangedBean.class;
+                beanFactory.refresh(Collections.emptySet(), Collections.singleton(new ClassBeanDefinition(type, "changedBean")));
+
+                assertThat(beanFactory.getBean("changedBean").getClass()).isEqualTo(type);
+                assertThat(beanFactory.getBean(DependentBean.class).changedBean).isSameAs(beanFactory.getBean("changedBean"));
+            }
+        } finally {
+            running.set(false);
+            executorService.shutdown();
+        }
+
+        for (Future<?> reader : readers) {
+            reader.get();
+        }
+    }
+
+    @Scope(Scope.POOLED)
+    public static class PooledBean {
+        public void touch() {
+        }
+    }
+
+    public static class ChangedBean {
+    }
+
+    public static class ReplacedBean extends ChangedBean {
+    }
+
+    public static class DependentBean {
+        @Inject
+        private ChangedBean changedBean;
+    }
+}
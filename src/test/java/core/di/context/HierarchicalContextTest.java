@@ -0,0 +1,81 @@
+package core.di.context;
+
+import core.annotation.ComponentScan;
+import core.annotation.web.Controller;
+import core.di.context.support.AnnotationConfigApplicationContext;
+import core.jdbc.JdbcTemplate;
+import next.config.MyConfiguration;
+import next.controller.ApiQnaController;
+import next.dao.QuestionDao;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author KingCjy
+ */
+public class HierarchicalContextTest {
+
+    private final List<ApplicationContext> contexts = new ArrayList<>();
+
+//    자식 컨텍스트를 먼저 닫는다.
+    @AfterEach
+    public void tearDown() {
+        for (int i = contexts.size() - 1; i >= 0; i--) {
+            contexts.get(i).close();
+        }
+    }
+
+    @Test
+    @DisplayName("자식 컨텍스트는 자기 빈을 만들고, 없는 빈은 부모에서 가져온다")
+    public void hierarchyTest() throws Exception {
+        ApplicationContext parent = register(new AnnotationConfigApplicationContext(MyConfiguration.class));
+        ApplicationContext first = register(new AnnotationConfigApplicationContext(parent, ControllerConfiguration.class));
+        ApplicationContext second = register(new AnnotationConfigApplicationContext(parent, ControllerConfiguration.class));
+
+        assertThat(first.getParent()).isSameAs(parent);
+        assertThat(first.getBean(DataSource.class)).isSameAs(parent.getBean(DataSource.class));
+        assertThat(second.getBean(JdbcTemplate.class)).isSameAs(parent.getBean(JdbcTemplate.class));
+
+        ApiQnaController firstController = first.getBean(ApiQnaController.class);
+        assertThat(firstController).isNotSameAs(second.getBean(ApiQnaController.class)).isNotSameAs(parent.getBean(ApiQnaController.class));
+        assertThat(getField(firstController, "questionDao")).isSameAs(parent.getBean(QuestionDao.class));
+    }
+
+    @Test
+    @DisplayName("getAnnotatedBeans 는 부모의 빈도 돌려주지만 자식에 같은 클래스의 빈이 있으면 자식 것만 돌려준다")
+    public void annotatedBeansTest() {
+        ApplicationContext parent = register(new AnnotationConfigApplicationContext(MyConfiguration.class));
+        ApplicationContext child = register(new AnnotationConfigApplicationContext(parent, ControllerConfiguration.class));
+
+        Object[] parentControllers = parent.getAnnotatedBeans(Controller.class);
+        Object[] childControllers = child.getAnnotatedBeans(Controller.class);
+
+        assertThat(childControllers).hasSameSizeAs(parentControllers).contains(child.getBean(ApiQnaController.class));
+        assertThat(childControllers).doesNotContain(parent.getBean(ApiQnaController.class));
+        assertThat(child.getAnnotatedBeans(Controller.class)).containsExactly(childControllers);
+    }
+
+    private ApplicationContext register(ApplicationContext context) {
+        contexts.add(context);
+        return context;
+    }
+
+    private Object getField(Object target, String name) throws Exception {
+        Field field = ClassUtils.getUserClass(target).getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(target);
+    }
+
+    @ComponentScan("next.controller")
+    public static class ControllerConfiguration {
+    }
+}
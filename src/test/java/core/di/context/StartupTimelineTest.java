@@ -0,0 +1,137 @@
+package core.di.context;
+
+import core.annotation.Inject;
+import core.annotation.PostConstruct;
+import core.di.beans.factory.DefaultBeanFactory;
+import core.di.beans.factory.definition.ClassBeanDefinition;
+import core.di.beans.factory.startup.StartupStep;
+import core.di.beans.factory.startup.StartupTimeline;
+import core.di.context.support.AnnotationConfigApplicationContext;
+import next.config.MyConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author KingCjy
+ */
+public class StartupTimelineTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupTimelineTest.class);
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    public void tearDown() {
+        System.clearProperty(AnnotationConfigApplicationContext.TIMELINE_PROPERTY);
+        System.clearProperty(AnnotationConfigApplicationContext.TIMELINE_FILE_PROPERTY);
+    }
+
+    @Test
+    @DisplayName("부팅 단계가 중첩된 타임라인으로 기록되고 JSON 파일로 남는다")
+    public void timelineTest() throws Exception {
+        Path location = tempDir.resolve("timeline.json");
+        System.setProperty(AnnotationConfigApplicationContext.TIMELINE_PROPERTY, "true");
+        System.setProperty(AnnotationConfigApplicationContext.TIMELINE_FILE_PROPERTY, location.toString());
+
+        ApplicationContext applicationContext = new AnnotationConfigApplicationContext(MyConfiguration.class);
+        List<StartupStep> steps = applicationContext.getStartupTimeline().getSteps();
+
+        assertThat(steps).extracting(StartupStep::getName).contains("scan", "bean-post-processors", "dependency-graph", "instantiate-beans");
+        assertThat(find(steps, "register", "next.controller.ApiQnaController")).isPresent();
+        assertThat(find(steps, "bean", "next.support.DBInitializer")).isPresent();
+        assertThat(find(steps, "post-construct:initialize", "next.support.DBInitializer")).isPresent();
+        assertThat(find(steps, "TransactionBeanPostProcessor", "core.aop.TransactionService")).isPresent();
+
+        String json = new String(Files.readAllBytes(location));
+        assertThat(json).contains("\"name\" : \"instantiate-beans\"", "\"durationMillis\"");
+    }
+
+    @Test
+    @DisplayName("병렬로 만든 빈도 부팅 스레드의 instantiate-beans 아래에 들어가고, finish 이후에는 기록하지 않는다")
+    public void nestedTest() {
+        StartupTimeline timeline = new StartupTimeline();
+        DefaultBeanFactory beanFactory = new DefaultBeanFactory();
+        beanFactory.setStartupTimeline(timeline);
+        beanFactory.registerDefinition(new ClassBeanDefinition(TimelineDependentBean.class, "timelineDependentBean"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(TimelineBean.class, "timelineBean"));
+        beanFactory.initialize();
+        timeline.finish();
+
+        StartupStep instantiate = find(timeline.getSteps(), "instantiate-beans", null).get();
+        StartupStep bean = find(instantiate.getChildren(), "bean", "timelineBean").get();
+
+        assertThat(instantiate.getChildren()).extracting(StartupStep::getTag).contains("timelineBean", "timelineDependentBean");
+        assertThat(find(bean.getChildren(), "post-construct:initialize", TimelineBean.class.getName())).isPresent();
+        assertThat(bean.getDurationMillis()).isGreaterThanOrEqualTo(0);
+
+        int recorded = timeline.getSteps().size();
+        timeline.start("after-boot").end();
+        assertThat(timeline.getSteps()).hasSize(recorded);
+    }
+
+    @Test
+    @DisplayName("꺼져 있으면 아무것도 기록하지 않는다")
+    public void disabledTest() {
+        ApplicationContext applicationContext = new AnnotationConfigApplicationContext(MyConfiguration.class);
+
+        assertThat(applicationContext.getStartupTimeline()).isSameAs(StartupTimeline.NONE);
+        assertThat(applicationContext.getStartupTimeline().getSteps()).isEmpty();
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("벤치마크: 꺼진 타임라인의 start/end 비용")
+    public void benchmark() {
+        int iterations = 10_000_000;
+
+        for (int round = 0; round < 3; round++) {
+            int steps = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                try (StartupStep step = StartupTimeline.NONE.start("bean", "name")) {
+                    steps += step == null ? 0 : 1;
+                }
+            }
+            long disabled = System.nanoTime() - start;
+
+            assertThat(steps).isEqualTo(iterations);
+            logger.info("disabled timeline: {}ns per step", (double) disabled / iterations);
+        }
+    }
+
+    private static Optional<StartupStep> find(List<StartupStep> steps, String name, String tag) {
+        return steps.stream()
+                .flatMap(StartupTimelineTest::flatten)
+                .filter(step -> step.getName().equals(name) && (tag == null || tag.equals(step.getTag())))
+                .findFirst();
+    }
+
+    private static Stream<StartupStep> flatten(StartupStep step) {
+        return Stream.concat(Stream.of(step), step.getChildren().stream().flatMap(StartupTimelineTest::flatten));
+    }
+
+    public static class TimelineBean {
+        @PostConstruct
+        public void initialize() {
+        }
+    }
+
+    public static class TimelineDependentBean {
+        @Inject
+        private TimelineBean timelineBean;
+    }
+}
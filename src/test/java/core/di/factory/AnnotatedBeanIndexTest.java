@@ -0,0 +1,135 @@
+package core.di.factory;
+
+import core.annotation.Component;
+import core.annotation.Lazy;
+import core.annotation.web.Controller;
+import core.di.beans.factory.DefaultBeanFactory;
+import core.di.beans.factory.definition.ClassBeanDefinition;
+import core.util.OrderComparator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.Order;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.function.IntSupplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author KingCjy
+ */
+public class AnnotatedBeanIndexTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnnotatedBeanIndexTest.class);
+
+    @Test
+    @DisplayName("메타 어노테이션으로 찾고 @Order, 등록 순서로 정렬된 배열의 복사본을 돌려준다")
+    public void annotatedBeansTest() {
+        DefaultBeanFactory beanFactory = new DefaultBeanFactory();
+        beanFactory.registerDefinition(new ClassBeanDefinition(FirstController.class, "firstController"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(LastController.class, "lastController"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(SecondController.class, "secondController"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(PlainComponent.class, "plainComponent"));
+        beanFactory.initialize();
+
+        Object[] controllers = beanFactory.getAnnotatedBeans(Controller.class);
+
+        assertThat(controllers).extracting(bean -> bean.getClass().getSimpleName())
+                .containsExactly("SecondController", "FirstController", "LastController");
+        assertThat(beanFactory.getAnnotatedBeans(Component.class)).hasSize(4);
+        assertThat(beanFactory.getAnnotatedBeans(Controller.class)).isNotSameAs(controllers).containsExactly(controllers);
+        assertThat(beanFactory.getAnnotatedBeans(Lazy.class)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("lazy 빈은 조회할 때 만들어서 인덱스에 넣고, 캐시된 배열을 새로 만든다")
+    public void lazyBeanTest() {
+        DefaultBeanFactory beanFactory = new DefaultBeanFactory();
+        beanFactory.registerDefinition(new ClassBeanDefinition(FirstController.class, "firstController"));
+        beanFactory.initialize();
+
+        Object[] controllers = beanFactory.getAnnotatedBeans(Controller.class);
+        beanFactory.registerDefinition(new ClassBeanDefinition(LazyController.class, "lazyController"));
+
+        assertThat(beanFactory.getAnnotatedBeans(Controller.class)).hasSize(2).isNotSameAs(controllers);
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("벤치마크: 빈 개수가 늘어도 조회 비용은 일정하다")
+    public void benchmark() {
+        int iterations = 200_000;
+
+        for (int beanCount : new int[] {100, 1_000, 10_000}) {
+            DefaultBeanFactory beanFactory = new DefaultBeanFactory();
+            for (int i = 0; i < beanCount; i++) {
+                beanFactory.registerDefinition(new ClassBeanDefinition(PlainBean.class, "plainBean" + i));
+            }
+            beanFactory.registerDefinition(new ClassBeanDefinition(FirstController.class, "firstController"));
+            beanFactory.registerDefinition(new ClassBeanDefinition(SecondController.class, "secondController"));
+            beanFactory.initialize();
+
+            Object[] beans = beanFactory.getBeanDefinitions().stream()
+                    .map(beanDefinition -> beanFactory.getBean(beanDefinition.getName()))
+                    .toArray();
+
+            long indexed = measure(iterations, () -> beanFactory.getAnnotatedBeans(Controller.class).length);
+            long scanned = measure(iterations / 100, () -> scan(beans).length);
+
+            logger.info("{} beans - index lookup: {}ns, full scan: {}ns", beanCount, indexed / iterations, scanned / (iterations / 100));
+            assertThat(beanFactory.getAnnotatedBeans(Controller.class)).hasSize(2);
+        }
+    }
+
+//    인덱스 이전 getAnnotatedBeans 가 매번 하던 일
+    private Object[] scan(Object[] beans) {
+        return Arrays.stream(beans)
+                .filter(bean -> bean.getClass().isAnnotationPresent(Controller.class))
+                .sorted(OrderComparator.INSTANCE)
+                .collect(Collectors.toCollection(LinkedHashSet::new))
+                .toArray();
+    }
+
+    private long measure(int iterations, IntSupplier lookup) {
+        int found = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            found += lookup.getAsInt();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        assertThat(found).isGreaterThanOrEqualTo(0);
+        return elapsed;
+    }
+
+    @Controller
+    public static class FirstController {
+    }
+
+    @Order(0)
+    @Controller
+    public static class SecondController {
+    }
+
+    @Order(10)
+    @Controller
+    public static class LastController {
+    }
+
+    @Lazy
+    @Controller
+    public static class LazyController {
+    }
+
+    @Component
+    public static class PlainComponent {
+    }
+
+    public static class PlainBean {
+    }
+}
@@ -0,0 +1,144 @@
+package core.di.factory;
+
+import core.annotation.Inject;
+import core.di.beans.factory.DefaultBeanFactory;
+import core.di.beans.factory.definition.ClassBeanDefinition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * @author KingCjy
+ */
+public class BeanFactoryConcurrencyTest {
+
+    private static final int THREADS = 32;
+    private static final int ITERATIONS = 200;
+
+    private static final AtomicInteger slowBeanCount = new AtomicInteger();
+    private static final AtomicInteger dependentBeanCount = new AtomicInteger();
+    private static final AtomicInteger otherBeanCount = new AtomicInteger();
+
+    private DefaultBeanFactory beanFactory;
+
+    @BeforeEach
+    public void setUp() {
+        slowBeanCount.set(0);
+        dependentBeanCount.set(0);
+        otherBeanCount.set(0);
+
+        beanFactory = new DefaultBeanFactory();
+        beanFactory.registerDefinition(new ClassBeanDefinition(SlowBean.class, "slowBean"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(DependentBean.class, "dependentBean"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(OtherBean.class, "otherBean"));
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 getBean 해도 빈은 한번만 생성된다")
+    public void createOnceTest() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Object[]>> results = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            results.add(executorService.submit(() -> {
+                start.await();
+                Object[] beans = new Object[3];
+                for (int j = 0; j < ITERATIONS; j++) {
+                    beans[0] = beanFactory.getBean(DependentBean.class);
+                    beans[1] = beanFactory.getBean("slowBean");
+                    beans[2] = beanFactory.getBean(OtherBean.class);
+                }
+                return beans;
+            }));
+        }
+
+        start.countDown();
+
+        Object[] expected = results.get(0).get(10, TimeUnit.SECONDS);
+        for (Future<Object[]> result : results) {
+            assertThat(result.get(10, TimeUnit.SECONDS)).containsExactly(expected);
+        }
+        executorService.shutdown();
+
+        assertThat(slowBeanCount.get()).isEqualTo(1);
+        assertThat(dependentBeanCount.get()).isEqualTo(1);
+        assertThat(otherBeanCount.get()).isEqualTo(1);
+        assertThat(((DependentBean) expected[0]).slowBean).isSameAs(expected[1]);
+    }
+
+    @Test
+    @DisplayName("생성 중인 빈을 기다리는 동안 다른 빈 조회는 막히지 않는다")
+    public void otherBeanNotBlockedTest() throws Exception {
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Future<DependentBean> creating = executorService.submit(() -> beanFactory.getBean(DependentBean.class));
+
+        assertTimeoutPreemptively(Duration.ofMillis(SlowBean.CREATION_MILLIS / 2),
+                () -> beanFactory.getBean(OtherBean.class));
+
+        assertThat(creating.get(10, TimeUnit.SECONDS)).isNotNull();
+        executorService.shutdown();
+    }
+
+    @Test
+    @DisplayName("서로 다른 스레드에서 순환 참조 빈을 만들면 데드락 대신 예외가 발생한다")
+    public void circularReferenceAcrossThreadsTest() {
+        beanFactory.registerDefinition(new ClassBeanDefinition(CircularA.class, "circularA"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(CircularB.class, "circularB"));
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            CompletableFuture<Object> a = CompletableFuture.supplyAsync(() -> beanFactory.getBean(CircularA.class));
+            CompletableFuture<Object> b = CompletableFuture.supplyAsync(() -> beanFactory.getBean(CircularB.class));
+
+            assertThatThrownBy(a::join).isInstanceOf(CompletionException.class);
+            assertThatThrownBy(b::join).isInstanceOf(CompletionException.class);
+        });
+    }
+
+    public static class SlowBean {
+        static final long CREATION_MILLIS = 500;
+
+        public SlowBean() throws InterruptedException {
+            slowBeanCount.incrementAndGet();
+            Thread.sleep(CREATION_MILLIS);
+        }
+    }
+
+    public static class DependentBean {
+        private final SlowBean slowBean;
+
+        @Inject
+        public DependentBean(SlowBean slowBean) {
+            dependentBeanCount.incrementAndGet();
+            this.slowBean = slowBean;
+        }
+    }
+
+    public static class OtherBean {
+        public OtherBean() {
+            otherBeanCount.incrementAndGet();
+        }
+    }
+
+    public static class CircularA {
+        @Inject
+        public CircularA(CircularB circularB) {
+        }
+    }
+
+    public static class CircularB {
+        @Inject
+        public CircularB(CircularA circularA) {
+        }
+    }
+}
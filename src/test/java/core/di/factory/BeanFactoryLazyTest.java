@@ -0,0 +1,216 @@
+package core.di.factory;
+
+import core.annotation.Bean;
+import core.annotation.Inject;
+import core.annotation.Lazy;
+import core.annotation.web.Controller;
+import core.di.beans.factory.DefaultBeanFactory;
+import core.di.beans.factory.definition.ClassBeanDefinition;
+import core.di.beans.factory.definition.MethodBeanDefinition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author KingCjy
+ */
+public class BeanFactoryLazyTest {
+
+    private static final AtomicInteger expensiveCount = new AtomicInteger();
+    private static final AtomicInteger lazyServiceCount = new AtomicInteger();
+    private static final AtomicInteger lazyClassCount = new AtomicInteger();
+    private static final AtomicInteger lazyMethodCount = new AtomicInteger();
+    private static final AtomicInteger controllerCount = new AtomicInteger();
+
+    private DefaultBeanFactory beanFactory;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        expensiveCount.set(0);
+        lazyServiceCount.set(0);
+        lazyClassCount.set(0);
+        lazyMethodCount.set(0);
+        controllerCount.set(0);
+
+        beanFactory = new DefaultBeanFactory();
+        beanFactory.registerDefinition(new ClassBeanDefinition(ExpensiveBean.class, "expensiveBean"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(LazyServiceImpl.class, "lazyService"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(LazyClassBean.class, "lazyClassBean"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(LazyConfig.class, LazyConfig.class.getName()));
+        beanFactory.registerDefinition(new MethodBeanDefinition(LazyConfig.class.getMethod("lazyMethodBean")));
+        beanFactory.registerDefinition(new ClassBeanDefinition(LazyInjectedBean.class, "lazyInjectedBean"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(LazyController.class, "lazyController"));
+    }
+
+    @Test
+    @DisplayName("@Lazy 클래스, @Bean 은 처음 조회할 때 생성한다")
+    public void lazyDefinitionTest() {
+        beanFactory.initialize();
+
+        assertThat(lazyClassCount.get()).isZero();
+        assertThat(lazyMethodCount.get()).isZero();
+
+        assertThat(beanFactory.getBean(LazyClassBean.class)).isNotNull();
+        assertThat(beanFactory.getBean("lazyMethodBean")).isNotNull();
+        assertThat(lazyClassCount.get()).isEqualTo(1);
+        assertThat(lazyMethodCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("@Lazy 주입 지점에는 프록시가 주입되고 처음 호출할 때 빈을 만든다")
+    public void lazyInjectionTest() {
+        beanFactory.initialize();
+        LazyInjectedBean injectedBean = beanFactory.getBean(LazyInjectedBean.class);
+
+        assertThat(expensiveCount.get()).isZero();
+        assertThat(lazyServiceCount.get()).isZero();
+
+        assertThat(injectedBean.expensiveBean.getValue()).isEqualTo("expensive");
+        assertThat(injectedBean.lazyService.getValue()).isEqualTo("lazy");
+        assertThat(expensiveCount.get()).isEqualTo(1);
+        assertThat(lazyServiceCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 lazy 프록시를 동시에 호출해도 빈은 한번만 만든다")
+    public void lazyProxyConcurrencyTest() throws Exception {
+        beanFactory.initialize();
+        LazyInjectedBean injectedBean = beanFactory.getBean(LazyInjectedBean.class);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+
+        for (int i = 0; i < 16; i++) {
+            results.add(executorService.submit(() -> {
+                start.await();
+                return injectedBean.expensiveBean.getValue() + injectedBean.lazyService.getValue();
+            }));
+        }
+        start.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo("expensivelazy");
+        }
+        executorService.shutdown();
+
+        assertThat(expensiveCount.get()).isEqualTo(1);
+        assertThat(lazyServiceCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("전역 lazy 모드에서는 아무 빈도 만들지 않고, getAnnotatedBeans 로 찾은 빈만 만든다")
+    public void lazyInitModeTest() {
+        beanFactory.setLazyInit(true);
+        beanFactory.registerDefinition(new ClassBeanDefinition(EagerBean.class, "eagerBean"));
+        beanFactory.initialize();
+
+        assertThat(beanFactory.getBean("eagerBean")).isNotNull();
+        assertThat(controllerCount.get()).isZero();
+
+        Object[] controllers = beanFactory.getAnnotatedBeans(Controller.class);
+
+        assertThat(controllers).hasSize(1);
+        assertThat(controllerCount.get()).isEqualTo(1);
+        assertThat(expensiveCount.get()).isZero();
+
+        ((LazyController) controllers[0]).expensiveBean.getValue();
+        assertThat(expensiveCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("전역 lazy 모드에서 getBeansOfType 은 그 타입의 빈만 만들고, getAnnotatedBeans 결과를 바꿔도 다음 조회에 영향이 없다")
+    public void lazyLookupTest() {
+        beanFactory.setLazyInit(true);
+        beanFactory.initialize();
+
+        List<LazyService> services = beanFactory.getBeansOfType(LazyService.class);
+
+        assertThat(services).hasSize(1);
+        assertThat(lazyServiceCount.get()).isEqualTo(1);
+        assertThat(controllerCount.get()).isZero();
+        assertThat(lazyClassCount.get()).isZero();
+
+        Object[] controllers = beanFactory.getAnnotatedBeans(Controller.class);
+        controllers[0] = null;
+        assertThat(beanFactory.getAnnotatedBeans(Controller.class)).doesNotContainNull();
+    }
+
+    @Lazy
+    public static class ExpensiveBean {
+        public ExpensiveBean() {
+            expensiveCount.incrementAndGet();
+        }
+
+        public String getValue() {
+            return "expensive";
+        }
+    }
+
+    public interface LazyService {
+        String getValue();
+    }
+
+    @Lazy
+    public static class LazyServiceImpl implements LazyService {
+        public LazyServiceImpl() {
+            lazyServiceCount.incrementAndGet();
+        }
+
+        @Override
+        public String getValue() {
+            return "lazy";
+        }
+    }
+
+    @Lazy
+    public static class LazyClassBean {
+        public LazyClassBean() {
+            lazyClassCount.incrementAndGet();
+        }
+    }
+
+    public static class LazyConfig {
+        @Bean
+        @Lazy
+        public StringBuilder lazyMethodBean() {
+            lazyMethodCount.incrementAndGet();
+            return new StringBuilder();
+        }
+    }
+
+    public static class LazyInjectedBean {
+        @Inject
+        @Lazy
+        private ExpensiveBean expensiveBean;
+
+        private final LazyService lazyService;
+
+        @Inject
+        public LazyInjectedBean(@Lazy LazyService lazyService) {
+            this.lazyService = lazyService;
+        }
+    }
+
+    @Lazy
+    @Controller
+    public static class LazyController {
+        @Inject
+        private ExpensiveBean expensiveBean;
+
+        public LazyController() {
+            controllerCount.incrementAndGet();
+        }
+    }
+
+    @Lazy(false)
+    public static class EagerBean {
+    }
+}
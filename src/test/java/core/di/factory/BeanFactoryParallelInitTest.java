@@ -0,0 +1,172 @@
+package core.di.factory;
+
+import core.annotation.Inject;
+import core.annotation.PostConstruct;
+import core.di.beans.factory.DefaultBeanFactory;
+import core.di.beans.factory.definition.ClassBeanDefinition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.BeanCurrentlyInCreationException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author KingCjy
+ */
+public class BeanFactoryParallelInitTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BeanFactoryParallelInitTest.class);
+
+    private static final long SLOW_MILLIS = 300;
+    private static final AtomicInteger dependentCount = new AtomicInteger();
+
+    private DefaultBeanFactory beanFactory;
+
+    @BeforeEach
+    public void setUp() {
+        System.setProperty(DefaultBeanFactory.PARALLELISM_PROPERTY, "4");
+        dependentCount.set(0);
+        beanFactory = new DefaultBeanFactory();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        System.clearProperty(DefaultBeanFactory.PARALLELISM_PROPERTY);
+    }
+
+    @Test
+    @DisplayName("독립된 빈은 병렬로 만들어지고 부팅 시간은 가장 긴 의존 경로 정도가 된다")
+    public void parallelTest() {
+        beanFactory.registerDefinition(new ClassBeanDefinition(SlowDependentBean.class, "slowDependentBean"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(SlowBeanA.class, "slowBeanA"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(SlowBeanB.class, "slowBeanB"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(SlowBeanC.class, "slowBeanC"));
+
+        long start = System.currentTimeMillis();
+        beanFactory.initialize();
+        long elapsed = System.currentTimeMillis() - start;
+
+        logger.info("4 slow beans, critical path {}ms, sequential {}ms, initialize {}ms", SLOW_MILLIS * 2, SLOW_MILLIS * 4, elapsed);
+
+        SlowDependentBean dependentBean = beanFactory.getBean(SlowDependentBean.class);
+        assertThat(dependentBean.slowBeanA).isSameAs(beanFactory.getBean(SlowBeanA.class));
+        assertThat(dependentBean.slowBeanA.initialized).isTrue();
+        assertThat(elapsed).isLessThan(SLOW_MILLIS * 4);
+    }
+
+    @Test
+    @DisplayName("순환 참조는 생성 전에 항상 같은 경로로 보고된다")
+    public void circularTest() {
+        beanFactory.registerDefinition(new ClassBeanDefinition(CircularA.class, "circularA"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(CircularB.class, "circularB"));
+
+        assertThatThrownBy(() -> beanFactory.initialize())
+                .isInstanceOf(BeanCurrentlyInCreationException.class)
+                .hasMessageContaining("circularA -> circularB -> circularA");
+    }
+
+    @Test
+    @DisplayName("여러 빈이 실패하면 먼저 등록된 빈의 실패를 던지고, 실패한 빈에 의존하는 빈은 만들지 않는다")
+    public void failureTest() {
+        beanFactory.registerDefinition(new ClassBeanDefinition(FailingBeanA.class, "failingBeanA"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(FailingBeanB.class, "failingBeanB"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(FailingDependentBean.class, "failingDependentBean"));
+
+        for (int i = 0; i < 10; i++) {
+            DefaultBeanFactory beanFactory = new DefaultBeanFactory();
+            this.beanFactory.getBeanDefinitions().forEach(beanFactory::registerDefinition);
+
+            assertThatThrownBy(beanFactory::initialize)
+                    .hasRootCauseMessage("failingBeanA")
+                    .satisfies(e -> assertThat(e.getSuppressed()).hasSize(1));
+        }
+
+        assertThat(dependentCount.get()).isZero();
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(SLOW_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static class SlowBeanA {
+        private volatile boolean initialized;
+
+        @PostConstruct
+        public void initialize() {
+            sleep();
+            initialized = true;
+        }
+    }
+
+    public static class SlowBeanB {
+        @PostConstruct
+        public void initialize() {
+            sleep();
+        }
+    }
+
+    public static class SlowBeanC {
+        @PostConstruct
+        public void initialize() {
+            sleep();
+        }
+    }
+
+    public static class SlowDependentBean {
+        private final SlowBeanA slowBeanA;
+
+        @Inject
+        public SlowDependentBean(SlowBeanA slowBeanA) {
+            this.slowBeanA = slowBeanA;
+        }
+
+        @PostConstruct
+        public void initialize() {
+            sleep();
+        }
+    }
+
+    public static class CircularA {
+        @Inject
+        private CircularB circularB;
+    }
+
+    public static class CircularB {
+        @Inject
+        public CircularB(CircularA circularA) {
+        }
+    }
+
+    public static class FailingBeanA {
+        @PostConstruct
+        public void initialize() {
+            throw new IllegalStateException("failingBeanA");
+        }
+    }
+
+    public static class FailingBeanB {
+        @PostConstruct
+        public void initialize() {
+            sleep();
+            throw new IllegalStateException("failingBeanB");
+        }
+    }
+
+    public static class FailingDependentBean {
+        @Inject
+        public FailingDependentBean(FailingBeanA failingBeanA) {
+            dependentCount.incrementAndGet();
+        }
+    }
+}
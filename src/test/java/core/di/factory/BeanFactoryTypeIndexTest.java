@@ -0,0 +1,142 @@
+package core.di.factory;
+
+import core.di.beans.factory.DefaultBeanFactory;
+import core.di.beans.factory.definition.BeanDefinitionTypeIndex;
+import core.di.beans.factory.definition.ClassBeanDefinition;
+import net.sf.cglib.proxy.Enhancer;
+import net.sf.cglib.proxy.NoOp;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanInstantiationException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author KingCjy
+ */
+public class BeanFactoryTypeIndexTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BeanFactoryTypeIndexTest.class);
+
+    @Test
+    @DisplayName("타입, 상위 타입으로 조회")
+    public void getBeanByTypeTest() {
+        DefaultBeanFactory beanFactory = new DefaultBeanFactory();
+        beanFactory.registerDefinition(new ClassBeanDefinition(SyntheticBean.class, "syntheticBean"));
+
+        assertThat(beanFactory.getBean(SyntheticBean.class)).isInstanceOf(SyntheticBean.class);
+        assertThat(beanFactory.getBean(SyntheticMarker.class)).isSameAs(beanFactory.getBean(SyntheticBean.class));
+        assertThat(beanFactory.getBean(Object.class)).isSameAs(beanFactory.getBean(SyntheticBean.class));
+    }
+
+    @Test
+    @DisplayName("같은 이름으로 다시 등록하면 이전 BeanDefinition 은 인덱스에서 빠진다")
+    public void replaceDefinitionTest() {
+        DefaultBeanFactory beanFactory = new DefaultBeanFactory();
+        beanFactory.registerDefinition(new ClassBeanDefinition(SyntheticBean.class, "syntheticBean"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(OtherSyntheticBean.class, "syntheticBean"));
+
+        assertThat(beanFactory.getBeanDefinitions(SyntheticBean.class)).isEmpty();
+        assertThat(beanFactory.getBean(SyntheticMarker.class)).isInstanceOf(OtherSyntheticBean.class);
+    }
+
+    @Test
+    @DisplayName("이미 만든 빈이 있어도 같은 이름으로 다시 등록하면 새 BeanDefinition 으로 다시 만든다")
+    public void replaceCreatedBeanTest() {
+        DefaultBeanFactory beanFactory = new DefaultBeanFactory();
+        beanFactory.registerDefinition(new ClassBeanDefinition(SyntheticBean.class, "syntheticBean"));
+        beanFactory.initialize();
+        assertThat(beanFactory.getBean("syntheticBean")).isInstanceOf(SyntheticBean.class);
+
+        beanFactory.registerDefinition(new ClassBeanDefinition(OtherSyntheticBean.class, "syntheticBean"));
+
+        assertThat(beanFactory.getBean("syntheticBean")).isInstanceOf(OtherSyntheticBean.class);
+        assertThat(beanFactory.getBean(SyntheticMarker.class)).isInstanceOf(OtherSyntheticBean.class);
+        assertThat(beanFactory.getBeansOfType(SyntheticMarker.class)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("인덱스는 등록 순서를 유지하고, 뺀 BeanDefinition 은 모든 상위 타입에서 빠진다")
+    public void typeIndexOrderTest() {
+        BeanDefinitionTypeIndex typeIndex = new BeanDefinitionTypeIndex();
+        ClassBeanDefinition first = new ClassBeanDefinition(SyntheticBean.class, "first");
+        ClassBeanDefinition second = new ClassBeanDefinition(OtherSyntheticBean.class, "second");
+        ClassBeanDefinition third = new ClassBeanDefinition(SyntheticBean.class, "third");
+        typeIndex.add(first);
+        typeIndex.add(second);
+        typeIndex.add(third);
+        typeIndex.add(second);
+
+        assertThat(typeIndex.getAssignableDefinitions(Object.class)).containsExactly(first, second, third);
+        assertThat(typeIndex.getExactTypeDefinitions(SyntheticBean.class)).containsExactly(first, third);
+
+        typeIndex.remove(second);
+
+        assertThat(typeIndex.getAssignableDefinitions(SyntheticMarker.class)).hasSize(2).containsExactly(first, third);
+        assertThat(typeIndex.getExactTypeDefinitions(OtherSyntheticBean.class)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("상위 타입을 구현한 빈이 여러개면 @Qualifier 가 필요하다")
+    public void ambiguousTypeTest() {
+        DefaultBeanFactory beanFactory = new DefaultBeanFactory();
+        List<Class<?>> types = registerSyntheticBeans(beanFactory, 2);
+
+        assertThat(beanFactory.getBean(types.get(0))).isInstanceOf(types.get(0));
+        assertThatThrownBy(() -> beanFactory.getBean(SyntheticMarker.class))
+                .isInstanceOf(BeanInstantiationException.class);
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("벤치마크: 빈 개수별 타입 조회 시간")
+    public void scalingTest() {
+        for (int count : new int[] {500, 1000, 2000, 4000}) {
+            DefaultBeanFactory beanFactory = new DefaultBeanFactory();
+            List<Class<?>> types = registerSyntheticBeans(beanFactory, count);
+            types.forEach(beanFactory::getBean);
+
+            long start = System.nanoTime();
+            for (Class<?> type : types) {
+                assertThat(beanFactory.getBean(type)).isInstanceOf(type);
+            }
+            long elapsed = System.nanoTime() - start;
+
+            logger.info("beans: {}, lookups: {}, {}ns per lookup", count, types.size(), elapsed / types.size());
+        }
+    }
+
+//    클래스마다 이름이 다른 빈으로 등록해야 이름 조회가 아닌 타입 조회를 탄다.
+    private List<Class<?>> registerSyntheticBeans(DefaultBeanFactory beanFactory, int count) {
+        List<Class<?>> types = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            Enhancer enhancer = new Enhancer();
+            enhancer.setSuperclass(SyntheticBean.class);
+            enhancer.setCallbackType(NoOp.class);
+            enhancer.setUseCache(false);
+
+            Class<?> type = enhancer.createClass();
+            types.add(type);
+            beanFactory.registerDefinition(new ClassBeanDefinition(type, "synthetic" + i));
+        }
+
+        return types;
+    }
+
+    public interface SyntheticMarker {
+    }
+
+    public static class SyntheticBean implements SyntheticMarker {
+    }
+
+    public static class OtherSyntheticBean implements SyntheticMarker {
+    }
+}
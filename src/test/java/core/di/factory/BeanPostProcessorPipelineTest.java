@@ -0,0 +1,124 @@
+package core.di.factory;
+
+import core.annotation.Bean;
+import core.annotation.Transactional;
+import core.di.beans.factory.BeanClassMetadata;
+import core.di.beans.factory.DefaultBeanFactory;
+import core.di.beans.factory.definition.BeanDefinition;
+import core.di.beans.factory.definition.ClassBeanDefinition;
+import core.di.beans.factory.definition.MethodBeanDefinition;
+import core.di.beans.factory.processor.BeanPostProcessor;
+import core.di.beans.factory.processor.CandidateFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.annotation.Order;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author KingCjy
+ */
+public class BeanPostProcessorPipelineTest {
+
+    private static final List<String> calls = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        calls.clear();
+    }
+
+    @Test
+    @DisplayName("빈으로 등록한 processor 를 @Order 순서로, CandidateFilter 를 통과한 빈에만 적용한다")
+    public void pipelineTest() {
+        DefaultBeanFactory beanFactory = new DefaultBeanFactory();
+        beanFactory.registerDefinition(new ClassBeanDefinition(TransactionalOnlyProcessor.class, "transactionalOnlyProcessor"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(FirstProcessor.class, "firstProcessor"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(TransactionalBean.class, "transactionalBean"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(PlainBean.class, "plainBean"));
+        beanFactory.initialize();
+
+        assertThat(calls).containsExactlyInAnyOrder(
+                "first:transactionalBean", "transactional:transactionalBean",
+                "first:plainBean");
+        assertThat(calls.indexOf("first:transactionalBean")).isLessThan(calls.indexOf("transactional:transactionalBean"));
+    }
+
+    @Test
+    @DisplayName("@Bean 의 반환 타입이 인터페이스여도 만들어진 빈의 클래스로 CandidateFilter 를 확인한다")
+    public void interfaceTypedBeanTest() throws Exception {
+        DefaultBeanFactory beanFactory = new DefaultBeanFactory();
+        beanFactory.registerDefinition(new ClassBeanDefinition(TransactionalOnlyProcessor.class, "transactionalOnlyProcessor"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(RepositoryConfig.class, RepositoryConfig.class.getName()));
+        beanFactory.registerDefinition(new MethodBeanDefinition(RepositoryConfig.class.getMethod("repository")));
+        beanFactory.initialize();
+
+        assertThat(calls).containsExactly("transactional:repository");
+    }
+
+    @Test
+    @DisplayName("클래스 메타데이터는 클래스당 한번만 만들고 메타 어노테이션, 메소드 어노테이션을 함께 기억한다")
+    public void metadataTest() throws Exception {
+        BeanClassMetadata metadata = BeanClassMetadata.forClass(TransactionalBean.class);
+
+        assertThat(BeanClassMetadata.forClass(TransactionalBean.class)).isSameAs(metadata);
+        assertThat(metadata.hasAnnotation(Transactional.class)).isFalse();
+        assertThat(metadata.getAnnotatedMethods(Transactional.class)).containsExactly(TransactionalBean.class.getMethod("save"));
+        assertThat(CandidateFilter.annotatedWith(Transactional.class).matches(metadata)).isTrue();
+        assertThat(CandidateFilter.annotatedWith(Transactional.class).matches(BeanClassMetadata.forClass(PlainBean.class))).isFalse();
+        assertThat(CandidateFilter.assignableTo(Runnable.class).matches(metadata)).isFalse();
+    }
+
+    @Order(1)
+    public static class FirstProcessor implements BeanPostProcessor {
+        @Override
+        public Object postProcess(BeanDefinition beanDefinition, Object bean) {
+            calls.add("first:" + beanDefinition.getName());
+            return bean;
+        }
+    }
+
+    @Order(2)
+    public static class TransactionalOnlyProcessor implements BeanPostProcessor {
+        @Override
+        public CandidateFilter getCandidateFilter() {
+            return CandidateFilter.annotatedWith(Transactional.class);
+        }
+
+        @Override
+        public Object postProcess(BeanDefinition beanDefinition, Object bean) {
+            calls.add("transactional:" + beanDefinition.getName());
+            return bean;
+        }
+    }
+
+    public static class TransactionalBean {
+        @Transactional
+        public void save() {
+        }
+    }
+
+    public static class PlainBean {
+    }
+
+    public interface Repository {
+        void save();
+    }
+
+    public static class TransactionalRepository implements Repository {
+        @Transactional
+        @Override
+        public void save() {
+        }
+    }
+
+    public static class RepositoryConfig {
+        @Bean
+        public Repository repository() {
+            return new TransactionalRepository();
+        }
+    }
+}
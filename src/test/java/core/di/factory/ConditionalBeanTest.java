@@ -0,0 +1,137 @@
+package core.di.factory;
+
+import core.annotation.*;
+import core.di.beans.factory.DefaultBeanFactory;
+import core.di.beans.factory.definition.ClassBeanDefinition;
+import core.di.beans.factory.definition.MethodBeanDefinition;
+import core.di.beans.factory.startup.StartupStep;
+import core.di.beans.factory.startup.StartupTimeline;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author KingCjy
+ */
+public class ConditionalBeanTest {
+
+    private static final String FEATURE_PROPERTY = "test.feature.enabled";
+    private static final AtomicInteger featureCount = new AtomicInteger();
+
+    private DefaultBeanFactory beanFactory;
+    private StartupTimeline startupTimeline;
+
+    @BeforeEach
+    public void setUp() {
+        featureCount.set(0);
+        startupTimeline = new StartupTimeline();
+        beanFactory = new DefaultBeanFactory();
+        beanFactory.setStartupTimeline(startupTimeline);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        System.clearProperty(FEATURE_PROPERTY);
+    }
+
+    @Test
+    @DisplayName("프로퍼티 조건에 맞지 않는 빈은 등록하지도 만들지도 않고, 평가 결과는 타임라인에 남는다")
+    public void onPropertyTest() throws Exception {
+        beanFactory.registerDefinition(new ClassBeanDefinition(FeatureBean.class, "featureBean"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(FeatureConfig.class, "featureConfig"));
+        beanFactory.registerDefinition(new MethodBeanDefinition(FeatureConfig.class.getMethod("featureMethodBean")));
+        beanFactory.initialize();
+
+        assertThat(beanFactory.getBeanDefinition("featureBean")).isNull();
+        assertThat(beanFactory.getBeanDefinition("featureMethodBean")).isNull();
+        assertThat(featureCount.get()).isZero();
+
+        assertThat(startupTimeline.getSteps().stream()
+                .flatMap(step -> step.getChildren().stream())
+                .filter(step -> step.getName().equals("condition"))
+                .map(StartupStep::getAttributes)
+                .collect(Collectors.toList()))
+                .allMatch(attributes -> "false".equals(attributes.get("matched")))
+                .anyMatch(attributes -> attributes.get("condition").contains(FEATURE_PROPERTY));
+    }
+
+    @Test
+    @DisplayName("프로퍼티가 있으면 등록한다")
+    public void onPropertyMatchedTest() {
+        System.setProperty(FEATURE_PROPERTY, "true");
+
+        beanFactory.registerDefinition(new ClassBeanDefinition(FeatureBean.class, "featureBean"));
+        beanFactory.initialize();
+
+        assertThat(beanFactory.getBean(FeatureBean.class)).isNotNull();
+        assertThat(featureCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("클래스패스에 없는 클래스를 조건으로 가진 빈은 등록하지 않는다")
+    public void onClassTest() {
+        beanFactory.registerDefinition(new ClassBeanDefinition(MissingClassBean.class, "missingClassBean"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(PresentClassBean.class, "presentClassBean"));
+        beanFactory.initialize();
+
+        assertThat(beanFactory.getBeanDefinition("missingClassBean")).isNull();
+        assertThat(beanFactory.getBean(PresentClassBean.class)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("같은 타입의 빈이 있으면 @ConditionalOnMissingBean 기본 구현은 등록 순서와 관계없이 빠진다")
+    public void onMissingBeanTest() {
+        beanFactory.registerDefinition(new ClassBeanDefinition(DefaultGreeter.class, "defaultGreeter"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(CustomGreeter.class, "customGreeter"));
+        beanFactory.initialize();
+
+        assertThat(beanFactory.getBeanDefinition("defaultGreeter")).isNull();
+        assertThat(beanFactory.getBean(Greeter.class)).isInstanceOf(CustomGreeter.class);
+
+        DefaultBeanFactory defaultOnly = new DefaultBeanFactory();
+        defaultOnly.registerDefinition(new ClassBeanDefinition(DefaultGreeter.class, "defaultGreeter"));
+        defaultOnly.initialize();
+
+        assertThat(defaultOnly.getBean(Greeter.class)).isInstanceOf(DefaultGreeter.class);
+    }
+
+    @ConditionalOnProperty(name = FEATURE_PROPERTY)
+    public static class FeatureBean {
+        public FeatureBean() {
+            featureCount.incrementAndGet();
+        }
+    }
+
+    public static class FeatureConfig {
+        @Bean
+        @ConditionalOnProperty(name = FEATURE_PROPERTY, havingValue = "on")
+        public StringBuilder featureMethodBean() {
+            featureCount.incrementAndGet();
+            return new StringBuilder();
+        }
+    }
+
+    @ConditionalOnClass("com.example.NotOnClasspath")
+    public static class MissingClassBean {
+    }
+
+    @ConditionalOnClass("org.h2.Driver")
+    public static class PresentClassBean {
+    }
+
+    public interface Greeter {
+    }
+
+    @ConditionalOnMissingBean(Greeter.class)
+    public static class DefaultGreeter implements Greeter {
+    }
+
+    public static class CustomGreeter implements Greeter {
+    }
+}
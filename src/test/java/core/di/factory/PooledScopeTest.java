@@ -0,0 +1,173 @@
+package core.di.factory;
+
+import core.annotation.Inject;
+import core.annotation.PoolConfig;
+import core.annotation.Scope;
+import core.di.beans.factory.DefaultBeanFactory;
+import core.di.beans.factory.definition.ClassBeanDefinition;
+import core.di.beans.factory.pool.BeanPool;
+import core.di.beans.factory.pool.PoolMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.BeanCreationException;
+
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author KingCjy
+ */
+public class PooledScopeTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(PooledScopeTest.class);
+
+    private static final int THREADS = 16;
+    private static final AtomicInteger formatterCount = new AtomicInteger();
+
+    private DefaultBeanFactory beanFactory;
+
+    @BeforeEach
+    public void setUp() {
+        formatterCount.set(0);
+
+        beanFactory = new DefaultBeanFactory();
+        beanFactory.registerDefinition(new ClassBeanDefinition(PooledFormatter.class, "pooledFormatter"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(FormatService.class, "formatService"));
+        beanFactory.initialize();
+    }
+
+    @Test
+    @DisplayName("pooled 빈은 호출마다 한 스레드만 인스턴스를 사용하고 maxSize 를 넘게 만들지 않는다")
+    public void pooledScopeTest() throws Exception {
+        FormatService formatService = beanFactory.getBean(FormatService.class);
+
+        runConcurrently(() -> formatService.format(1234.5), 500);
+
+        PoolMetrics metrics = beanFactory.getPoolMetrics("pooledFormatter");
+        logger.info("{}", metrics);
+
+        assertThat(formatterCount.get()).isLessThanOrEqualTo(4);
+        assertThat(metrics.getSize()).isLessThanOrEqualTo(4);
+        assertThat(metrics.getMisses()).isEqualTo(formatterCount.get());
+        assertThat(metrics.getHits() + metrics.getMisses() + metrics.getWaits()).isEqualTo(THREADS * 500);
+    }
+
+    @Test
+    @DisplayName("maxIdle 동안 사용하지 않은 인스턴스는 정리한다")
+    public void evictionTest() throws Exception {
+        BeanPool beanPool = new BeanPool("idle", Object::new, 2, 50, 1000);
+        Object first = beanPool.borrow();
+        Object second = beanPool.borrow();
+        beanPool.release(first);
+        beanPool.release(second);
+
+        Thread.sleep(100);
+        beanPool.evictIdle();
+
+        assertThat(beanPool.getMetrics().getEvictions()).isEqualTo(2);
+        assertThat(beanPool.getMetrics().getSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("모든 인스턴스가 사용 중이면 maxWait 만큼 기다린 후 실패한다")
+    public void exhaustedTest() {
+        BeanPool beanPool = new BeanPool("exhausted", Object::new, 1, 60_000, 50);
+        beanPool.borrow();
+
+        assertThatThrownBy(beanPool::borrow).isInstanceOf(BeanCreationException.class);
+        assertThat(beanPool.getMetrics().getWaits()).isEqualTo(1);
+        assertThat(beanPool.getMetrics().getTimeouts()).isEqualTo(1);
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("벤치마크: pooled 프록시와 호출마다 인스턴스를 만드는 방식 비교")
+    public void benchmark() throws Exception {
+        FormatService formatService = beanFactory.getBean(FormatService.class);
+        int iterations = 20_000;
+
+        for (int round = 0; round < 3; round++) {
+            long pooled = runConcurrently(() -> formatService.format(1234.5), iterations);
+            long perCall = runConcurrently(() -> new PooledFormatter().format(1234.5), iterations);
+
+            logger.info("{} threads x {} calls - pooled: {} ops/ms, per-call instantiation: {} ops/ms",
+                    THREADS, iterations, THREADS * iterations / Math.max(pooled, 1), THREADS * iterations / Math.max(perCall, 1));
+        }
+        logger.info("{}", beanFactory.getPoolMetrics("pooledFormatter"));
+    }
+
+    private long runConcurrently(Supplier<String> call, int iterations) throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            results.add(executorService.submit(() -> {
+                start.await();
+                for (int j = 0; j < iterations; j++) {
+                    assertThat(call.get()).isEqualTo("1,234.50");
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.currentTimeMillis();
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get(60, TimeUnit.SECONDS);
+        }
+        long elapsed = System.currentTimeMillis() - begin;
+
+        executorService.shutdown();
+        return elapsed;
+    }
+
+    @Scope(Scope.POOLED)
+    @PoolConfig(maxSize = 4, maxWaitMillis = 10_000)
+    public static class PooledFormatter {
+        private final AtomicBoolean inUse = new AtomicBoolean();
+        private final DecimalFormat decimalFormat;
+
+        public PooledFormatter() {
+            formatterCount.incrementAndGet();
+            decimalFormat = new DecimalFormat("#,##0.00");
+        }
+
+        public String format(double value) {
+            if(!inUse.compareAndSet(false, true)) {
+                throw new IllegalStateException("formatter is used by two threads");
+            }
+
+            try {
+                return decimalFormat.format(value);
+            } finally {
+                inUse.set(false);
+            }
+        }
+    }
+
+    public static class FormatService {
+        private final PooledFormatter pooledFormatter;
+
+        @Inject
+        public FormatService(PooledFormatter pooledFormatter) {
+            this.pooledFormatter = pooledFormatter;
+        }
+
+        public String format(double value) {
+            return pooledFormatter.format(value);
+        }
+    }
+}
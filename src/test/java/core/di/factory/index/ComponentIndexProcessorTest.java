@@ -0,0 +1,81 @@
+package core.di.factory.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author KingCjy
+ */
+public class ComponentIndexProcessorTest {
+
+    private static final String PROCESSOR = "core.di.beans.factory.index.ComponentIndexProcessor";
+
+    @TempDir
+    Path workDir;
+
+    @Test
+    @DisplayName("일부 클래스만 다시 컴파일해도 기존 인덱스와 합치고, 없어진 클래스의 항목은 버린다")
+    public void incrementalCompileTest() throws Exception {
+        Path sources = Files.createDirectories(workDir.resolve("src"));
+        Path classes = Files.createDirectories(workDir.resolve("classes"));
+
+        Path first = write(sources, "FirstComponent", "@core.annotation.Component public class FirstComponent {}");
+        Path second = write(sources, "SecondComponent", "@core.annotation.Service public class SecondComponent {}");
+        compile(classes, first, second);
+
+        assertThat(readIndex(classes)).containsExactly(
+                "indexed.FirstComponent=core.annotation.Component",
+                "indexed.SecondComponent=core.annotation.Component,core.annotation.Service");
+
+        write(sources, "FirstComponent", "public class FirstComponent {}");
+        compile(classes, first);
+
+        assertThat(readIndex(classes)).containsExactly(
+                "indexed.SecondComponent=core.annotation.Component,core.annotation.Service");
+
+        write(sources, "FirstComponent", "@core.annotation.Component public class FirstComponent {}");
+        Files.delete(classes.resolve("indexed/SecondComponent.class"));
+        compile(classes, first);
+
+        assertThat(readIndex(classes)).containsExactly("indexed.FirstComponent=core.annotation.Component");
+    }
+
+    private Path write(Path sources, String className, String body) throws IOException {
+        Path source = sources.resolve(className + ".java");
+        Files.write(source, ("package indexed;\n" + body + "\n").getBytes(StandardCharsets.UTF_8));
+        return source;
+    }
+
+//    이전 출력 디렉토리를 클래스패스에 두는 것은 증분 컴파일과 같다.
+    private void compile(Path classes, Path... sources) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        String classPath = classes + File.pathSeparator + System.getProperty("java.class.path");
+
+        List<String> arguments = new ArrayList<>(Arrays.asList(
+                "-processor", PROCESSOR, "-implicit:none", "-classpath", classPath,
+                "-processorpath", System.getProperty("core.index.processor-path"), "-d", classes.toString()));
+        for (Path source : sources) {
+            arguments.add(source.toString());
+        }
+
+        assertThat(compiler.run(null, null, null, arguments.toArray(new String[0]))).isZero();
+    }
+
+    private List<String> readIndex(Path classes) throws IOException {
+        return Files.readAllLines(classes.resolve("META-INF/core.components"), StandardCharsets.UTF_8);
+    }
+}
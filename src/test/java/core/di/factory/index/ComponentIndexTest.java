@@ -0,0 +1,82 @@
+package core.di.factory.index;
+
+import core.di.beans.factory.DefaultBeanFactory;
+import core.di.beans.factory.index.ComponentIndex;
+import core.di.beans.factory.index.ComponentIndexLoader;
+import core.di.beans.factory.scanner.ClassBeanScanner;
+import core.di.beans.factory.scanner.MethodBeanScanner;
+import core.di.factory.example.QnaController;
+import core.di.factory.example2.TestComponent;
+import next.config.MyConfiguration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.ClassUtils;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author KingCjy
+ */
+public class ComponentIndexTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ComponentIndexTest.class);
+
+    private static final Object[] BASE_PACKAGES = { "next", "core" };
+
+    private final ComponentIndex componentIndex = ComponentIndexLoader.loadIndex(ClassUtils.getDefaultClassLoader());
+
+    @Test
+    @DisplayName("컴파일 시점에 생성된 인덱스 로딩 테스트")
+    public void loadIndexTest() throws NoSuchMethodException {
+        assertThat(componentIndex).isNotNull();
+        assertThat(componentIndex.getCandidateTypes(new Object[] {"core.di.factory.example"}, core.annotation.Component.class))
+                .contains(QnaController.class.getName());
+        assertThat(componentIndex.getComponentScanPackages(MyConfiguration.class)).containsExactly("next", "core");
+        assertThat(componentIndex.isBeanMethod(MyConfiguration.class, MyConfiguration.class.getMethod("jdbcTemplate", javax.sql.DataSource.class))).isTrue();
+    }
+
+    @Test
+    @DisplayName("인덱스와 Reflections 스캔 결과가 같은지 테스트")
+    public void sameDefinitionsTest() {
+        Set<String> indexed = scan(componentIndex, "core.di.factory.example");
+        Set<String> reflected = scan(null, "core.di.factory.example");
+
+        assertThat(indexed).isEqualTo(reflected);
+        assertThat(indexed).anyMatch(definition -> definition.endsWith(TestComponent.class.getName()));
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("인덱스 사용 시 스캔 시간 비교")
+    public void scanTimeTest() {
+        long reflectionsTime = measure(null);
+        long indexTime = measure(componentIndex);
+
+        logger.info("scan next, core - reflections: {}ms, component index: {}ms, saved: {}ms",
+                reflectionsTime, indexTime, reflectionsTime - indexTime);
+
+        assertThat(scan(componentIndex, BASE_PACKAGES)).isEqualTo(scan(null, BASE_PACKAGES));
+    }
+
+    private long measure(ComponentIndex componentIndex) {
+        long start = System.nanoTime();
+        scan(componentIndex, BASE_PACKAGES);
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private Set<String> scan(ComponentIndex componentIndex, Object... basePackages) {
+        DefaultBeanFactory beanFactory = new DefaultBeanFactory();
+        new ClassBeanScanner(beanFactory, componentIndex).scan(basePackages);
+        new MethodBeanScanner(beanFactory, componentIndex).scan(basePackages);
+
+        return beanFactory.getBeanDefinitions().stream()
+                .map(definition -> definition.getClass().getSimpleName() + ":" + definition.getName() + ":" + definition.getType().getName())
+                .collect(Collectors.toSet());
+    }
+}
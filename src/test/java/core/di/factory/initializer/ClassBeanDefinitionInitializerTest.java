@@ -1,5 +1,8 @@
 package core.di.factory.initializer;
 
+import ch.qos.logback.classic.Level;
+import core.annotation.Inject;
+import core.di.beans.factory.BeanFactoryUtils;
 import core.di.beans.factory.DefaultBeanFactory;
 import core.di.beans.factory.definition.ClassBeanDefinition;
 import core.di.beans.factory.initializer.BeanInitializer;
@@ -7,9 +10,17 @@ import core.di.beans.factory.initializer.ClassBeanDefinitionInitializer;
 import core.di.factory.example.JdbcQuestionRepository;
 import core.di.factory.example.JdbcUserRepository;
 import core.di.factory.example.MyQnaService;
+import core.di.factory.example.QuestionRepository;
+import core.di.factory.example.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+
+import java.lang.reflect.Constructor;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -18,6 +29,8 @@ import static org.assertj.core.api.Assertions.assertThat;
  */
 public class ClassBeanDefinitionInitializerTest {
 
+    private static final Logger logger = LoggerFactory.getLogger(ClassBeanDefinitionInitializerTest.class);
+
     private DefaultBeanFactory beanFactory;
 
     private BeanInitializer beanInitializer;
@@ -41,4 +54,72 @@ public class ClassBeanDefinitionInitializerTest {
         assertThat(myQnaService.getUserRepository()).isNotNull();
         assertThat(myQnaService.getQuestionRepository()).isNotNull();
     }
+
+    @Test
+    @DisplayName("public 이 아닌 클래스도 public 생성자로 생성한다")
+    public void packagePrivateBeanTest() {
+        ClassBeanDefinition beanDefinition = new ClassBeanDefinition(PackagePrivateService.class, PackagePrivateService.class.getName());
+        PackagePrivateService service = (PackagePrivateService) beanInitializer.instantiate(beanDefinition, beanFactory);
+
+        assertThat(service.getUserRepository()).isSameAs(beanFactory.getBean(UserRepository.class));
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("반복 생성 비교: 리플렉션으로 매번 분석하는 방식, injection plan, new")
+    public void repeatedInstantiationTest() {
+        ClassBeanDefinition beanDefinition = new ClassBeanDefinition(MyQnaService.class, MyQnaService.class.getName());
+        UserRepository userRepository = beanFactory.getBean(UserRepository.class);
+        QuestionRepository questionRepository = beanFactory.getBean(QuestionRepository.class);
+        int iterations = 20_000;
+
+//        생성 로그 출력 비용이 측정을 덮지 않도록 잠시 끈다.
+        ch.qos.logback.classic.Logger initializerLogger = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(ClassBeanDefinitionInitializer.class);
+        Level level = initializerLogger.getLevel();
+        initializerLogger.setLevel(Level.WARN);
+
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                Constructor<?> constructor = BeanFactoryUtils.findInjectController(MyQnaService.class);
+                BeanUtils.instantiateClass(constructor, BeanFactoryUtils.getParameters(beanFactory, constructor));
+                BeanFactoryUtils.findInjectFields(MyQnaService.class);
+                BeanFactoryUtils.findPostConstructMethods(MyQnaService.class);
+            }
+            long reflective = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                ((ClassBeanDefinitionInitializer) beanInitializer).instantiateBean(beanDefinition, beanFactory);
+            }
+            long plan = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                new MyQnaService(beanFactory.getBean(UserRepository.class), beanFactory.getBean(QuestionRepository.class));
+            }
+            long direct = System.nanoTime() - start;
+
+            logger.info("{} instantiations - reflective: {}ns/op, injection plan: {}ns/op, new: {}ns/op",
+                    iterations, reflective / iterations, plan / iterations, direct / iterations);
+        }
+        initializerLogger.setLevel(level);
+
+        MyQnaService myQnaService = (MyQnaService) beanInitializer.instantiate(beanDefinition, beanFactory);
+        assertThat(myQnaService.getUserRepository()).isSameAs(userRepository);
+        assertThat(myQnaService.getQuestionRepository()).isSameAs(questionRepository);
+    }
+
+    static class PackagePrivateService {
+        private final UserRepository userRepository;
+
+        @Inject
+        public PackagePrivateService(UserRepository userRepository) {
+            this.userRepository = userRepository;
+        }
+
+        UserRepository getUserRepository() {
+            return userRepository;
+        }
+    }
 }
@@ -1,9 +1,7 @@
 package core.di.factory.proxy.example;
 
 import core.aop.Advice;
-import net.sf.cglib.proxy.MethodProxy;
-
-import java.lang.reflect.Method;
+import core.aop.MethodInvocation;
 
 /**
  * @author KingCjy
@@ -17,8 +15,8 @@ public class CounterAdvice implements Advice {
     }
 
     @Override
-    public Object intercept(Object obj, Method method, Object[] args, MethodProxy proxy) throws Throwable {
+    public Object invoke(MethodInvocation invocation) throws Throwable {
         counter.addCount();
-        return proxy.invokeSuper(obj, args);
+        return invocation.proceed();
     }
 }
@@ -0,0 +1,163 @@
+package core.di.factory.scanner;
+
+import core.di.beans.factory.DefaultBeanFactory;
+import core.di.beans.factory.definition.BeanDefinitionRegistry;
+import core.di.beans.factory.index.ComponentIndex;
+import core.di.beans.factory.scanner.ClassBeanScanner;
+import core.di.beans.factory.scanner.ClassPathBeanScanner;
+import core.di.factory.example.NameController;
+import core.di.factory.example2.TestComponent;
+import core.di.factory.scanner.example.ScanProbe;
+import core.di.factory.scanner.example.StereotypeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author KingCjy
+ */
+public class ClassPathBeanScannerTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClassPathBeanScannerTest.class);
+
+    private DefaultBeanFactory beanFactory;
+    private ClassPathBeanScanner classPathBeanScanner;
+
+    @BeforeEach
+    public void setUp() {
+        beanFactory = new DefaultBeanFactory();
+        classPathBeanScanner = new ClassPathBeanScanner(beanFactory);
+    }
+
+    @Test
+    @DisplayName("메타 어노테이션(@MyStereotype -> @Service -> @Component) 스캔 테스트")
+    public void metaAnnotationTest() {
+        classPathBeanScanner.scan("core.di.factory.scanner.example");
+
+        assertThat(beanFactory.getBeanDefinition(StereotypeService.class.getName()).getType()).isEqualTo(StereotypeService.class);
+    }
+
+    @Test
+    @DisplayName("후보가 아닌 클래스는 초기화하지 않는다")
+    public void notLoadNonCandidateTest() {
+        classPathBeanScanner.scan("core.di.factory.scanner.example");
+
+        assertThat(ScanProbe.isNotComponentInitialized()).isFalse();
+        assertThat(classPathBeanScanner.getLoadCount()).isEqualTo(1);
+        assertThat(classPathBeanScanner.getReadCount()).isGreaterThan(1);
+    }
+
+    @Test
+    @DisplayName("이름 지정, @ComponentScan 동작 테스트")
+    public void nameAndComponentScanTest() {
+        classPathBeanScanner.scan("core.di.factory.example");
+
+        assertThat(beanFactory.getBeanDefinition("name").getType()).isEqualTo(NameController.class);
+        assertThat(beanFactory.getBeanDefinition(TestComponent.class.getName())).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Reflections 처럼 패키지 이름을 접두사로 매칭한다")
+    public void packagePrefixTest() {
+        classPathBeanScanner.scan("core.di.factory.scanner.exam");
+
+        assertThat(beanFactory.getBeanDefinition(StereotypeService.class.getName()).getType()).isEqualTo(StereotypeService.class);
+    }
+
+    @Test
+    @DisplayName("Reflections 스캔과 같은 BeanDefinition 을 등록하고, 로딩하는 클래스 수와 metaspace 비교")
+    public void compareWithReflectionsTest() throws Exception {
+        Set<String> asm = scanIsolated(ClassPathBeanScanner.class.getName(), false);
+        Set<String> reflections = scanIsolated(ClassBeanScanner.class.getName(), true);
+
+        assertThat(asm).isEqualTo(reflections);
+    }
+
+//    스캐너마다 새 클래스로더에서 실행해야 먼저 실행된 쪽이 로딩한 클래스의 영향을 받지 않는다.
+    private Set<String> scanIsolated(String scannerClassName, boolean withNullIndex) throws Exception {
+        ClassLoader original = Thread.currentThread().getContextClassLoader();
+
+        try (CountingClassLoader classLoader = new CountingClassLoader()) {
+            Thread.currentThread().setContextClassLoader(classLoader);
+            Class<?> registryType = classLoader.loadClass(BeanDefinitionRegistry.class.getName());
+            Object beanFactory = classLoader.loadClass(DefaultBeanFactory.class.getName()).newInstance();
+            Class<?> scannerClass = classLoader.loadClass(scannerClassName);
+
+            Object scanner = withNullIndex
+                    ? scannerClass.getConstructor(registryType, classLoader.loadClass(ComponentIndex.class.getName())).newInstance(beanFactory, null)
+                    : scannerClass.getConstructor(registryType).newInstance(beanFactory);
+
+            long metaspaceBefore = getMetaspaceUsed();
+            classLoader.startCounting();
+            scannerClass.getMethod("scan", Object[].class).invoke(scanner, (Object) new Object[] {"next", "core"});
+
+            logger.info("{} - loaded application classes: {}, metaspace: {}KB", scannerClass.getSimpleName(),
+                    classLoader.getLoadedCount(), (getMetaspaceUsed() - metaspaceBefore) / 1024);
+
+            return ((Set<?>) beanFactory.getClass().getMethod("getBeanDefinitions").invoke(beanFactory)).stream()
+                    .map(Object::toString)
+                    .collect(Collectors.toSet());
+        } finally {
+            Thread.currentThread().setContextClassLoader(original);
+        }
+    }
+
+    private long getMetaspaceUsed() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> "Metaspace".equals(pool.getName()))
+                .mapToLong(pool -> pool.getUsage().getUsed())
+                .findFirst()
+                .orElse(0L);
+    }
+
+    private static class CountingClassLoader extends URLClassLoader {
+        private final AtomicInteger loadedCount = new AtomicInteger();
+        private volatile boolean counting = false;
+
+        CountingClassLoader() {
+            super(getClassPath(), ClassLoader.getSystemClassLoader().getParent());
+        }
+
+        private static URL[] getClassPath() {
+            return Arrays.stream(System.getProperty("java.class.path").split(File.pathSeparator))
+                    .map(path -> {
+                        try {
+                            return new File(path).toURI().toURL();
+                        } catch (MalformedURLException e) {
+                            throw new IllegalStateException(e);
+                        }
+                    })
+                    .toArray(URL[]::new);
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            if(counting && (name.startsWith("next.") || name.startsWith("core."))) {
+                loadedCount.incrementAndGet();
+            }
+            return super.findClass(name);
+        }
+
+        void startCounting() {
+            counting = true;
+        }
+
+        int getLoadedCount() {
+            return loadedCount.get();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package core.di.factory.scanner.example;
+
+import core.annotation.Service;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @author KingCjy
+ */
+@Target({ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Service
+public @interface MyStereotype {
+}
@@ -0,0 +1,10 @@
+package core.di.factory.scanner.example;
+
+/**
+ * @author KingCjy
+ */
+public class NotComponent {
+    static {
+        ScanProbe.markInitialized();
+    }
+}
@@ -0,0 +1,16 @@
+package core.di.factory.scanner.example;
+
+/**
+ * @author KingCjy
+ */
+public class ScanProbe {
+    private static volatile boolean notComponentInitialized = false;
+
+    public static void markInitialized() {
+        notComponentInitialized = true;
+    }
+
+    public static boolean isNotComponentInitialized() {
+        return notComponentInitialized;
+    }
+}
@@ -0,0 +1,8 @@
+package core.di.factory.scanner.example;
+
+/**
+ * @author KingCjy
+ */
+@MyStereotype
+public class StereotypeService {
+}
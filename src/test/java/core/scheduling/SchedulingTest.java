@@ -0,0 +1,222 @@
+package core.scheduling;
+
+import core.annotation.Bean;
+import core.annotation.Inject;
+import core.annotation.Qualifier;
+import core.annotation.Scheduled;
+import core.di.beans.factory.DefaultBeanFactory;
+import core.di.beans.factory.definition.ClassBeanDefinition;
+import core.di.beans.factory.definition.MethodBeanDefinition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author KingCjy
+ */
+public class SchedulingTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchedulingTest.class);
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+
+    private static final AtomicInteger fixedRateCount = new AtomicInteger();
+    private static final AtomicInteger fixedDelayCount = new AtomicInteger();
+    private static final AtomicInteger cronCount = new AtomicInteger();
+    private static volatile String schedulerThread;
+
+    private DefaultBeanFactory beanFactory;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        fixedRateCount.set(0);
+        fixedDelayCount.set(0);
+        cronCount.set(0);
+
+        beanFactory = new DefaultBeanFactory();
+        beanFactory.registerDefinition(new ClassBeanDefinition(ScheduledBeanPostProcessor.class, "scheduledBeanPostProcessor"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(ScheduledJobs.class, "scheduledJobs"));
+        beanFactory.registerDefinition(new ClassBeanDefinition(ExecutorConfig.class, ExecutorConfig.class.getName()));
+        beanFactory.registerDefinition(new MethodBeanDefinition(ExecutorConfig.class.getMethod("mailExecutor")));
+        beanFactory.registerDefinition(new MethodBeanDefinition(ExecutorConfig.class.getMethod("reportExecutor")));
+        beanFactory.registerDefinition(new ClassBeanDefinition(MailSender.class, "mailSender"));
+        beanFactory.initialize();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        beanFactory.destroySingletons();
+    }
+
+    @Test
+    @DisplayName("cron 식은 일치하는 다음 시각을 계산한다")
+    public void cronExpressionTest() {
+        ZonedDateTime saturday = ZonedDateTime.of(2020, 6, 6, 12, 0, 0, 0, ZONE);
+
+        assertThat(CronExpression.parse("0 */15 9-17 * * MON-FRI").next(saturday))
+                .isEqualTo(ZonedDateTime.of(2020, 6, 8, 9, 0, 0, 0, ZONE));
+        assertThat(CronExpression.parse("0 */15 9-17 * * MON-FRI").next(ZonedDateTime.of(2020, 6, 8, 17, 45, 0, 0, ZONE)))
+                .isEqualTo(ZonedDateTime.of(2020, 6, 9, 9, 0, 0, 0, ZONE));
+        assertThat(CronExpression.parse("30 0 0 29 FEB ?").next(saturday))
+                .isEqualTo(ZonedDateTime.of(2024, 2, 29, 0, 0, 30, 0, ZONE));
+        assertThat(CronExpression.parse("*/10 * * * *").next(saturday))
+                .isEqualTo(ZonedDateTime.of(2020, 6, 6, 12, 10, 0, 0, ZONE));
+        assertThat(CronExpression.parse("0 0 12 * * 7").next(saturday))
+                .isEqualTo(ZonedDateTime.of(2020, 6, 7, 12, 0, 0, 0, ZONE));
+    }
+
+    @Test
+    @DisplayName("잘못된 cron 식은 파싱할 때 실패한다")
+    public void invalidCronExpressionTest() {
+        assertThatThrownBy(() -> CronExpression.parse("0 0 25 * * *")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CronExpression.parse("0 0 * * *  * *")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CronExpression.parse("0 0 0 * FOO *")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CronExpression.parse("0 0 0 30 2 *").next(ZonedDateTime.now())).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("@Scheduled 메소드는 스케줄러 스레드에서 반복 실행되고, 컨텍스트를 닫으면 멈춘다")
+    public void scheduledTest() throws Exception {
+        Thread.sleep(1_500);
+
+        assertThat(fixedRateCount.get()).isGreaterThanOrEqualTo(5);
+        assertThat(fixedDelayCount.get()).isGreaterThanOrEqualTo(5);
+        assertThat(cronCount.get()).isGreaterThanOrEqualTo(1);
+        assertThat(schedulerThread).startsWith("scheduler-");
+        logger.info("{}", beanFactory.getBean(ScheduledBeanPostProcessor.class).getMetrics());
+
+        beanFactory.destroySingletons();
+        int count = fixedRateCount.get();
+        Thread.sleep(200);
+
+        assertThat(fixedRateCount.get()).isEqualTo(count);
+    }
+
+    @Test
+    @DisplayName("lazy 모드에서도 @Scheduled 메소드가 있는 빈은 시작할 때 만들어 실행하고, public 이 아닌 클래스의 메소드도 호출한다")
+    public void lazyScheduledTest() throws Exception {
+        beanFactory.destroySingletons();
+        fixedRateCount.set(0);
+
+        DefaultBeanFactory lazyBeanFactory = new DefaultBeanFactory();
+        lazyBeanFactory.setLazyInit(true);
+        lazyBeanFactory.registerDefinition(new ClassBeanDefinition(ScheduledBeanPostProcessor.class, "scheduledBeanPostProcessor"));
+        lazyBeanFactory.registerDefinition(new ClassBeanDefinition(PackagePrivateJobs.class, "packagePrivateJobs"));
+        lazyBeanFactory.initialize();
+
+        try {
+            Thread.sleep(500);
+            assertThat(fixedRateCount.get()).isGreaterThanOrEqualTo(1);
+        } finally {
+            lazyBeanFactory.destroySingletons();
+        }
+    }
+
+    @Test
+    @DisplayName("이름으로 bounded executor 를 주입받고, 큐가 가득 차면 거절 횟수를 남긴다")
+    public void boundedExecutorTest() throws Exception {
+        MailSender mailSender = beanFactory.getBean(MailSender.class);
+        BoundedExecutor mailExecutor = (BoundedExecutor) beanFactory.getBean("mailExecutor");
+        assertThat(mailSender.executorService).isSameAs(mailExecutor);
+
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        mailExecutor.execute(() -> {
+            running.countDown();
+            await(release);
+        });
+        running.await(5, TimeUnit.SECONDS);
+        mailExecutor.execute(() -> { });
+
+        assertThatThrownBy(() -> mailExecutor.execute(() -> { })).isInstanceOf(RejectedExecutionException.class);
+
+        ExecutorMetrics metrics = mailExecutor.getMetrics();
+        logger.info("{}", metrics);
+        assertThat(metrics.getName()).isEqualTo("mail");
+        assertThat(metrics.getActiveCount()).isEqualTo(1);
+        assertThat(metrics.getQueueSize()).isEqualTo(1);
+        assertThat(metrics.getRejected()).isEqualTo(1);
+
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("컨텍스트를 닫으면 executor 빈을 종료한다")
+    public void shutdownTest() {
+        BoundedExecutor mailExecutor = (BoundedExecutor) beanFactory.getBean("mailExecutor");
+        ExecutorService reportExecutor = (ExecutorService) beanFactory.getBean("reportExecutor");
+
+        beanFactory.destroySingletons();
+
+        assertThat(mailExecutor.isTerminated()).isTrue();
+        assertThat(reportExecutor.isShutdown()).isTrue();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static class ScheduledJobs {
+        @Scheduled(fixedRate = 100)
+        public void fixedRate() {
+            schedulerThread = Thread.currentThread().getName();
+            fixedRateCount.incrementAndGet();
+        }
+
+        @Scheduled(fixedDelay = 100, initialDelay = 50)
+        public void fixedDelay() {
+            fixedDelayCount.incrementAndGet();
+        }
+
+        @Scheduled(cron = "* * * * * *")
+        public void everySecond() {
+            cronCount.incrementAndGet();
+        }
+    }
+
+    static class PackagePrivateJobs {
+        public PackagePrivateJobs() {
+        }
+
+        @Scheduled(fixedRate = 100)
+        public void fixedRate() {
+            fixedRateCount.incrementAndGet();
+        }
+    }
+
+    public static class ExecutorConfig {
+        @Bean
+        public BoundedExecutor mailExecutor() {
+            return new BoundedExecutor("mail", 1, 1);
+        }
+
+//        BoundedExecutor 가 아닌 ExecutorService 도 닫을 때 shutdown 한다.
+        @Bean
+        public ExecutorService reportExecutor() {
+            return Executors.newSingleThreadExecutor();
+        }
+    }
+
+    public static class MailSender {
+        private final ExecutorService executorService;
+
+        @Inject
+        public MailSender(@Qualifier("mailExecutor") ExecutorService executorService) {
+            this.executorService = executorService;
+        }
+    }
+}